@@ -26,12 +26,14 @@
 package org.geysermc.floodgate.crypto;
 
 import lombok.RequiredArgsConstructor;
+import org.geysermc.floodgate.util.InvalidFormatException;
 
 import javax.crypto.Cipher;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.GCMParameterSpec;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
 import java.security.Key;
 import java.security.SecureRandom;
 
@@ -40,6 +42,23 @@ public final class AesCipher implements FloodgateCipher {
     public static final int IV_LENGTH = 12;
     private static final int TAG_BIT_LENGTH = 128;
     private static final String CIPHER_NAME = "AES/GCM/NoPadding";
+    private static final byte SPLITTER = 0x21;
+
+    /**
+     * Looking up a Cipher provider is relatively expensive, and a Cipher can be re-initialized
+     * for every message, so we keep one per thread.
+     */
+    private static final ThreadLocal<Cipher> CIPHER = ThreadLocal.withInitial(() -> {
+        try {
+            return Cipher.getInstance(CIPHER_NAME);
+        } catch (GeneralSecurityException exception) {
+            throw new IllegalStateException("Unable to create " + CIPHER_NAME + " cipher", exception);
+        }
+    });
+    /**
+     * Holds the raw cipher text when a topping has to be applied after encrypting or before decrypting.
+     */
+    private static final ThreadLocal<ByteBuffer> SCRATCH = ThreadLocal.withInitial(() -> ByteBuffer.allocate(1024));
 
     private final SecureRandom secureRandom = new SecureRandom();
     private final Topping topping;
@@ -55,35 +74,77 @@ public final class AesCipher implements FloodgateCipher {
     }
 
     public byte[] encrypt(byte[] data) throws Exception {
-        Cipher cipher = Cipher.getInstance(CIPHER_NAME);
+        return toArray(encrypt(ByteBuffer.wrap(data)));
+    }
+
+    @Override
+    public ByteBuffer encrypt(ByteBuffer data) throws Exception {
+        ByteBuffer out = ByteBuffer.allocate(encryptedSize(data.remaining()));
+        encrypt(data, out);
+        // don't remove this cast, it'll cause problems if you remove it
+        ((Buffer) out).flip();
+        return out;
+    }
+
+    /**
+     * Returns the size of the given amount of bytes once encrypted.
+     *
+     * @param dataLength the length of the data to encrypt
+     * @return the length of the encrypted data, including the header
+     */
+    public int encryptedSize(int dataLength) {
+        int cipherTextLength = dataLength + TAG_BIT_LENGTH / 8;
+        if (topping != null) {
+            return HEADER.length + topping.encodedLength(IV_LENGTH) + 1 + topping.encodedLength(cipherTextLength);
+        }
+        return HEADER.length + IV_LENGTH + 1 + cipherTextLength;
+    }
+
+    /**
+     * Encrypts the remaining bytes of the given buffer directly into the output buffer.
+     *
+     * @param data the data to encrypt
+     * @param out the buffer to write to, which needs at least {@link #encryptedSize(int)} bytes remaining
+     * @throws Exception when the encryption failed
+     */
+    public void encrypt(ByteBuffer data, ByteBuffer out) throws Exception {
+        Cipher cipher = CIPHER.get();
 
         byte[] iv = new byte[IV_LENGTH];
         secureRandom.nextBytes(iv);
 
         GCMParameterSpec spec = new GCMParameterSpec(TAG_BIT_LENGTH, iv);
         cipher.init(Cipher.ENCRYPT_MODE, secretKey, spec);
-        byte[] cipherText = cipher.doFinal(data);
 
-        if (topping != null) {
-            iv = topping.encode(iv);
-            cipherText = topping.encode(cipherText);
+        out.put(HEADER);
+        if (topping == null) {
+            out.put(iv);
+            out.put(SPLITTER);
+            cipher.doFinal(data, out);
+            return;
         }
 
-        return ByteBuffer.allocate(HEADER.length + iv.length + cipherText.length + 1)
-                .put(HEADER)
-                .put(iv)
-                .put((byte) 0x21)
-                .put(cipherText)
-                .array();
+        topping.encode(ByteBuffer.wrap(iv), out);
+        out.put(SPLITTER);
+
+        ByteBuffer cipherText = scratch(cipher.getOutputSize(data.remaining()));
+        cipher.doFinal(data, cipherText);
+        // don't remove this cast, it'll cause problems if you remove it
+        ((Buffer) cipherText).flip();
+        topping.encode(cipherText, out);
     }
 
     public byte[] decrypt(byte[] cipherTextWithIv) throws Exception {
-        checkHeader(cipherTextWithIv);
+        return toArray(decrypt(ByteBuffer.wrap(cipherTextWithIv)));
+    }
 
-        Cipher cipher = Cipher.getInstance(CIPHER_NAME);
+    @Override
+    public ByteBuffer decrypt(ByteBuffer data) throws Exception {
+        checkHeader(data);
 
-        int bufferLength = cipherTextWithIv.length - HEADER.length;
-        ByteBuffer buffer = ByteBuffer.wrap(cipherTextWithIv, HEADER.length, bufferLength);
+        ByteBuffer buffer = data.slice();
+        // don't remove this cast, it'll cause problems if you remove it
+        ((Buffer) buffer).position(HEADER.length);
 
         int ivLength = IV_LENGTH;
 
@@ -93,32 +154,71 @@ public final class AesCipher implements FloodgateCipher {
             // we need the first index, the second is for the actual data
             boolean found = false;
             while (buffer.hasRemaining() && !found) {
-                if (buffer.get() == 0x21) {
+                if (buffer.get() == SPLITTER) {
                     found = true;
                 }
             }
 
+            if (!found) {
+                throw new InvalidFormatException("Unable to find the splitter between iv and cipher text");
+            }
+
             ivLength = buffer.position() - mark - 1; // don't include the splitter itself
             // don't remove this cast, it'll cause problems if you remove it
             ((Buffer) buffer).position(mark); // reset to the pre-while index
         }
 
-        byte[] iv = new byte[ivLength];
-        buffer.get(iv);
-
+        ByteBuffer ivBuffer = buffer.slice();
         // don't remove this cast, it'll cause problems if you remove it
-        ((Buffer) buffer).position(buffer.position() + 1); // skip splitter
-
-        byte[] cipherText = new byte[buffer.remaining()];
-        buffer.get(cipherText);
+        ((Buffer) ivBuffer).limit(ivLength);
+        ((Buffer) buffer).position(buffer.position() + ivLength + 1); // skip iv and splitter
 
+        byte[] iv;
+        ByteBuffer cipherText;
         if (topping != null) {
-            iv = topping.decode(iv);
-            cipherText = topping.decode(cipherText);
+            iv = new byte[topping.decodedLength(ivBuffer)];
+            topping.decode(ivBuffer, ByteBuffer.wrap(iv));
+
+            cipherText = scratch(topping.decodedLength(buffer));
+            topping.decode(buffer, cipherText);
+            ((Buffer) cipherText).flip();
+        } else {
+            iv = new byte[ivLength];
+            ivBuffer.get(iv);
+            cipherText = buffer;
         }
 
+        Cipher cipher = CIPHER.get();
         GCMParameterSpec spec = new GCMParameterSpec(TAG_BIT_LENGTH, iv);
         cipher.init(Cipher.DECRYPT_MODE, secretKey, spec);
-        return cipher.doFinal(cipherText);
+
+        ByteBuffer out = ByteBuffer.allocate(cipher.getOutputSize(cipherText.remaining()));
+        cipher.doFinal(cipherText, out);
+        // don't remove this cast, it'll cause problems if you remove it
+        ((Buffer) out).flip();
+        ((Buffer) data).position(data.limit());
+        return out;
+    }
+
+    private static byte[] toArray(ByteBuffer buffer) {
+        // the buffers we create are allocated with the exact size, so usually no copy is needed
+        if (buffer.arrayOffset() == 0 && buffer.position() == 0 && buffer.remaining() == buffer.capacity()) {
+            return buffer.array();
+        }
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static ByteBuffer scratch(int size) {
+        ByteBuffer scratch = SCRATCH.get();
+        if (scratch.capacity() < size) {
+            scratch = ByteBuffer.allocate(Math.max(size, scratch.capacity() * 2));
+            SCRATCH.set(scratch);
+        }
+        // don't remove this cast, it'll cause problems if you remove it
+        ((Buffer) scratch).clear();
+        ((Buffer) scratch).limit(size);
+        return scratch;
     }
 }
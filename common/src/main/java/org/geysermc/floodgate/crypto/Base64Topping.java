@@ -25,9 +25,25 @@
 
 package org.geysermc.floodgate.crypto;
 
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Base64;
 
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
 public final class Base64Topping implements Topping {
+    private static final byte[] ALPHABET =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".getBytes(US_ASCII);
+    private static final int[] DECODE_TABLE = new int[256];
+
+    static {
+        Arrays.fill(DECODE_TABLE, -1);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            DECODE_TABLE[ALPHABET[i]] = i;
+        }
+    }
+
     @Override
     public byte[] encode(byte[] data) {
         return Base64.getEncoder().encode(data);
@@ -37,4 +53,84 @@ public final class Base64Topping implements Topping {
     public byte[] decode(byte[] data) {
         return Base64.getDecoder().decode(data);
     }
+
+    @Override
+    public int encodedLength(int length) {
+        return (length + 2) / 3 * 4;
+    }
+
+    @Override
+    public int decodedLength(ByteBuffer data) {
+        int characters = data.remaining() - padding(data);
+        if (characters % 4 == 1) {
+            throw new IllegalArgumentException("Invalid base64 length " + data.remaining());
+        }
+        return characters / 4 * 3 + Math.max(0, characters % 4 - 1);
+    }
+
+    @Override
+    public void encode(ByteBuffer src, ByteBuffer dst) {
+        while (src.remaining() >= 3) {
+            int bits = (src.get() & 0xFF) << 16 | (src.get() & 0xFF) << 8 | (src.get() & 0xFF);
+            dst.put(ALPHABET[bits >>> 18 & 0x3F])
+                    .put(ALPHABET[bits >>> 12 & 0x3F])
+                    .put(ALPHABET[bits >>> 6 & 0x3F])
+                    .put(ALPHABET[bits & 0x3F]);
+        }
+
+        int remaining = src.remaining();
+        if (remaining > 0) {
+            int bits = (src.get() & 0xFF) << 16;
+            if (remaining == 2) {
+                bits |= (src.get() & 0xFF) << 8;
+            }
+            dst.put(ALPHABET[bits >>> 18 & 0x3F])
+                    .put(ALPHABET[bits >>> 12 & 0x3F])
+                    .put(remaining == 2 ? ALPHABET[bits >>> 6 & 0x3F] : (byte) '=')
+                    .put((byte) '=');
+        }
+    }
+
+    @Override
+    public void decode(ByteBuffer src, ByteBuffer dst) {
+        int characters = src.remaining() - padding(src);
+        if (characters % 4 == 1) {
+            throw new IllegalArgumentException("Invalid base64 length " + src.remaining());
+        }
+
+        int end = src.position() + characters;
+        int bits = 0;
+        int count = 0;
+        while (src.position() < end) {
+            int value = DECODE_TABLE[src.get() & 0xFF];
+            if (value == -1) {
+                throw new IllegalArgumentException("Illegal base64 character");
+            }
+
+            bits = bits << 6 | value;
+            if (++count == 4) {
+                dst.put((byte) (bits >> 16)).put((byte) (bits >> 8)).put((byte) bits);
+                bits = 0;
+                count = 0;
+            }
+        }
+
+        if (count == 2) {
+            dst.put((byte) (bits >> 4));
+        } else if (count == 3) {
+            dst.put((byte) (bits >> 10)).put((byte) (bits >> 2));
+        }
+        // skip the padding
+        // don't remove this cast, it'll cause problems if you remove it
+        ((Buffer) src).position(src.limit());
+    }
+
+    private static int padding(ByteBuffer data) {
+        int padding = 0;
+        int limit = data.limit();
+        while (padding < 2 && data.remaining() > padding && data.get(limit - padding - 1) == '=') {
+            padding++;
+        }
+        return padding;
+    }
 }
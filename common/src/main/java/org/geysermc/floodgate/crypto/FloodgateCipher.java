@@ -28,6 +28,7 @@ package org.geysermc.floodgate.crypto;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.geysermc.floodgate.util.InvalidFormatException;
 
+import java.nio.ByteBuffer;
 import java.security.Key;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -90,6 +91,34 @@ public interface FloodgateCipher {
      */
     byte[] decrypt(byte[] data) throws Exception;
 
+    /**
+     * Encrypts the remaining bytes of the given buffer using the Key provided in {@link #init(Key)}.
+     * The default implementation calls {@link #encrypt(byte[])}.
+     *
+     * @param data the data to encrypt
+     * @return a buffer containing the encrypted data between its position and limit
+     * @throws Exception when the encryption failed
+     */
+    default ByteBuffer encrypt(ByteBuffer data) throws Exception {
+        byte[] bytes = new byte[data.remaining()];
+        data.get(bytes);
+        return ByteBuffer.wrap(encrypt(bytes));
+    }
+
+    /**
+     * Decrypts the remaining bytes of the given buffer using the Key provided in {@link #init(Key)}.
+     * The default implementation calls {@link #decrypt(byte[])}.
+     *
+     * @param data the data to decrypt
+     * @return a buffer containing the decrypted data between its position and limit
+     * @throws Exception when the decrypting failed
+     */
+    default ByteBuffer decrypt(ByteBuffer data) throws Exception {
+        byte[] bytes = new byte[data.remaining()];
+        data.get(bytes);
+        return ByteBuffer.wrap(decrypt(bytes));
+    }
+
     /**
      * Decrypts a byte[] and turn it into a String.<br> This method internally calls {@link
      * #decrypt(byte[])} and converts the returned byte[] into a String.
@@ -145,4 +174,32 @@ public interface FloodgateCipher {
             }
         }
     }
+
+    /**
+     * Checks if the header of the remaining bytes of the given buffer is valid, without modifying
+     * the buffer. This method will throw an InvalidFormatException when the header is invalid.
+     *
+     * @param data the data to check
+     * @throws InvalidFormatException when the header is invalid
+     */
+    default void checkHeader(ByteBuffer data) throws InvalidFormatException {
+        if (data.remaining() <= HEADER.length) {
+            throw new InvalidFormatException(
+                    "Data length is smaller then header." +
+                    "Needed " + HEADER.length + ", got " + data.remaining()
+            );
+        }
+
+        int position = data.position();
+        for (int i = 0; i < IDENTIFIER.length; i++) {
+            if (IDENTIFIER[i] != data.get(position + i)) {
+                byte[] received = new byte[IDENTIFIER.length];
+                data.duplicate().get(received);
+                throw new InvalidFormatException(
+                        "Expected identifier " + new String(IDENTIFIER, UTF_8) +
+                        ", got " + new String(received, UTF_8)
+                );
+            }
+        }
+    }
 }
@@ -25,7 +25,59 @@
 
 package org.geysermc.floodgate.crypto;
 
+import java.nio.ByteBuffer;
+
 public interface Topping {
     byte[] encode(byte[] data);
     byte[] decode(byte[] data);
+
+    /**
+     * Returns the length of the given amount of bytes once encoded.
+     * The default implementation encodes a dummy array of the given length.
+     *
+     * @param length the length of the data to encode
+     * @return the length of the encoded data
+     */
+    default int encodedLength(int length) {
+        return encode(new byte[length]).length;
+    }
+
+    /**
+     * Returns the length of the remaining bytes of the given buffer once decoded, without modifying the buffer.
+     * The default implementation decodes a copy of the data.
+     *
+     * @param data the encoded data
+     * @return the length of the decoded data
+     */
+    default int decodedLength(ByteBuffer data) {
+        byte[] bytes = new byte[data.remaining()];
+        data.duplicate().get(bytes);
+        return decode(bytes).length;
+    }
+
+    /**
+     * Encodes the remaining bytes of the source buffer into the destination buffer.
+     * The default implementation delegates to {@link #encode(byte[])}.
+     *
+     * @param src the data to encode
+     * @param dst the buffer to write the encoded data to
+     */
+    default void encode(ByteBuffer src, ByteBuffer dst) {
+        byte[] bytes = new byte[src.remaining()];
+        src.get(bytes);
+        dst.put(encode(bytes));
+    }
+
+    /**
+     * Decodes the remaining bytes of the source buffer into the destination buffer.
+     * The default implementation delegates to {@link #decode(byte[])}.
+     *
+     * @param src the data to decode
+     * @param dst the buffer to write the decoded data to
+     */
+    default void decode(ByteBuffer src, ByteBuffer dst) {
+        byte[] bytes = new byte[src.remaining()];
+        src.get(bytes);
+        dst.put(decode(bytes));
+    }
 }
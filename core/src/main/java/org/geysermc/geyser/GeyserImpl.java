@@ -81,8 +81,13 @@ import org.geysermc.geyser.extension.GeyserExtensionManager;
 import org.geysermc.geyser.impl.MinecraftVersionImpl;
 import org.geysermc.geyser.level.BedrockDimension;
 import org.geysermc.geyser.level.WorldManager;
+import org.geysermc.geyser.metrics.EventLoopWatchdog;
+import org.geysermc.geyser.metrics.PerformanceMetrics;
+import org.geysermc.geyser.metrics.PrometheusMetricsExporter;
 import org.geysermc.geyser.network.GameProtocol;
+import org.geysermc.geyser.network.LoginCryptoService;
 import org.geysermc.geyser.network.netty.GeyserServer;
+import org.geysermc.geyser.pack.ResourcePackTransferScheduler;
 import org.geysermc.geyser.ping.GeyserLegacyPingPassthrough;
 import org.geysermc.geyser.registry.BlockRegistries;
 import org.geysermc.geyser.registry.Registries;
@@ -168,6 +173,11 @@ public class GeyserImpl implements GeyserApi, EventRegistrar {
 
     private ScheduledExecutorService scheduledThread;
 
+    private ResourcePackTransferScheduler packTransferScheduler;
+    private LoginCryptoService loginCryptoService;
+    private PerformanceMetrics performanceMetrics;
+    private EventLoopWatchdog eventLoopWatchdog;
+
     private GeyserServer geyserServer;
     private final GeyserBootstrap bootstrap;
 
@@ -312,12 +322,33 @@ public class GeyserImpl implements GeyserApi, EventRegistrar {
         GeyserLogger logger = bootstrap.getGeyserLogger();
         GeyserConfig config = bootstrap.config();
 
+        GeyserConfig.PerformanceMetricsConfig metricsConfig = config.advanced().performanceMetrics();
+        this.performanceMetrics = new PerformanceMetrics(this, metricsConfig.enabled());
+        if (metricsConfig.prometheusPort() != 0) {
+            this.performanceMetrics.addExporter(new PrometheusMetricsExporter(metricsConfig.prometheusAddress(), metricsConfig.prometheusPort()));
+        }
+        this.performanceMetrics.start();
+
+        GeyserConfig.EventLoopWatchdogConfig watchdogConfig = metricsConfig.eventLoopWatchdog();
+        if (watchdogConfig.enabled()) {
+            this.eventLoopWatchdog = new EventLoopWatchdog(this, watchdogConfig.stallThreshold(), watchdogConfig.stackSampleAfter());
+            this.eventLoopWatchdog.start();
+        } else {
+            this.eventLoopWatchdog = null;
+        }
+
         ScoreboardUpdater.init();
 
         SkinProvider.registerCacheImageTask(this);
 
         Registries.RESOURCE_PACKS.load();
 
+        this.packTransferScheduler = new ResourcePackTransferScheduler(this, config.advanced().bedrock().resourcePackBandwidthLimit());
+        this.packTransferScheduler.start();
+
+        this.loginCryptoService = new LoginCryptoService(this, config.advanced().bedrock().loginThreads(),
+            config.advanced().bedrock().maxPendingLogins());
+
         // Warnings to users who enable options that they might not need.
         if (config.advanced().bedrock().useHaproxyProtocol()) {
             logger.warning("Geyser is configured to expect HAProxy protocol for incoming Bedrock connections.");
@@ -743,6 +774,10 @@ public class GeyserImpl implements GeyserApi, EventRegistrar {
             bootstrap.getGeyserLogger().info(GeyserLocale.getLocaleStringLog("geyser.core.shutdown.kick.done"));
         }
 
+        runIfNonNull(packTransferScheduler, ResourcePackTransferScheduler::stop);
+        runIfNonNull(loginCryptoService, LoginCryptoService::shutdown);
+        runIfNonNull(performanceMetrics, PerformanceMetrics::stop);
+        runIfNonNull(eventLoopWatchdog, EventLoopWatchdog::stop);
         runIfNonNull(scheduledThread, ScheduledExecutorService::shutdown);
         runIfNonNull(geyserServer, GeyserServer::shutdown);
         runIfNonNull(skinUploader, FloodgateSkinUploader::close);
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.command.defaults;
+
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.api.util.TriState;
+import org.geysermc.geyser.command.GeyserCommand;
+import org.geysermc.geyser.command.GeyserCommandSource;
+import org.geysermc.geyser.metrics.EventLoopWatchdog;
+import org.geysermc.geyser.metrics.LatencyHistogram;
+import org.geysermc.geyser.metrics.PerformanceMetrics;
+import org.geysermc.geyser.metrics.SessionMemoryReport;
+import org.geysermc.geyser.metrics.TrafficCounter;
+import org.geysermc.geyser.network.LoginCryptoService;
+import org.incendo.cloud.context.CommandContext;
+
+import java.util.Comparator;
+import java.util.List;
+
+public class MetricsCommand extends GeyserCommand {
+    private static final int TOP_ENTRIES = 10;
+
+    private final GeyserImpl geyser;
+
+    public MetricsCommand(GeyserImpl geyser, String name, String description, String permission) {
+        super(name, description, permission, TriState.NOT_SET);
+        this.geyser = geyser;
+    }
+
+    @Override
+    public void execute(CommandContext<GeyserCommandSource> context) {
+        GeyserCommandSource source = context.sender();
+        EventLoopWatchdog watchdog = geyser.getEventLoopWatchdog();
+        if (watchdog != null) {
+            List<EventLoopWatchdog.Offender> offenders = watchdog.offenders();
+            if (offenders.isEmpty()) {
+                source.sendMessage("No player thread stalls have been detected.");
+            } else {
+                source.sendMessage("Tasks that stalled player threads:");
+                for (int i = 0; i < Math.min(TOP_ENTRIES, offenders.size()); i++) {
+                    EventLoopWatchdog.Offender offender = offenders.get(i);
+                    source.sendMessage(String.format("  %s: %d stall(s), %.1fms max", offender.getDescription(), offender.stalls(), offender.maxMillis()));
+                }
+            }
+        }
+
+        PerformanceMetrics metrics = geyser.getPerformanceMetrics();
+        if (metrics == null || !metrics.isEnabled()) {
+            source.sendMessage("Performance metrics are disabled. Enable them with advanced.performance-metrics.enabled in the config.");
+            return;
+        }
+
+        source.sendMessage("Slowest translators (by total time):");
+        List<PerformanceMetrics.TranslatorMetrics> translators = metrics.translators().stream()
+            .sorted(Comparator.comparingLong((PerformanceMetrics.TranslatorMetrics translator) -> translator.getLatency().totalNanos()).reversed())
+            .limit(TOP_ENTRIES)
+            .toList();
+        for (PerformanceMetrics.TranslatorMetrics translator : translators) {
+            source.sendMessage("  " + translator.getName() + ": " + describe(translator.getLatency()));
+        }
+
+        LatencyHistogram chunks = metrics.getChunkTranslation();
+        if (chunks.count() > 0) {
+            source.sendMessage("Chunk translation: " + describe(chunks));
+        }
+
+        long droppedParticles = metrics.droppedParticles();
+        if (droppedParticles > 0) {
+            source.sendMessage("Dropped particles: " + droppedParticles);
+        }
+
+        PerformanceMetrics.ChunkCacheUsage chunkCache = metrics.chunkCacheUsage();
+        if (chunkCache.chunks() > 0) {
+            source.sendMessage(String.format("Chunk cache: %d chunk(s), %.1fMB, %d bytes per chunk",
+                chunkCache.chunks(), chunkCache.bytes() / 1048576D, chunkCache.bytesPerChunk()));
+        }
+
+        SessionMemoryReport sessionMemory = metrics.sessionMemory();
+        if (sessionMemory.sessions() > 0) {
+            source.sendMessage(String.format("Per session: about %.1fMB (max %.1fMB), of which %.1fKB chunk cache (max %.1fKB), %d entities (max %d)",
+                sessionMemory.estimatedBytesPerSession() / 1048576D, sessionMemory.maxEstimatedBytes() / 1048576D,
+                sessionMemory.chunkCacheBytesPerSession() / 1024D, sessionMemory.maxChunkCacheBytes() / 1024D,
+                sessionMemory.entitiesPerSession(), sessionMemory.maxEntities()));
+        }
+
+        source.sendMessage("Bedrock traffic: in " + describe(metrics.getUpstreamInbound()) + ", out " + describe(metrics.getUpstreamOutbound()));
+        source.sendMessage("Java traffic: in " + describe(metrics.getDownstreamInbound()) + ", out " + describe(metrics.getDownstreamOutbound())
+            + ", skipped " + describe(metrics.getDownstreamSkipped()));
+
+        for (PerformanceMetrics.EventLoopLoad load : metrics.eventLoopLoads()) {
+            source.sendMessage(String.format("Event loop %s: %d session(s), %d pending task(s), %.1f%% busy",
+                load.id(), load.sessions(), load.pendingTasks(), Math.max(0, load.busy()) * 100));
+        }
+
+        LoginCryptoService loginCryptoService = geyser.getLoginCryptoService();
+        if (loginCryptoService != null) {
+            source.sendMessage(String.format("Logins: %d completed, %d rejected, %d in flight, %.2fms avg",
+                loginCryptoService.completedLogins(), loginCryptoService.rejectedLogins(),
+                loginCryptoService.inFlightLogins(), loginCryptoService.averageLatencyMillis()));
+        }
+    }
+
+    private static String describe(LatencyHistogram histogram) {
+        return String.format("%d calls, %.3fms avg, %.3fms p99, %.3fms max", histogram.count(),
+            histogram.averageMillis(), histogram.percentileMillis(0.99), histogram.maxNanos() / 1_000_000D);
+    }
+
+    private static String describe(TrafficCounter counter) {
+        return String.format("%.0f packets/s, %.1f KB/s", counter.packetsPerSecond(), counter.bytesPerSecond() / 1024D);
+    }
+}
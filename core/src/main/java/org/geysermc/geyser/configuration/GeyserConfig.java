@@ -396,6 +396,26 @@ public interface GeyserConfig {
             All Floodgate functionality (including skin uploading and account linking) will also not work when this option is disabled.""")
         @DefaultBoolean(true)
         boolean validateBedrockLogin();
+
+        @Comment("""
+            The total bandwidth, in kilobytes per second, that may be used to send resource packs to all Bedrock players combined.
+            Downloads are shared fairly between players, and paced per player based on their connection.
+            This prevents many players downloading packs at once (e.g. after a restart) from lagging players that are already online.
+            A value of 0 disables the limit.""")
+        @DefaultNumeric(0)
+        int resourcePackBandwidthLimit();
+
+        @Comment("""
+            The amount of threads used to verify Bedrock logins and set up encryption, so logins do not slow down players already online.
+            A value of 0 uses half of the available processors.""")
+        @DefaultNumeric(0)
+        int loginThreads();
+
+        @Comment("""
+            The maximum amount of Bedrock logins that may be verified at the same time, including queued logins.
+            Players connecting while this limit is reached will be told that the server is busy.""")
+        @DefaultNumeric(64)
+        int maxPendingLogins();
     }
 
     @ConfigSerializable
@@ -426,6 +446,12 @@ public interface GeyserConfig {
         @DefaultBoolean(true)
         @PluginSpecific
         boolean disableCompression();
+
+        @Comment("""
+            Whether Geyser should skip decoding Java packets that it has no use for, such as light updates.
+            Disable this if an extension needs to listen for these packets.""")
+        @DefaultBoolean(true)
+        boolean skipIgnoredPackets();
     }
 
     @ConfigSerializable
@@ -466,10 +492,101 @@ public interface GeyserConfig {
         @DefaultString("key.pem")
         String floodgateKeyFile();
 
+        @Comment("""
+            Whether Geyser should move busy players to other player threads when some threads are much busier than others.
+            New players are always placed on the least busy thread.""")
+        boolean rebalancePlayerThreads();
+
+        @Comment("""
+            The maximum amount of particles sent to each Bedrock player per tick. Particle-heavy plugins can send
+            thousands of particles per second, which Bedrock clients handle poorly. Particles of the same type at
+            the same spot are merged. A value of 0 disables the limit.""")
+        @DefaultNumeric(200)
+        @NumericRange(from = 0, to = 10000)
+        int particleBudget();
+
+        @Comment("""
+            Particles further away from the player than this many blocks are not sent, unless the server wants them
+            to be visible from far away. This matches Java Edition. A value of 0 disables this check.""")
+        @DefaultNumeric(32)
+        @NumericRange(from = 0, to = 1024)
+        int particleDistance();
+
+        @Comment("Options for the chunk cache Geyser keeps for collision and block lookups, when the platform does not provide its own.")
+        ChunkCacheConfig chunkCache();
+
         @Comment("Advanced networking options for the Geyser to Java server connection")
         AdvancedJavaConfig java();
 
         @Comment("Advanced networking options for Geyser's Bedrock listener")
         AdvancedBedrockConfig bedrock();
+
+        @Comment("Options for collecting performance metrics, such as how long packet translation takes.")
+        PerformanceMetricsConfig performanceMetrics();
+    }
+
+    @ConfigSerializable
+    interface PerformanceMetricsConfig {
+        @Comment("""
+            Whether to collect performance metrics. These can be viewed with the "geyser metrics" command.
+            Collecting metrics has a small performance cost.""")
+        boolean enabled();
+
+        @Comment("""
+            The port to serve metrics on in the Prometheus text format, under the /metrics path.
+            A value of 0 disables the Prometheus endpoint.""")
+        @DefaultNumeric(0)
+        @NumericRange(from = 0, to = 65535)
+        int prometheusPort();
+
+        @Comment("The address to bind the Prometheus endpoint to. Keep this local unless you know what you are doing.")
+        @DefaultString("127.0.0.1")
+        String prometheusAddress();
+
+        @Comment("Options for detecting tasks that stall player threads and cause lag for every player sharing that thread.")
+        EventLoopWatchdogConfig eventLoopWatchdog();
+    }
+
+    @ConfigSerializable
+    interface EventLoopWatchdogConfig {
+        @Comment("""
+            Whether to log translators, event handlers and tasks that take longer than the stall threshold on a player thread.
+            Timing every task has a small performance cost, so only enable this while looking for the cause of lag.""")
+        boolean enabled();
+
+        @Comment("How long, in milliseconds, a single task may run on a player thread before it is reported.")
+        @DefaultNumeric(100)
+        @NumericRange(from = 1, to = 60000)
+        int stallThreshold();
+
+        @Comment("""
+            After how many stalls of the same task a stack sample should be taken while it is running.
+            A value of 0 disables stack sampling.""")
+        @DefaultNumeric(3)
+        @NumericRange(from = 0, to = 1000)
+        int stackSampleAfter();
+    }
+
+    @ConfigSerializable
+    interface ChunkCacheConfig {
+        @Comment("""
+            Whether to store cached chunks in a compact format. This uses much less memory per player,
+            at the cost of slightly slower block updates.""")
+        boolean compact();
+
+        @Comment("""
+            Whether identical compact chunk sections should be shared between players.
+            Players in the same area mostly see the same sections, so this saves a lot of memory on busy servers.
+            Only applies if compact is enabled.""")
+        @DefaultBoolean(true)
+        boolean deduplicateSections();
+
+        @Comment("""
+            How much memory, in kilobytes, the chunk cache of a single player may use before chunks outside of the
+            server's view distance are dropped. Chunks within view distance are always kept; a warning is logged if they
+            alone exceed this budget. A value of 0 disables the limit. Only applies if compact is enabled.""")
+        @DefaultNumeric(0)
+        @NumericRange(from = 0, to = 1048576)
+        int memoryBudget();
     }
 }
@@ -44,6 +44,7 @@ import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.api.GeyserApi;
 import org.geysermc.geyser.api.extension.Extension;
 import org.geysermc.geyser.api.util.MinecraftVersion;
+import org.geysermc.geyser.metrics.SessionMemoryReport;
 import org.geysermc.geyser.network.GameProtocol;
 import org.geysermc.geyser.pack.ResourcePackHolder;
 import org.geysermc.geyser.registry.BlockRegistries;
@@ -96,6 +97,7 @@ public class DumpInfo {
     private final List<ExtensionInfo> extensionInfo;
     private final List<PackInfo> packInfo;
     private final MappingInfo mappingInfo;
+    private final SessionMemoryReport sessionMemory;
 
     public DumpInfo(GeyserImpl geyser, boolean addLog) {
         this.versionInfo = new VersionInfo();
@@ -144,7 +146,8 @@ public class DumpInfo {
         }
 
         this.userPlatforms = new Object2IntOpenHashMap<>();
-        for (GeyserSession session : geyser.getSessionManager().getAllSessions()) {
+        List<GeyserSession> sessions = geyser.getSessionManager().getAllSessions();
+        for (GeyserSession session : sessions) {
             DeviceOs device = session.getClientData().getDeviceOs();
             userPlatforms.put(device, userPlatforms.getOrDefault(device, 0) + 1);
         }
@@ -171,6 +174,7 @@ public class DumpInfo {
             BlockRegistries.CUSTOM_SKULLS.get().size(),
             Registries.ITEMS.forVersion(GameProtocol.DEFAULT_BEDROCK_PROTOCOL).getCustomIdMappings().size()
         );
+        this.sessionMemory = SessionMemoryReport.create(sessions);
     }
 
     private JsonElement toGson(ConfigurationNode node) {
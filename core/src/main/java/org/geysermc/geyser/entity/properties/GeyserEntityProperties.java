@@ -52,8 +52,25 @@ public class GeyserEntityProperties {
 
     private ObjectArrayList<PropertyType<?, ?>> properties;
     private Object2IntMap<String> propertyIndices;
+    /**
+     * Set once entity definitions have finished registering; properties can't be changed afterwards
+     */
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private volatile boolean frozen;
+    /**
+     * Built once the properties are frozen, and shared by all sessions
+     */
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private volatile NbtMap nbt;
 
     public NbtMap toNbtMap(String entityType) {
+        NbtMap nbt = this.nbt;
+        if (nbt != null && entityType.equals(nbt.getString("type"))) {
+            return nbt;
+        }
+
         NbtMapBuilder mapBuilder = NbtMap.builder();
         List<NbtMap> nbtProperties = new ArrayList<>();
 
@@ -62,11 +79,23 @@ public class GeyserEntityProperties {
         }
         mapBuilder.putList("properties", NbtType.COMPOUND, nbtProperties);
 
-        return mapBuilder.putString("type", entityType).build();
+        nbt = mapBuilder.putString("type", entityType).build();
+        if (frozen) {
+            this.nbt = nbt;
+        }
+        return nbt;
+    }
+
+    /**
+     * Marks these properties as complete. Called by {@link org.geysermc.geyser.entity.EntityDefinitions} once
+     * registration has finished.
+     */
+    public void freeze() {
+        this.frozen = true;
     }
 
     public <T> void add(String entityType, @NonNull PropertyType<T, ? extends EntityProperty> property) {
-        if (!Registries.BEDROCK_ENTITY_PROPERTIES.get().isEmpty()) {
+        if (frozen || !Registries.BEDROCK_ENTITY_PROPERTIES.get().isEmpty()) {
             throw new IllegalStateException("Cannot add properties outside the GeyserDefineEntityProperties event!");
         }
 
@@ -85,7 +85,7 @@ public class ItemFrameEntity extends HangingEntity {
         blockDefinition = buildBlockDefinition(Direction.SOUTH); // Default to SOUTH direction, like on Java - entity metadata should correct this when necessary
         bedrockPosition = Vector3i.from(position.getFloorX(), position.getFloorY(), position.getFloorZ());
 
-        session.getItemFrameCache().put(bedrockPosition, this);
+        session.getItemFrameCache().add(bedrockPosition, this);
     }
 
     @Override
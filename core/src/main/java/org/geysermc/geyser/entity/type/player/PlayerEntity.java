@@ -45,6 +45,7 @@ import org.geysermc.mcprotocollib.protocol.data.game.entity.metadata.Pose;
 import org.geysermc.mcprotocollib.protocol.data.game.entity.metadata.type.FloatEntityMetadata;
 
 import java.util.Collections;
+import java.util.Objects;
 import java.util.OptionalInt;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
@@ -212,7 +213,12 @@ public class PlayerEntity extends AvatarEntity implements GeyserPlayerEntity {
     }
 
     public void setUsername(String username) {
+        String previousUsername = this.username;
         this.username = username;
+        if (!Objects.equals(previousUsername, username)) {
+            // the scoreboard indexes spawned players by their username
+            session.getWorldCache().getScoreboard().teamIdentifierChanged(this, previousUsername);
+        }
     }
 
     /**
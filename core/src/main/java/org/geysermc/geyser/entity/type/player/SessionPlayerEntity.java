@@ -334,6 +334,12 @@ public class SessionPlayerEntity extends PlayerEntity {
             switch (type) {
                 case ATTACK_SPEED -> {
                     session.setAttackSpeed(AttributeUtils.calculateValue(javaAttribute));
+                    // Shown in item tooltips
+                    session.invalidateTranslatedItems();
+                }
+                case ATTACK_DAMAGE -> {
+                    super.updateAttribute(javaAttribute, newAttributes);
+                    session.invalidateTranslatedItems();
                 }
                 case BLOCK_INTERACTION_RANGE -> {
                     this.blockInteractionRange = AttributeUtils.calculateValue(javaAttribute);
@@ -35,6 +35,8 @@ import org.geysermc.event.subscribe.Subscribe;
 import org.geysermc.geyser.api.event.EventBus;
 import org.geysermc.geyser.api.event.EventRegistrar;
 import org.geysermc.geyser.api.event.EventSubscriber;
+import org.geysermc.geyser.api.extension.Extension;
+import org.geysermc.geyser.metrics.EventLoopWatchdog;
 import org.geysermc.geyser.session.GeyserSession;
 
 import java.util.Set;
@@ -52,7 +54,7 @@ public final class GeyserEventBus extends OwnedEventBusImpl<EventRegistrar, Even
             @NonNull L listener,
             @NonNull BiConsumer<L, T> handler) {
         return (B) new GeyserEventSubscriber<>(
-                owner, eventClass, subscribe.postOrder(), subscribe.ignoreCancelled(), listener, handler
+                owner, eventClass, subscribe.postOrder(), subscribe.ignoreCancelled(), listener, watched(owner, eventClass, handler)
         );
     }
 
@@ -62,7 +64,29 @@ public final class GeyserEventBus extends OwnedEventBusImpl<EventRegistrar, Even
             @NonNull Class<T> eventClass,
             @NonNull Consumer<T> handler,
             @NonNull PostOrder postOrder) {
-        return (B) new GeyserEventSubscriber<>(owner, eventClass, handler, postOrder);
+        BiConsumer<Consumer<T>, T> watched = watched(owner, eventClass, Consumer::accept);
+        return (B) new GeyserEventSubscriber<>(owner, eventClass, event -> watched.accept(handler, event), postOrder);
+    }
+
+    /**
+     * Wraps an event handler so the event loop watchdog can tell which handler stalled a thread.
+     */
+    private static <L, T extends Event> BiConsumer<L, T> watched(EventRegistrar owner, Class<T> eventClass, BiConsumer<L, T> handler) {
+        String description = eventClass.getSimpleName() + " of " + (owner instanceof Extension extension ? extension.name() : owner.getClass().getSimpleName());
+        return (listener, event) -> {
+            EventLoopWatchdog watchdog = EventLoopWatchdog.ifEnabled();
+            if (watchdog == null) {
+                handler.accept(listener, event);
+                return;
+            }
+
+            watchdog.enter(EventLoopWatchdog.Kind.EVENT, description);
+            try {
+                handler.accept(listener, event);
+            } finally {
+                watchdog.exit();
+            }
+        };
     }
 
     @Override
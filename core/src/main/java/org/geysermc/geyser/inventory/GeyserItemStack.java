@@ -30,6 +30,7 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
+import lombok.ToString;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.cloudburstmc.protocol.bedrock.data.inventory.ItemData;
@@ -72,6 +73,26 @@ public class GeyserItemStack {
     @EqualsAndHashCode.Exclude
     private Item item;
 
+    /**
+     * The last Bedrock translation of this item stack, to avoid translating lore, enchantments etc. again
+     * if the stack is sent to the client multiple times without changing.
+     */
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude @ToString.Exclude
+    private ItemData cachedItemData;
+    /**
+     * The session {@link #cachedItemData} was translated for.
+     */
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude @ToString.Exclude
+    private GeyserSession cachedItemDataSession;
+    /**
+     * The {@link GeyserSession#getItemTranslationEpoch()} at the time {@link #cachedItemData} was translated.
+     */
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude @ToString.Exclude
+    private int cachedItemDataEpoch;
+
     private GeyserItemStack(int javaId, int amount, DataComponents components) {
         this(javaId, amount, components, 1, null);
     }
@@ -114,6 +135,26 @@ public class GeyserItemStack {
         return isEmpty() ? 0 : javaId;
     }
 
+    public void setAmount(int amount) {
+        this.amount = amount;
+        this.cachedItemData = null;
+    }
+
+    public void setComponents(DataComponents components) {
+        this.components = components;
+        this.cachedItemData = null;
+    }
+
+    public void setNetId(int netId) {
+        this.netId = netId;
+        this.cachedItemData = null;
+    }
+
+    public void setBundleData(BundleCache.BundleData bundleData) {
+        this.bundleData = bundleData;
+        this.cachedItemData = null;
+    }
+
     public int getAmount() {
         return isEmpty() ? 0 : amount;
     }
@@ -161,6 +202,8 @@ public class GeyserItemStack {
 
     @NonNull
     public DataComponents getOrCreateComponents() {
+        // The caller will likely modify these
+        cachedItemData = null;
         if (components == null) {
             return components = new DataComponents(new HashMap<>());
         }
@@ -216,10 +259,12 @@ public class GeyserItemStack {
 
     public void add(int add) {
         amount += add;
+        cachedItemData = null;
     }
 
     public void sub(int sub) {
         amount -= sub;
+        cachedItemData = null;
     }
 
     public ItemStack getItemStack() {
@@ -249,11 +294,36 @@ public class GeyserItemStack {
         if (isEmpty()) {
             return ItemData.AIR;
         }
+
+        ItemData cached = this.cachedItemData;
+        if (cached != null && cachedItemDataSession == session && cachedItemDataEpoch == session.getItemTranslationEpoch()) {
+            return cached;
+        }
+
         ItemData.Builder itemData = ItemTranslator.translateToBedrock(session, javaId, amount, components);
         itemData.netId(getNetId());
         itemData.usingNetId(true);
 
-        return session.getBundleCache().checkForBundle(this, itemData);
+        ItemData result = session.getBundleCache().checkForBundle(this, itemData);
+        if (isTranslationCacheable()) {
+            this.cachedItemData = result;
+            this.cachedItemDataSession = session;
+            this.cachedItemDataEpoch = session.getItemTranslationEpoch();
+        }
+        return result;
+    }
+
+    /**
+     * Bundles are excluded as their contents can change without this stack changing, lodestone compasses
+     * as translating them registers the lodestone position for the client to request, and player heads
+     * as their custom skull is only known once the profile has been resolved.
+     */
+    private boolean isTranslationCacheable() {
+        if (bundleData != null) {
+            return false;
+        }
+        return components == null || (!components.getDataComponents().containsKey(DataComponentTypes.LODESTONE_TRACKER)
+            && !components.getDataComponents().containsKey(DataComponentTypes.PROFILE));
     }
 
     public ItemMapping getMapping(GeyserSession session) {
@@ -130,6 +130,8 @@ public final class InventoryHolder<T extends Inventory> {
     }
 
     public void translateRequests(List<ItemStackRequest> requests) {
+        // The client has already applied its own prediction of the result
+        session.getInventorySlotCache().invalidate();
         this.translator.translateRequests(session, inventory, requests);
     }
 
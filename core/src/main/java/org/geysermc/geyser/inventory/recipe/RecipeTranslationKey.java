@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.inventory.recipe;
+
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.cache.RegistryCache;
+import org.geysermc.geyser.session.cache.SharedContents;
+import org.geysermc.geyser.session.cache.TagCache;
+
+/**
+ * Identifies translated recipe data that can be shared between sessions. Besides the Java recipe data itself,
+ * translation depends on the Bedrock item mappings, the item tags and registries sent by the server (e.g. enchantments
+ * and trim materials shown on result items) and the locale for item names.
+ *
+ * @param recipe the Java recipe data, compared by value
+ * @param itemTags see {@link TagCache#getItemTags()}
+ * @param itemRegistries see {@link RegistryCache#getItemRegistries()}
+ */
+public record RecipeTranslationKey(Object recipe, int protocolVersion, String locale, SharedContents itemTags,
+                                   SharedContents itemRegistries) {
+
+    public static RecipeTranslationKey of(GeyserSession session, Object recipe) {
+        return new RecipeTranslationKey(recipe, session.getUpstream().getProtocolVersion(), session.locale(),
+            session.getTagCache().getItemTags(), session.getRegistryCache().getItemRegistries());
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.level;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.mcprotocollib.protocol.data.game.level.map.MapData;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The contents of a map, shared between all sessions connected to the same server. Map art servers send the same
+ * maps to every player, so the translated colors of a full map are reused as long as the map does not change.
+ */
+public final class MapCanvas {
+    private static final int SIZE = 128;
+    /**
+     * A canvas takes up about 80 KB (its color IDs and translated colors), so this caps the cache at about 40 MB.
+     */
+    private static final int MAX_CANVASES = 512;
+
+    private static final Cache<CanvasKey, MapCanvas> CANVASES = CacheBuilder.newBuilder()
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .maximumSize(MAX_CANVASES)
+            .build();
+
+    private final byte[] colorIds = new byte[SIZE * SIZE];
+    /**
+     * The ABGR colors of the whole canvas. Never modified once created, as packets using it may not be sent yet.
+     */
+    private int[] colors;
+
+    /**
+     * Applies a map update to the shared canvas of this map.
+     *
+     * @return the Bedrock colors of the updated area
+     */
+    public static int[] translate(GeyserSession session, int mapId, MapData data) {
+        if (data.getX() < 0 || data.getY() < 0 || data.getX() + data.getColumns() > SIZE || data.getY() + data.getRows() > SIZE
+                || data.getData().length != data.getColumns() * data.getRows()) {
+            // Not something a vanilla server sends
+            return MapColor.toABGR(data.getData());
+        }
+
+        CanvasKey key = new CanvasKey(session.getRemoteServer().address(), session.getRemoteServer().port(), mapId);
+        MapCanvas canvas = CANVASES.asMap().computeIfAbsent(key, $ -> new MapCanvas());
+        return canvas.apply(data);
+    }
+
+    private synchronized int[] apply(MapData data) {
+        byte[] update = data.getData();
+        int columns = data.getColumns();
+        boolean changed = false;
+        for (int row = 0; row < data.getRows(); row++) {
+            int canvasOffset = (data.getY() + row) * SIZE + data.getX();
+            int updateOffset = row * columns;
+            for (int column = 0; column < columns; column++) {
+                byte colorId = update[updateOffset + column];
+                if (colorIds[canvasOffset + column] != colorId) {
+                    colorIds[canvasOffset + column] = colorId;
+                    changed = true;
+                }
+            }
+        }
+        if (changed) {
+            colors = null;
+        }
+
+        if (columns != SIZE || data.getRows() != SIZE) {
+            // Partial updates only contain what changed, so there is little to share
+            return MapColor.toABGR(update);
+        }
+        if (colors == null) {
+            colors = MapColor.toABGR(colorIds);
+        }
+        return colors;
+    }
+
+    /**
+     * Map IDs are only unique within one server.
+     */
+    private record CanvasKey(String address, int port, int mapId) {
+    }
+}
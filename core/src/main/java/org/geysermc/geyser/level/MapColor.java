@@ -276,6 +276,16 @@ public enum MapColor {
     COLOR_247(67, 88, 79);
 
     private static final MapColor[] VALUES = values();
+    /**
+     * The ABGR value of every possible color byte, including the ones without a color.
+     */
+    private static final int[] ABGR_BY_ID = new int[256];
+
+    static {
+        for (int i = 0; i < ABGR_BY_ID.length; i++) {
+            ABGR_BY_ID[i] = fromId(i).getABGR();
+        }
+    }
 
     private final int value;
 
@@ -294,6 +304,17 @@ public enum MapColor {
         return id >= 0 && id < VALUES.length ? VALUES[id] : COLOR_0;
     }
 
+    /**
+     * Converts Java map color IDs to the ABGR values Bedrock uses.
+     */
+    public static int[] toABGR(byte[] colorIds) {
+        int[] colors = new int[colorIds.length];
+        for (int i = 0; i < colorIds.length; i++) {
+            colors[i] = ABGR_BY_ID[colorIds[i] & 0xFF];
+        }
+        return colors;
+    }
+
     /**
      * Get the ABGR value of the color, bedrock uses this over the network
      * @return the int value of the color
@@ -31,6 +31,7 @@ import net.kyori.adventure.key.Key;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.cloudburstmc.math.vector.Vector3i;
+import org.cloudburstmc.protocol.bedrock.data.BlockChangeEntry;
 import org.cloudburstmc.protocol.bedrock.data.definitions.BlockDefinition;
 import org.cloudburstmc.protocol.bedrock.packet.UpdateBlockPacket;
 import org.geysermc.geyser.item.type.Item;
@@ -57,6 +58,11 @@ import java.util.stream.Stream;
 public class Block {
     public static final int JAVA_AIR_ID = 0;
 
+    /**
+     * Same flags as {@link #sendBlockUpdatePacket}: neighbors and network.
+     */
+    private static final int BULK_UPDATE_FLAGS = 0b11;
+
     private final Key javaIdentifier;
     /**
      * Can you harvest this with your hand.
@@ -143,6 +149,33 @@ public class Block {
         session.sendUpstreamPacket(waterPacket);
     }
 
+    /**
+     * Must be overridden to return false by blocks that override {@link #updateBlock(GeyserSession, BlockState, Vector3i)},
+     * {@link #sendBlockUpdatePacket} or {@link #checkForEmptySkull}.
+     *
+     * @return whether this block has no update logic of its own, so {@link #addBlockUpdate} can be used instead of
+     * {@link #updateBlock(GeyserSession, BlockState, Vector3i)}
+     */
+    public boolean hasDefaultUpdateBehavior() {
+        return true;
+    }
+
+    /**
+     * Adds this block to a batch of updates for one sub-chunk, instead of sending it on its own.
+     * Does not handle extended collision boxes of custom blocks.
+     */
+    public void addBlockUpdate(GeyserSession session, BlockState state, Vector3i position,
+                               List<BlockChangeEntry> standardBlocks, List<BlockChangeEntry> extraBlocks) {
+        checkForEmptySkull(session, state, position);
+
+        BlockDefinition definition = session.getBlockMappings().getBedrockBlock(state);
+        standardBlocks.add(new BlockChangeEntry(position, definition, BULK_UPDATE_FLAGS, 0, BlockChangeEntry.MessageType.NONE));
+
+        BlockDefinition layerOneDefinition = BlockRegistries.WATERLOGGED.get().get(state.javaId()) ?
+            session.getBlockMappings().getBedrockWater() : session.getBlockMappings().getBedrockAir();
+        extraBlocks.add(new BlockChangeEntry(position, layerOneDefinition, 0, 0, BlockChangeEntry.MessageType.NONE));
+    }
+
     protected void checkForEmptySkull(GeyserSession session, BlockState state, Vector3i position) {
         if (!(state.block() instanceof SkullBlock)) {
             // Skull is gone
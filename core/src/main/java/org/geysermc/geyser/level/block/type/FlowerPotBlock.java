@@ -43,6 +43,11 @@ public class FlowerPotBlock extends Block implements BedrockChunkWantsBlockEntit
         this.flower = flower;
     }
 
+    @Override
+    public boolean hasDefaultUpdateBehavior() {
+        return false;
+    }
+
     @Override
     public void updateBlock(GeyserSession session, BlockState state, Vector3i position) {
         super.updateBlock(session, state, position);
@@ -47,6 +47,11 @@ public class LecternBlock extends Block implements BedrockChunkWantsBlockEntityT
         return getBaseLecternTag(position, blockState.getValue(Properties.HAS_BOOK));
     }
 
+    @Override
+    public boolean hasDefaultUpdateBehavior() {
+        return false;
+    }
+
     @Override
     public void updateBlock(GeyserSession session, BlockState state, Vector3i position) {
         super.updateBlock(session, state, position);
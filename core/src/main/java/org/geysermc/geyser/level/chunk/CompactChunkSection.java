@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.level.chunk;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import org.geysermc.geyser.registry.BlockRegistries;
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.BitStorage;
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.DataPalette;
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.palette.GlobalPalette;
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.palette.Palette;
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.palette.SingletonPalette;
+
+import java.util.Arrays;
+
+/**
+ * An immutable copy of the block states of a Java chunk section, stored as indices into a palette that are packed
+ * into longs. Used by the chunk cache in compact mode, where it takes up far less memory than a {@link DataPalette}.
+ * <p>
+ * Since instances are immutable, they can be shared between chunks and sessions; modifying a block returns a new section.
+ */
+public final class CompactChunkSection {
+    private static final int SIZE = 4096;
+    /**
+     * Shared sections consisting of a single block state, indexed by Java block state ID. Sections only have
+     * final fields, so they can be safely shared between threads without further synchronization.
+     */
+    private static final CompactChunkSection[] SINGLETONS = new CompactChunkSection[BlockRegistries.BLOCK_STATES.get().size()];
+
+    private final int[] palette;
+    /**
+     * Null if this section consists of a single block state
+     */
+    private final long[] data;
+    private final int bitsPerEntry;
+    private final int entriesPerLong;
+    private final int hash;
+
+    private CompactChunkSection(int[] palette, long[] data, int bitsPerEntry) {
+        this.palette = palette;
+        this.data = data;
+        this.bitsPerEntry = bitsPerEntry;
+        this.entriesPerLong = bitsPerEntry == 0 ? 0 : Long.SIZE / bitsPerEntry;
+        this.hash = 31 * Arrays.hashCode(palette) + Arrays.hashCode(data);
+    }
+
+    public static CompactChunkSection singleton(int state) {
+        if (state < 0 || state >= SINGLETONS.length) {
+            return new CompactChunkSection(new int[] {state}, null, 0);
+        }
+        CompactChunkSection section = SINGLETONS[state];
+        if (section == null) {
+            section = SINGLETONS[state] = new CompactChunkSection(new int[] {state}, null, 0);
+        }
+        return section;
+    }
+
+    public static CompactChunkSection from(DataPalette section) {
+        Palette javaPalette = section.getPalette();
+        if (javaPalette instanceof SingletonPalette) {
+            return singleton(javaPalette.idToState(0));
+        }
+
+        BitStorage storage = section.getStorage();
+        if (javaPalette instanceof GlobalPalette) {
+            // Collect the states that are actually used
+            IntArrayList states = new IntArrayList();
+            Int2IntOpenHashMap stateToIndex = new Int2IntOpenHashMap();
+            stateToIndex.defaultReturnValue(-1);
+            for (int i = 0; i < SIZE; i++) {
+                int state = storage.get(i);
+                if (stateToIndex.putIfAbsent(state, states.size()) == -1) {
+                    states.add(state);
+                }
+            }
+            if (states.size() == 1) {
+                return singleton(states.getInt(0));
+            }
+
+            int bitsPerEntry = bitsFor(states.size());
+            long[] data = new long[longsFor(bitsPerEntry)];
+            for (int i = 0; i < SIZE; i++) {
+                set(data, bitsPerEntry, i, stateToIndex.get(storage.get(i)));
+            }
+            return new CompactChunkSection(states.toIntArray(), data, bitsPerEntry);
+        }
+
+        int[] palette = new int[javaPalette.size()];
+        for (int i = 0; i < palette.length; i++) {
+            palette[i] = javaPalette.idToState(i);
+        }
+        if (palette.length == 1) {
+            return singleton(palette[0]);
+        }
+
+        int bitsPerEntry = bitsFor(palette.length);
+        long[] data = new long[longsFor(bitsPerEntry)];
+        for (int i = 0; i < SIZE; i++) {
+            set(data, bitsPerEntry, i, storage.get(i));
+        }
+        return new CompactChunkSection(palette, data, bitsPerEntry);
+    }
+
+    public int get(int x, int y, int z) {
+        if (data == null) {
+            return palette[0];
+        }
+        return palette[paletteIndex(index(x, y, z))];
+    }
+
+    /**
+     * @return a section with the given block changed, or this section if the block is already set to this state
+     */
+    public CompactChunkSection with(int x, int y, int z, int state) {
+        int index = index(x, y, z);
+        if (get(x, y, z) == state) {
+            return this;
+        }
+
+        int paletteIndex = indexOf(state);
+        int[] newPalette = palette;
+        if (paletteIndex == -1) {
+            paletteIndex = palette.length;
+            newPalette = Arrays.copyOf(palette, palette.length + 1);
+            newPalette[paletteIndex] = state;
+        }
+
+        int newBitsPerEntry = bitsFor(newPalette.length);
+        long[] newData;
+        if (newBitsPerEntry == bitsPerEntry) {
+            newData = data.clone();
+        } else {
+            // The palette has outgrown the current amount of bits
+            newData = new long[longsFor(newBitsPerEntry)];
+            if (data != null) {
+                for (int i = 0; i < SIZE; i++) {
+                    set(newData, newBitsPerEntry, i, paletteIndex(i));
+                }
+            }
+        }
+        set(newData, newBitsPerEntry, index, paletteIndex);
+        return new CompactChunkSection(newPalette, newData, newBitsPerEntry);
+    }
+
+    /**
+     * @return a rough estimate of the heap memory taken up by this section
+     */
+    public long estimatedBytes() {
+        long bytes = 40 + 16 + palette.length * 4L;
+        if (data != null) {
+            bytes += 16 + data.length * 8L;
+        }
+        return bytes;
+    }
+
+    private int paletteIndex(int index) {
+        long word = data[index / entriesPerLong];
+        int shift = (index % entriesPerLong) * bitsPerEntry;
+        return (int) ((word >>> shift) & ((1L << bitsPerEntry) - 1));
+    }
+
+    private int indexOf(int state) {
+        for (int i = 0; i < palette.length; i++) {
+            if (palette[i] == state) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void set(long[] data, int bitsPerEntry, int index, int value) {
+        int entriesPerLong = Long.SIZE / bitsPerEntry;
+        int wordIndex = index / entriesPerLong;
+        int shift = (index % entriesPerLong) * bitsPerEntry;
+        long mask = ((1L << bitsPerEntry) - 1) << shift;
+        data[wordIndex] = (data[wordIndex] & ~mask) | (((long) value << shift) & mask);
+    }
+
+    private static int bitsFor(int paletteSize) {
+        return Math.max(1, Integer.SIZE - Integer.numberOfLeadingZeros(paletteSize - 1));
+    }
+
+    private static int longsFor(int bitsPerEntry) {
+        int entriesPerLong = Long.SIZE / bitsPerEntry;
+        return (SIZE + entriesPerLong - 1) / entriesPerLong;
+    }
+
+    private static int index(int x, int y, int z) {
+        return (y << 8) | (z << 4) | x;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CompactChunkSection that)) {
+            return false;
+        }
+        return hash == that.hash && bitsPerEntry == that.bitsPerEntry && Arrays.equals(palette, that.palette) && Arrays.equals(data, that.data);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
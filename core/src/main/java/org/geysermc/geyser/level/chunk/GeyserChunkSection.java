@@ -33,6 +33,17 @@ public class GeyserChunkSection {
     // As of at least 1.19.80
     private static final int CHUNK_SECTION_VERSION = 9;
 
+    /**
+     * Encoded sections without any block storage, indexed by sub chunk index.
+     */
+    private static final byte[][] EMPTY_SECTIONS = new byte[256][];
+
+    static {
+        for (int i = 0; i < EMPTY_SECTIONS.length; i++) {
+            EMPTY_SECTIONS[i] = new byte[] {CHUNK_SECTION_VERSION, 0, (byte) i};
+        }
+    }
+
     private final BlockStorage[] storage;
     // Counts up from 00 for y >= 0 and down from FF for y < 0
     private final int subChunkIndex;
@@ -68,6 +79,13 @@ public class GeyserChunkSection {
         }
     }
 
+    /**
+     * Writes a section without any blocks, the same as a section without any block storage would.
+     */
+    public static void writeEmpty(ByteBuf buffer, int subChunkIndex) {
+        buffer.writeBytes(EMPTY_SECTIONS[subChunkIndex & 0xFF]);
+    }
+
     public int estimateNetworkSize() {
         int size = 2; // Version + storage count
         for (BlockStorage blockStorage : this.storage) {
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.level.chunk;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.ints.IntLists;
+import org.geysermc.geyser.level.chunk.bitarray.SingletonBitArray;
+
+/**
+ * A chunk section consisting of a single block, optionally waterlogged, that is encoded once and then shared.
+ * Must not be modified - use {@link #copy(int)} instead.
+ */
+public final class UniformChunkSection extends GeyserChunkSection {
+    private final byte[] encoded;
+
+    /**
+     * @param waterRuntimeId the runtime ID of water to put in the second layer, or -1 if the block isn't waterlogged
+     */
+    public UniformChunkSection(int subChunkIndex, int runtimeId, int waterRuntimeId) {
+        super(createStorage(runtimeId, waterRuntimeId), subChunkIndex);
+
+        ByteBuf buffer = Unpooled.buffer(16);
+        try {
+            super.writeToNetwork(buffer);
+            this.encoded = ByteBufUtil.getBytes(buffer);
+        } finally {
+            buffer.release();
+        }
+    }
+
+    private static BlockStorage[] createStorage(int runtimeId, int waterRuntimeId) {
+        BlockStorage blockStorage = new BlockStorage(SingletonBitArray.INSTANCE, IntLists.singleton(runtimeId));
+        if (waterRuntimeId == -1) {
+            return new BlockStorage[] {blockStorage};
+        }
+        BlockStorage waterlogged = new BlockStorage(SingletonBitArray.INSTANCE, IntLists.singleton(waterRuntimeId));
+        return new BlockStorage[] {blockStorage, waterlogged};
+    }
+
+    @Override
+    public void writeToNetwork(ByteBuf buffer) {
+        buffer.writeBytes(encoded);
+    }
+
+    @Override
+    public int estimateNetworkSize() {
+        return encoded.length;
+    }
+}
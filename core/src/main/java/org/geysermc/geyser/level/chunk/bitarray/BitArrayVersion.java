@@ -84,8 +84,12 @@ public enum BitArrayVersion {
         return next;
     }
 
+    public int getWordsForSize(int size) {
+        return MathUtils.ceil((float) size / entriesPerWord);
+    }
+
     public BitArray createArray(int size) {
-        return this.createArray(size, new int[MathUtils.ceil((float) size / entriesPerWord)]);
+        return this.createArray(size, new int[getWordsForSize(size)]);
     }
 
     public BitArray createArray(int size, int[] words) {
@@ -0,0 +1,329 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.metrics;
+
+import lombok.Getter;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.network.PlayerEventLoopBalancer;
+import org.geysermc.geyser.network.netty.GeyserServer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures how long individual tasks run on the player event loops, and reports the ones that run long enough to
+ * delay every other player sharing the same loop. Tasks on other threads, such as event handlers fired from a
+ * platform thread, are not timed.
+ * <p>
+ * Tasks are wrapped with {@link #enter(Kind, Object)} and {@link #exit()}. If tasks are nested - for example an
+ * event fired from within a translator - a stall is blamed on the innermost task that exceeded the threshold.
+ * Tasks that repeatedly stall get a stack sample taken from another thread while they are still running.
+ */
+public final class EventLoopWatchdog {
+    private static final long LOG_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final GeyserImpl geyser;
+    private final long stallThresholdNanos;
+    private final int stackSampleAfter;
+
+    private final ThreadLocal<ThreadState> state = ThreadLocal.withInitial(this::register);
+    private final Set<ThreadState> threads = ConcurrentHashMap.newKeySet();
+    private final Map<TaskKey, Offender> offenders = new ConcurrentHashMap<>();
+    private ScheduledFuture<?> samplingFuture;
+
+    public EventLoopWatchdog(GeyserImpl geyser, long stallThresholdMillis, int stackSampleAfter) {
+        this.geyser = geyser;
+        this.stallThresholdNanos = TimeUnit.MILLISECONDS.toNanos(stallThresholdMillis);
+        this.stackSampleAfter = stackSampleAfter;
+    }
+
+    public void start() {
+        if (stackSampleAfter > 0) {
+            long interval = Math.max(10, TimeUnit.NANOSECONDS.toMillis(stallThresholdNanos) / 2);
+            samplingFuture = geyser.getScheduledThread().scheduleAtFixedRate(this::sampleStalls, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void stop() {
+        if (samplingFuture != null) {
+            samplingFuture.cancel(false);
+            samplingFuture = null;
+        }
+    }
+
+    /**
+     * Marks the start of a task on the current thread. Must always be paired with {@link #exit()}.
+     *
+     * @param kind what sort of task is running
+     * @param subject what is used to tell tasks apart and to describe them if they stall: the packet class for
+     *                translators, the task class for scheduled tasks, or a description for event handlers
+     */
+    public void enter(Kind kind, Object subject) {
+        ThreadState state = this.state.get();
+        if (!state.playerThread) {
+            return;
+        }
+        state.push(kind, subject, System.nanoTime());
+    }
+
+    /**
+     * Marks the end of the task last passed to {@link #enter(Kind, Object)} on this thread.
+     */
+    public void exit() {
+        ThreadState state = this.state.get();
+        if (!state.playerThread) {
+            return;
+        }
+        long now = System.nanoTime();
+        int depth = state.depth - 1;
+        long elapsed = now - state.starts[depth];
+        Kind kind = state.kinds[depth];
+        Object subject = state.subjects[depth];
+        state.pop();
+
+        if (elapsed >= stallThresholdNanos && !state.stallReported) {
+            // Outer tasks won't be blamed for this stall again
+            state.stallReported = true;
+            reportStall(kind, subject, elapsed);
+        }
+        if (depth == 0) {
+            state.stallReported = false;
+        }
+    }
+
+    private void reportStall(Kind kind, Object subject, long elapsed) {
+        Offender offender = offenders.computeIfAbsent(new TaskKey(kind, subject), Offender::new);
+        long stalls = offender.record(elapsed);
+
+        long now = System.nanoTime();
+        long lastLogged = offender.lastLogged.get();
+        if ((stalls == 1 || now - lastLogged >= LOG_INTERVAL_NANOS) && offender.lastLogged.compareAndSet(lastLogged, now)) {
+            geyser.getLogger().warning(String.format("%s took %.1fms on %s, delaying every other player on this event loop (%d stall(s) so far, %.1fms max)",
+                offender.getDescription(), elapsed / 1_000_000D, Thread.currentThread().getName(), stalls, offender.maxMillis()));
+        }
+    }
+
+    /**
+     * Looks for tasks that are currently stalling a thread, and takes a stack sample of them if they are known to stall repeatedly.
+     */
+    private void sampleStalls() {
+        long now = System.nanoTime();
+        for (ThreadState state : threads) {
+            if (!state.thread.isAlive()) {
+                threads.remove(state);
+                continue;
+            }
+
+            long start = state.outerStart;
+            if (start == 0 || now - start < stallThresholdNanos || state.sampledStart == start) {
+                continue;
+            }
+            Kind kind = state.currentKind;
+            Object subject = state.currentSubject;
+            if (kind == null || subject == null) {
+                continue;
+            }
+
+            Offender offender = offenders.get(new TaskKey(kind, subject));
+            if (offender == null || offender.stalls() < stackSampleAfter) {
+                continue;
+            }
+
+            StackTraceElement[] stack = state.thread.getStackTrace();
+            if (state.outerStart != start) {
+                // The task finished while we were sampling
+                continue;
+            }
+            state.sampledStart = start;
+            offender.lastStack = stack;
+
+            StringBuilder builder = new StringBuilder(offender.getDescription())
+                .append(" is stalling ").append(state.thread.getName()).append(" again, currently at:");
+            for (StackTraceElement element : stack) {
+                builder.append("\n\tat ").append(element);
+            }
+            geyser.getLogger().warning(builder.toString());
+        }
+    }
+
+    /**
+     * @return tasks that have stalled a thread, starting with the ones that have cost the most time
+     */
+    public List<Offender> offenders() {
+        List<Offender> list = new ArrayList<>(offenders.values());
+        list.sort(Comparator.comparingLong(Offender::totalNanos).reversed());
+        return list;
+    }
+
+    private ThreadState register() {
+        GeyserServer server = geyser.getGeyserServer();
+        PlayerEventLoopBalancer balancer = server == null ? null : server.getPlayerLoopBalancer();
+        // Player threads only run tasks once the server is up, so this doesn't change for a thread later on
+        boolean playerThread = balancer != null && balancer.inPlayerEventLoop();
+
+        ThreadState state = new ThreadState(Thread.currentThread(), playerThread);
+        if (playerThread) {
+            threads.add(state);
+        }
+        return state;
+    }
+
+    /**
+     * @return the running watchdog, or null if stalls are not being tracked
+     */
+    public static @Nullable EventLoopWatchdog ifEnabled() {
+        GeyserImpl geyser = GeyserImpl.getInstance();
+        return geyser == null ? null : geyser.getEventLoopWatchdog();
+    }
+
+    public enum Kind {
+        TRANSLATOR,
+        EVENT,
+        TICK,
+        TASK
+    }
+
+    private record TaskKey(Kind kind, Object subject) {
+    }
+
+    public static final class Offender {
+        @Getter
+        private final Kind kind;
+        @Getter
+        private final String description;
+        private final LongAdder stalls = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final AtomicLong lastLogged = new AtomicLong();
+        private volatile StackTraceElement[] lastStack;
+
+        Offender(TaskKey key) {
+            this.kind = key.kind();
+            this.description = describe(key.kind(), key.subject());
+        }
+
+        long record(long nanos) {
+            stalls.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            return stalls.sum();
+        }
+
+        public long stalls() {
+            return stalls.sum();
+        }
+
+        public long totalNanos() {
+            return totalNanos.sum();
+        }
+
+        public double maxMillis() {
+            return maxNanos.get() / 1_000_000D;
+        }
+
+        public @Nullable List<StackTraceElement> lastStack() {
+            StackTraceElement[] stack = lastStack;
+            return stack == null ? null : Arrays.asList(stack);
+        }
+
+        private static String describe(Kind kind, Object subject) {
+            return switch (kind) {
+                case TRANSLATOR -> "Translator for " + ((Class<?>) subject).getSimpleName();
+                case EVENT -> "Event handler " + subject;
+                case TICK -> "Session tick";
+                case TASK -> "Task " + taskName((Class<?>) subject);
+            };
+        }
+
+        private static String taskName(Class<?> taskClass) {
+            String name = taskClass.getName();
+            // Lambdas are named after the class they are declared in, which is what we care about
+            int lambda = name.indexOf("$$Lambda");
+            return lambda == -1 ? name : name.substring(0, lambda) + " (lambda)";
+        }
+    }
+
+    private static final class ThreadState {
+        private final Thread thread;
+        private final boolean playerThread;
+        private Kind[] kinds = new Kind[4];
+        private Object[] subjects = new Object[4];
+        private long[] starts = new long[4];
+        private int depth;
+        private boolean stallReported;
+
+        // Read by the sampling thread
+        private volatile long outerStart;
+        private volatile Kind currentKind;
+        private volatile Object currentSubject;
+        private volatile long sampledStart;
+
+        ThreadState(Thread thread, boolean playerThread) {
+            this.thread = thread;
+            this.playerThread = playerThread;
+        }
+
+        void push(Kind kind, Object subject, long start) {
+            if (depth == kinds.length) {
+                kinds = Arrays.copyOf(kinds, depth * 2);
+                subjects = Arrays.copyOf(subjects, depth * 2);
+                starts = Arrays.copyOf(starts, depth * 2);
+            }
+            kinds[depth] = kind;
+            subjects[depth] = subject;
+            starts[depth] = start;
+            if (depth == 0) {
+                outerStart = start;
+            }
+            depth++;
+            currentKind = kind;
+            currentSubject = subject;
+        }
+
+        void pop() {
+            depth--;
+            subjects[depth] = null;
+            if (depth == 0) {
+                outerStart = 0;
+                currentKind = null;
+                currentSubject = null;
+            } else {
+                currentKind = kinds[depth - 1];
+                currentSubject = subjects[depth - 1];
+            }
+        }
+    }
+}
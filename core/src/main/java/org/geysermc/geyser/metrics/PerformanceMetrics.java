@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.metrics;
+
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
+import lombok.Getter;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.network.PlayerEventLoopBalancer;
+import org.geysermc.geyser.session.GeyserSession;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runtime performance metrics of this Geyser instance: how long translators take, how much traffic flows
+ * in each direction, and how busy the player event loops are.
+ * <p>
+ * Collection is only active if enabled in the config; all recording methods are no-ops otherwise.
+ */
+public final class PerformanceMetrics {
+    private final GeyserImpl geyser;
+    @Getter
+    private final boolean enabled;
+
+    private final Map<Class<?>, TranslatorMetrics> translators = new ConcurrentHashMap<>();
+
+    @Getter
+    private final TrafficCounter upstreamInbound = new TrafficCounter();
+    @Getter
+    private final TrafficCounter upstreamOutbound = new TrafficCounter();
+    @Getter
+    private final TrafficCounter downstreamInbound = new TrafficCounter();
+    @Getter
+    private final TrafficCounter downstreamOutbound = new TrafficCounter();
+    /**
+     * Java packets that were dropped without being decoded, as Geyser has no use for them.
+     */
+    @Getter
+    private final TrafficCounter downstreamSkipped = new TrafficCounter();
+
+    /**
+     * How long it takes to translate a Java chunk and hand it off to the Bedrock client.
+     */
+    @Getter
+    private final LatencyHistogram chunkTranslation = new LatencyHistogram();
+
+    /**
+     * Particles that were not sent to Bedrock players because they were too far away, or over the per-tick budget.
+     */
+    private final LongAdder droppedParticles = new LongAdder();
+
+    @Getter
+    private final TrafficCountingHandler upstreamTrafficHandler = new TrafficCountingHandler(upstreamInbound, upstreamOutbound);
+    @Getter
+    private final TrafficCountingHandler downstreamTrafficHandler = new TrafficCountingHandler(downstreamInbound, downstreamOutbound);
+
+    private final List<MetricsExporter> exporters = new CopyOnWriteArrayList<>();
+    private ScheduledFuture<?> samplingFuture;
+    private long lastSample;
+
+    public PerformanceMetrics(GeyserImpl geyser, boolean enabled) {
+        this.geyser = geyser;
+        this.enabled = enabled;
+    }
+
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        lastSample = System.nanoTime();
+        samplingFuture = geyser.getScheduledThread().scheduleAtFixedRate(this::sampleRates, 1, 1, TimeUnit.SECONDS);
+        for (MetricsExporter exporter : exporters) {
+            startExporter(exporter);
+        }
+    }
+
+    public void stop() {
+        if (samplingFuture != null) {
+            samplingFuture.cancel(false);
+            samplingFuture = null;
+        }
+        for (MetricsExporter exporter : exporters) {
+            try {
+                exporter.stop();
+            } catch (Throwable t) {
+                geyser.getLogger().error("Unable to stop metrics exporter " + exporter.getClass().getSimpleName(), t);
+            }
+        }
+    }
+
+    /**
+     * Adds an exporter that makes these metrics available elsewhere. Exporters are only started if metrics are enabled.
+     */
+    public void addExporter(MetricsExporter exporter) {
+        exporters.add(exporter);
+        if (enabled && samplingFuture != null) {
+            startExporter(exporter);
+        }
+    }
+
+    private void startExporter(MetricsExporter exporter) {
+        try {
+            exporter.start(this);
+        } catch (Throwable t) {
+            geyser.getLogger().error("Unable to start metrics exporter " + exporter.getClass().getSimpleName(), t);
+        }
+    }
+
+    /**
+     * Records a single invocation of the translator of the given packet class.
+     */
+    public void recordTranslation(Class<?> packetClass, long nanos) {
+        if (!enabled) {
+            return;
+        }
+        translators.computeIfAbsent(packetClass, TranslatorMetrics::new).record(nanos);
+    }
+
+    public void recordDroppedParticles(int amount) {
+        droppedParticles.add(amount);
+    }
+
+    public long droppedParticles() {
+        return droppedParticles.sum();
+    }
+
+    public Collection<TranslatorMetrics> translators() {
+        return Collections.unmodifiableCollection(translators.values());
+    }
+
+    /**
+     * @return the amount of pending tasks for each player event loop, and how many sessions each loop is serving
+     */
+    public List<EventLoopLoad> eventLoopLoads() {
+        Map<EventExecutor, int[]> sessionsPerLoop = new IdentityHashMap<>();
+        for (GeyserSession session : geyser.getSessionManager().getAllSessions()) {
+            sessionsPerLoop.computeIfAbsent(session.getTickEventLoop(), loop -> new int[1])[0]++;
+        }
+
+        PlayerEventLoopBalancer balancer = geyser.getGeyserServer() == null ? null : geyser.getGeyserServer().getPlayerLoopBalancer();
+        List<EventLoopLoad> loads = new ArrayList<>(sessionsPerLoop.size());
+        for (Map.Entry<EventExecutor, int[]> entry : sessionsPerLoop.entrySet()) {
+            int pendingTasks = entry.getKey() instanceof SingleThreadEventExecutor executor ? executor.pendingTasks() : -1;
+            double busy = balancer == null ? -1 : balancer.load(entry.getKey());
+            loads.add(new EventLoopLoad(Integer.toHexString(System.identityHashCode(entry.getKey())), entry.getValue()[0], pendingTasks, busy));
+        }
+        return loads;
+    }
+
+    /**
+     * Reads are not synchronized with the player threads, so the result is only an approximation.
+     *
+     * @return the estimated memory used by the chunk caches of all sessions
+     */
+    public ChunkCacheUsage chunkCacheUsage() {
+        long bytes = 0;
+        int chunks = 0;
+        for (GeyserSession session : geyser.getSessionManager().getAllSessions()) {
+            bytes += session.getChunkCache().getEstimatedBytes();
+            chunks += session.getChunkCache().size();
+        }
+        return new ChunkCacheUsage(bytes, chunks);
+    }
+
+    public SessionMemoryReport sessionMemory() {
+        return SessionMemoryReport.create(geyser.getSessionManager().getAllSessions());
+    }
+
+    void sampleRates() {
+        long now = System.nanoTime();
+        double elapsedSeconds = (now - lastSample) / 1_000_000_000D;
+        lastSample = now;
+        if (elapsedSeconds <= 0) {
+            return;
+        }
+        upstreamInbound.sample(elapsedSeconds);
+        upstreamOutbound.sample(elapsedSeconds);
+        downstreamInbound.sample(elapsedSeconds);
+        downstreamOutbound.sample(elapsedSeconds);
+        downstreamSkipped.sample(elapsedSeconds);
+    }
+
+    public static @Nullable PerformanceMetrics get() {
+        GeyserImpl geyser = GeyserImpl.getInstance();
+        return geyser == null ? null : geyser.getPerformanceMetrics();
+    }
+
+    /**
+     * @return the running metrics, or null if metrics are not being collected
+     */
+    public static @Nullable PerformanceMetrics ifEnabled() {
+        PerformanceMetrics metrics = get();
+        return metrics != null && metrics.enabled ? metrics : null;
+    }
+
+    /**
+     * @param busy the share of wall time the loop recently spent running session tasks, or -1 if unknown
+     */
+    public record EventLoopLoad(String id, int sessions, int pendingTasks, double busy) {
+    }
+
+    public record ChunkCacheUsage(long bytes, int chunks) {
+        public long bytesPerChunk() {
+            return chunks == 0 ? 0 : bytes / chunks;
+        }
+    }
+
+    @Getter
+    public static final class TranslatorMetrics {
+        private final String name;
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        TranslatorMetrics(Class<?> packetClass) {
+            this.name = packetClass.getSimpleName();
+        }
+
+        void record(long nanos) {
+            latency.record(nanos);
+        }
+
+        public long invocations() {
+            return latency.count();
+        }
+    }
+}
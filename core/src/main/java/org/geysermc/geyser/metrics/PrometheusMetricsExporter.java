@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.metrics;
+
+import com.sun.net.httpserver.HttpServer;
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.network.LoginCryptoService;
+import org.geysermc.geyser.pack.ResourcePackTransferScheduler;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Serves metrics in the Prometheus text exposition format on {@code /metrics}.
+ */
+public final class PrometheusMetricsExporter implements MetricsExporter {
+    private final String address;
+    private final int port;
+    private HttpServer server;
+
+    public PrometheusMetricsExporter(String address, int port) {
+        this.address = address;
+        this.port = port;
+    }
+
+    @Override
+    public void start(PerformanceMetrics metrics) throws Exception {
+        server = HttpServer.create(new InetSocketAddress(address, port), 0);
+        server.createContext("/metrics", exchange -> {
+            byte[] response = write(metrics).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(response);
+            }
+        });
+        server.start();
+        GeyserImpl.getInstance().getLogger().info("Serving Prometheus metrics on " + address + ":" + port + "/metrics");
+    }
+
+    @Override
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+    }
+
+    static String write(PerformanceMetrics metrics) {
+        StringBuilder builder = new StringBuilder(4096);
+
+        header(builder, "geyser_translator_seconds", "histogram", "Time spent translating packets, by packet type");
+        for (PerformanceMetrics.TranslatorMetrics translator : metrics.translators()) {
+            histogram(builder, "geyser_translator_seconds", "packet=\"" + translator.getName() + "\"", translator.getLatency());
+        }
+
+        header(builder, "geyser_chunk_translation_seconds", "histogram", "Time spent translating Java chunks");
+        histogram(builder, "geyser_chunk_translation_seconds", null, metrics.getChunkTranslation());
+
+        header(builder, "geyser_packets_total", "counter", "Packets handled, by connection and direction");
+        traffic(builder, "geyser_packets_total", "upstream", "inbound", metrics.getUpstreamInbound().packets());
+        traffic(builder, "geyser_packets_total", "upstream", "outbound", metrics.getUpstreamOutbound().packets());
+        traffic(builder, "geyser_packets_total", "downstream", "inbound", metrics.getDownstreamInbound().packets());
+        traffic(builder, "geyser_packets_total", "downstream", "outbound", metrics.getDownstreamOutbound().packets());
+        traffic(builder, "geyser_packets_total", "downstream", "skipped", metrics.getDownstreamSkipped().packets());
+
+        header(builder, "geyser_bytes_total", "counter", "Bytes transferred, by connection and direction");
+        traffic(builder, "geyser_bytes_total", "upstream", "inbound", metrics.getUpstreamInbound().bytes());
+        traffic(builder, "geyser_bytes_total", "upstream", "outbound", metrics.getUpstreamOutbound().bytes());
+        traffic(builder, "geyser_bytes_total", "downstream", "inbound", metrics.getDownstreamInbound().bytes());
+        traffic(builder, "geyser_bytes_total", "downstream", "outbound", metrics.getDownstreamOutbound().bytes());
+        traffic(builder, "geyser_bytes_total", "downstream", "skipped", metrics.getDownstreamSkipped().bytes());
+
+        header(builder, "geyser_event_loop_pending_tasks", "gauge", "Pending tasks on each player event loop");
+        header(builder, "geyser_event_loop_sessions", "gauge", "Sessions served by each player event loop");
+        header(builder, "geyser_event_loop_busy_ratio", "gauge", "Share of time each player event loop recently spent running session tasks");
+        for (PerformanceMetrics.EventLoopLoad load : metrics.eventLoopLoads()) {
+            builder.append("geyser_event_loop_pending_tasks{loop=\"").append(load.id()).append("\"} ").append(load.pendingTasks()).append('\n');
+            builder.append("geyser_event_loop_sessions{loop=\"").append(load.id()).append("\"} ").append(load.sessions()).append('\n');
+            if (load.busy() >= 0) {
+                builder.append("geyser_event_loop_busy_ratio{loop=\"").append(load.id()).append("\"} ").append(format(load.busy())).append('\n');
+            }
+        }
+
+        header(builder, "geyser_particles_dropped_total", "counter", "Particles not sent to Bedrock players, as they were too far away or over the budget");
+        builder.append("geyser_particles_dropped_total ").append(metrics.droppedParticles()).append('\n');
+
+        PerformanceMetrics.ChunkCacheUsage chunkCache = metrics.chunkCacheUsage();
+        header(builder, "geyser_chunk_cache_bytes", "gauge", "Estimated memory used by the chunk caches of all sessions");
+        builder.append("geyser_chunk_cache_bytes ").append(chunkCache.bytes()).append('\n');
+        header(builder, "geyser_chunk_cache_chunks", "gauge", "Chunks held in the chunk caches of all sessions");
+        builder.append("geyser_chunk_cache_chunks ").append(chunkCache.chunks()).append('\n');
+        header(builder, "geyser_chunk_cache_bytes_per_chunk", "gauge", "Estimated memory used per cached chunk");
+        builder.append("geyser_chunk_cache_bytes_per_chunk ").append(chunkCache.bytesPerChunk()).append('\n');
+
+        SessionMemoryReport sessionMemory = metrics.sessionMemory();
+        header(builder, "geyser_session_estimated_bytes", "gauge", "Estimated memory held by all sessions, excluding data shared between sessions");
+        builder.append("geyser_session_estimated_bytes ").append(sessionMemory.estimatedBytes()).append('\n');
+        header(builder, "geyser_session_entities", "gauge", "Entities tracked by all sessions");
+        builder.append("geyser_session_entities ").append(sessionMemory.entities()).append('\n');
+
+        GeyserImpl geyser = GeyserImpl.getInstance();
+        LoginCryptoService loginCryptoService = geyser.getLoginCryptoService();
+        if (loginCryptoService != null) {
+            header(builder, "geyser_logins_total", "counter", "Bedrock logins, by result");
+            builder.append("geyser_logins_total{result=\"completed\"} ").append(loginCryptoService.completedLogins()).append('\n');
+            builder.append("geyser_logins_total{result=\"rejected\"} ").append(loginCryptoService.rejectedLogins()).append('\n');
+            header(builder, "geyser_login_handshake_average_seconds", "gauge", "Average time taken to verify a Bedrock login");
+            builder.append("geyser_login_handshake_average_seconds ").append(format(loginCryptoService.averageLatencyMillis() / 1000D)).append('\n');
+        }
+
+        ResourcePackTransferScheduler packTransferScheduler = geyser.getPackTransferScheduler();
+        if (packTransferScheduler != null) {
+            header(builder, "geyser_resource_pack_bytes_total", "counter", "Resource pack bytes sent by the transfer scheduler");
+            builder.append("geyser_resource_pack_bytes_total ").append(packTransferScheduler.getBytesSent().get()).append('\n');
+        }
+
+        EventLoopWatchdog watchdog = geyser.getEventLoopWatchdog();
+        if (watchdog != null) {
+            header(builder, "geyser_event_loop_stalls_total", "counter", "Tasks that ran longer than the stall threshold, by task");
+            for (EventLoopWatchdog.Offender offender : watchdog.offenders()) {
+                builder.append("geyser_event_loop_stalls_total{task=\"").append(escape(offender.getDescription())).append("\"} ")
+                    .append(offender.stalls()).append('\n');
+            }
+        }
+
+        return builder.toString();
+    }
+
+    private static String escape(String label) {
+        return label.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private static void header(StringBuilder builder, String name, String type, String help) {
+        builder.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        builder.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void traffic(StringBuilder builder, String name, String connection, String direction, long value) {
+        builder.append(name).append("{connection=\"").append(connection).append("\",direction=\"").append(direction).append("\"} ")
+            .append(value).append('\n');
+    }
+
+    private static void histogram(StringBuilder builder, String name, String labels, LatencyHistogram histogram) {
+        String prefix = labels == null ? "" : labels + ",";
+        long cumulative = 0;
+        for (int i = 0; i < histogram.bucketCount() - 1; i++) {
+            cumulative += histogram.bucket(i);
+            double upperBound = LatencyHistogram.bucketUpperBoundMicros(i) / 1_000_000D;
+            builder.append(name).append("_bucket{").append(prefix).append("le=\"").append(format(upperBound)).append("\"} ")
+                .append(cumulative).append('\n');
+        }
+        long count = histogram.count();
+        builder.append(name).append("_bucket{").append(prefix).append("le=\"+Inf\"} ").append(count).append('\n');
+
+        String suffix = labels == null ? "" : "{" + labels + "}";
+        builder.append(name).append("_sum").append(suffix).append(' ').append(format(histogram.totalNanos() / 1_000_000_000D)).append('\n');
+        builder.append(name).append("_count").append(suffix).append(' ').append(count).append('\n');
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.6f", value);
+    }
+}
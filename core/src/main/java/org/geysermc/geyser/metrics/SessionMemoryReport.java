@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.metrics;
+
+import org.geysermc.geyser.session.GeyserSession;
+
+import java.util.Collection;
+
+/**
+ * A rough overview of the memory that sessions hold on to, to help with sizing the memory of a proxy per player.
+ * <p>
+ * Only data that grows with the amount of players is counted. Block and item mappings, translated recipes, map
+ * canvases and the like are shared between all sessions of a Bedrock version, so they are left out. The chunk cache
+ * size is what the chunk caches themselves report, and usually makes up most of a session; entities, skulls, item
+ * frames and scoreboard entries are estimated from how many of them each session tracks.
+ */
+public record SessionMemoryReport(
+    int sessions,
+    long heapUsedBytes,
+    long estimatedBytes,
+    long maxEstimatedBytes,
+    long chunkCacheBytes,
+    long maxChunkCacheBytes,
+    int chunks,
+    int entities,
+    int maxEntities,
+    int skulls,
+    int itemFrames,
+    int scoreboardEntries
+) {
+    /**
+     * Rough averages of the memory taken up by one of each; entities include their metadata, and item frames are only
+     * counted for their position index as their entity is counted separately.
+     */
+    private static final long ENTITY_BYTES = 1024;
+    private static final long SKULL_BYTES = 512;
+    private static final long ITEM_FRAME_BYTES = 128;
+    private static final long SCOREBOARD_ENTRY_BYTES = 256;
+
+    public static SessionMemoryReport create(Collection<GeyserSession> sessions) {
+        long estimatedBytes = 0;
+        long maxEstimatedBytes = 0;
+        long chunkCacheBytes = 0;
+        long maxChunkCacheBytes = 0;
+        int chunks = 0;
+        int entities = 0;
+        int maxEntities = 0;
+        int skulls = 0;
+        int itemFrames = 0;
+        int scoreboardEntries = 0;
+        for (GeyserSession session : sessions) {
+            long sessionChunkCacheBytes = session.getChunkCache().getEstimatedBytes();
+            chunkCacheBytes += sessionChunkCacheBytes;
+            maxChunkCacheBytes = Math.max(maxChunkCacheBytes, sessionChunkCacheBytes);
+            chunks += session.getChunkCache().size();
+
+            int sessionEntities = session.getEntityCache().getEntities().size();
+            entities += sessionEntities;
+            maxEntities = Math.max(maxEntities, sessionEntities);
+
+            int sessionSkulls = session.getSkullCache().getSkulls().size();
+            skulls += sessionSkulls;
+            int sessionItemFrames = session.getItemFrameCache().size();
+            itemFrames += sessionItemFrames;
+            int sessionScoreboardEntries = session.getWorldCache().getScoreboard().entryCount();
+            scoreboardEntries += sessionScoreboardEntries;
+
+            long sessionBytes = sessionChunkCacheBytes + sessionEntities * ENTITY_BYTES + sessionSkulls * SKULL_BYTES
+                + sessionItemFrames * ITEM_FRAME_BYTES + sessionScoreboardEntries * SCOREBOARD_ENTRY_BYTES;
+            estimatedBytes += sessionBytes;
+            maxEstimatedBytes = Math.max(maxEstimatedBytes, sessionBytes);
+        }
+
+        Runtime runtime = Runtime.getRuntime();
+        long heapUsedBytes = runtime.totalMemory() - runtime.freeMemory();
+        return new SessionMemoryReport(sessions.size(), heapUsedBytes, estimatedBytes, maxEstimatedBytes, chunkCacheBytes,
+            maxChunkCacheBytes, chunks, entities, maxEntities, skulls, itemFrames, scoreboardEntries);
+    }
+
+    public long estimatedBytesPerSession() {
+        return sessions == 0 ? 0 : estimatedBytes / sessions;
+    }
+
+    public long chunkCacheBytesPerSession() {
+        return sessions == 0 ? 0 : chunkCacheBytes / sessions;
+    }
+
+    public int entitiesPerSession() {
+        return sessions == 0 ? 0 : entities / sessions;
+    }
+}
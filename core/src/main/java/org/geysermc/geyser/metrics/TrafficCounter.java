@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts packets and bytes going in one direction, and keeps a per-second rate that is updated
+ * by {@link PerformanceMetrics#sampleRates()}.
+ */
+public final class TrafficCounter {
+    private final LongAdder packets = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+
+    private long lastPackets;
+    private long lastBytes;
+    private volatile double packetsPerSecond;
+    private volatile double bytesPerSecond;
+
+    public void recordPacket() {
+        packets.increment();
+    }
+
+    public void recordBytes(long amount) {
+        bytes.add(amount);
+    }
+
+    public long packets() {
+        return packets.sum();
+    }
+
+    public long bytes() {
+        return bytes.sum();
+    }
+
+    public double packetsPerSecond() {
+        return packetsPerSecond;
+    }
+
+    public double bytesPerSecond() {
+        return bytesPerSecond;
+    }
+
+    void sample(double elapsedSeconds) {
+        long packets = packets();
+        long bytes = bytes();
+        this.packetsPerSecond = (packets - lastPackets) / elapsedSeconds;
+        this.bytesPerSecond = (bytes - lastBytes) / elapsedSeconds;
+        this.lastPackets = packets;
+        this.lastBytes = bytes;
+    }
+}
@@ -35,6 +35,8 @@ import org.cloudburstmc.protocol.bedrock.BedrockServerSession;
 import org.cloudburstmc.protocol.bedrock.netty.codec.packet.BedrockPacketCodec;
 import org.cloudburstmc.protocol.bedrock.netty.initializer.BedrockServerInitializer;
 import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.metrics.PerformanceMetrics;
+import org.geysermc.geyser.metrics.TrafficCountingHandler;
 import org.geysermc.geyser.session.GeyserSession;
 
 import java.net.InetSocketAddress;
@@ -44,9 +46,12 @@ public class GeyserServerInitializer extends BedrockServerInitializer {
     // There is a constructor that doesn't require inputting threads, but older Netty versions don't have it
     @Getter
     private final DefaultEventLoopGroup eventLoopGroup = new DefaultEventLoopGroup(0, new DefaultThreadFactory("Geyser player thread"));
+    @Getter
+    private final PlayerEventLoopBalancer eventLoopBalancer;
 
     public GeyserServerInitializer(GeyserImpl geyser) {
         this.geyser = geyser;
+        this.eventLoopBalancer = new PlayerEventLoopBalancer(geyser, eventLoopGroup, geyser.config().advanced().rebalancePlayerThreads());
     }
 
     @Override
@@ -60,11 +65,17 @@ public class GeyserServerInitializer extends BedrockServerInitializer {
             }
 
             bedrockServerSession.setLogging(true);
-            GeyserSession session = new GeyserSession(this.geyser, bedrockServerSession, this.eventLoopGroup.next());
+            GeyserSession session = new GeyserSession(this.geyser, bedrockServerSession, this.eventLoopBalancer.next());
+            this.eventLoopBalancer.register(session);
 
             if (!bedrockServerSession.isSubClient()) {
                 Channel channel = bedrockServerSession.getPeer().getChannel();
                 channel.pipeline().addAfter(BedrockPacketCodec.NAME, InvalidPacketHandler.NAME, new InvalidPacketHandler(session));
+
+                PerformanceMetrics metrics = this.geyser.getPerformanceMetrics();
+                if (metrics != null && metrics.isEnabled()) {
+                    channel.pipeline().addFirst(TrafficCountingHandler.NAME, metrics.getUpstreamTrafficHandler());
+                }
             }
 
             bedrockServerSession.setPacketHandler(new UpstreamPacketHandler(this.geyser, session));
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.network;
+
+import io.netty.channel.EventLoop;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.cloudburstmc.protocol.bedrock.packet.LoginPacket;
+import org.cloudburstmc.protocol.bedrock.util.EncryptionUtils;
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.util.LoginEncryptionUtils;
+
+import java.security.KeyPair;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs login verification and key derivation on a dedicated, bounded thread pool, instead of on the
+ * network thread that is shared with other players. Logins beyond the configured in-flight limit are
+ * refused with a "server busy" message rather than piling up.
+ * <p>
+ * Server key pairs for the encryption handshake are pre-generated in the background.
+ */
+public final class LoginCryptoService {
+    private static final String BUSY_MESSAGE = "The server is busy, please try again in a moment.";
+    private static final int KEY_PAIR_POOL_SIZE = 16;
+
+    private final GeyserImpl geyser;
+    private final ThreadPoolExecutor executor;
+    /**
+     * Logins that are either queued or being verified.
+     */
+    private final Semaphore inFlight;
+    private final int maxInFlight;
+    private final BlockingQueue<KeyPair> keyPairs = new ArrayBlockingQueue<>(KEY_PAIR_POOL_SIZE);
+    private final AtomicBoolean refilling = new AtomicBoolean();
+
+    private final LongAdder completedLogins = new LongAdder();
+    private final LongAdder rejectedLogins = new LongAdder();
+    private final AtomicLong totalLatencyNanos = new AtomicLong();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    public LoginCryptoService(GeyserImpl geyser, int threads, int maxInFlight) {
+        this.geyser = geyser;
+        if (threads <= 0) {
+            threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        }
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.inFlight = new Semaphore(this.maxInFlight);
+        // The queue is bounded by the semaphore
+        this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), new DefaultThreadFactory("Geyser Login Crypto Thread", true));
+        this.executor.allowCoreThreadTimeOut(true);
+        refillKeyPairs();
+    }
+
+    /**
+     * Verifies the login of this session off the network thread. Once done, the session is updated and the
+     * encryption handshake is started on the connection's event loop, after which {@code onComplete} is run
+     * there if the session is still open.
+     *
+     * @return false if the login was refused because too many logins are in progress
+     */
+    public boolean submit(GeyserSession session, LoginPacket loginPacket, Runnable onComplete) {
+        EventLoop eventLoop = session.getUpstream().getSession().getPeer().getChannel().eventLoop();
+        if (!inFlight.tryAcquire()) {
+            reject(session);
+            return false;
+        }
+
+        long start = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                LoginEncryptionUtils.PreparedLogin login;
+                try {
+                    login = LoginEncryptionUtils.prepareLogin(session, loginPacket.getAuthPayload(), loginPacket.getClientJwt(), pollKeyPair());
+                } finally {
+                    inFlight.release();
+                }
+                recordLatency(System.nanoTime() - start);
+
+                eventLoop.execute(() -> {
+                    if (session.isClosed()) {
+                        return;
+                    }
+                    try {
+                        LoginEncryptionUtils.applyLogin(session, login);
+                    } catch (Throwable t) {
+                        geyser.getLogger().error("Error while completing login!", t);
+                        if (!session.isClosed()) {
+                            session.disconnect(LoginEncryptionUtils.PreparedLogin.INTERNAL_ERROR);
+                        }
+                        return;
+                    }
+                    if (!session.isClosed()) {
+                        onComplete.run();
+                    }
+                });
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.release();
+            reject(session);
+            return false;
+        }
+        return true;
+    }
+
+    private void reject(GeyserSession session) {
+        rejectedLogins.increment();
+        geyser.getLogger().debug("Refusing login as " + inFlightLogins() + " logins are already in progress");
+        session.disconnect(BUSY_MESSAGE);
+    }
+
+    private void recordLatency(long nanos) {
+        completedLogins.increment();
+        totalLatencyNanos.addAndGet(nanos);
+        maxLatencyNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private @Nullable KeyPair pollKeyPair() {
+        KeyPair keyPair = keyPairs.poll();
+        if (keyPairs.size() < KEY_PAIR_POOL_SIZE / 2) {
+            refillKeyPairs();
+        }
+        // If null, one will be created while preparing the login
+        return keyPair;
+    }
+
+    private void refillKeyPairs() {
+        if (!refilling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    while (keyPairs.remainingCapacity() > 0 && !executor.isShutdown()) {
+                        keyPairs.offer(EncryptionUtils.createKeyPair());
+                    }
+                } catch (Throwable t) {
+                    geyser.getLogger().debug("Unable to pre-generate server key pairs: " + t.getMessage());
+                } finally {
+                    refilling.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refilling.set(false);
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+        keyPairs.clear();
+    }
+
+    /**
+     * @return the amount of logins that are currently queued or being verified, not including key pair generation
+     */
+    public int inFlightLogins() {
+        return maxInFlight - inFlight.availablePermits();
+    }
+
+    public long completedLogins() {
+        return completedLogins.sum();
+    }
+
+    public long rejectedLogins() {
+        return rejectedLogins.sum();
+    }
+
+    /**
+     * @return the average time from receiving a login packet to having verified it, in milliseconds
+     */
+    public double averageLatencyMillis() {
+        long completed = completedLogins.sum();
+        return completed == 0 ? 0 : totalLatencyNanos.get() / (double) completed / 1_000_000D;
+    }
+
+    public double maxLatencyMillis() {
+        return maxLatencyNanos.get() / 1_000_000D;
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.network;
+
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.EventExecutor;
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.session.GeyserSession;
+import org.jetbrains.annotations.VisibleForTesting;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides which player event loop a new session is placed on, based on how busy each loop has been recently,
+ * and optionally moves busy sessions off loops that are much busier than others.
+ * <p>
+ * Load is measured as the share of wall time a session's tasks keep its loop busy; see {@link GeyserSession#getEventLoopBusyNanos()}.
+ */
+public final class PlayerEventLoopBalancer {
+    private static final long SAMPLE_INTERVAL_MILLIS = 1000;
+    /**
+     * How much weight the latest sample carries in the smoothed load.
+     */
+    private static final double SMOOTHING = 0.3;
+    /**
+     * The smallest load assumed for a session, so a burst of players joining - or many idle players - are still spread out.
+     */
+    private static final double MIN_SESSION_LOAD = 0.005;
+    /**
+     * How much busier, as a share of wall time, the busiest loop needs to be than the least busy loop before sessions are moved.
+     */
+    private static final double REBALANCE_THRESHOLD = 0.25;
+    /**
+     * Only move one session every this many samples, so loads can settle after a move.
+     */
+    private static final int SAMPLES_PER_REBALANCE = 10;
+
+    private final GeyserImpl geyser;
+    private final boolean rebalance;
+    private final List<LoopLoad> loops = new ArrayList<>();
+    private final Map<EventExecutor, LoopLoad> loopsByExecutor = new IdentityHashMap<>();
+
+    private ScheduledFuture<?> samplingFuture;
+    private long lastSample;
+    private int samplesSinceRebalance;
+
+    public PlayerEventLoopBalancer(GeyserImpl geyser, EventLoopGroup group, boolean rebalance) {
+        this.geyser = geyser;
+        this.rebalance = rebalance;
+        for (EventExecutor executor : group) {
+            LoopLoad load = new LoopLoad((EventLoop) executor);
+            loops.add(load);
+            loopsByExecutor.put(executor, load);
+        }
+    }
+
+    public void start() {
+        lastSample = System.nanoTime();
+        samplingFuture = geyser.getScheduledThread().scheduleAtFixedRate(this::sample, SAMPLE_INTERVAL_MILLIS, SAMPLE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        if (samplingFuture != null) {
+            samplingFuture.cancel(false);
+            samplingFuture = null;
+        }
+    }
+
+    /**
+     * @return the event loop a new session should be placed on
+     */
+    public EventLoop next() {
+        double sessionLoad = averageSessionLoad();
+        LoopLoad best = null;
+        double bestScore = Double.MAX_VALUE;
+        for (LoopLoad loop : loops) {
+            // Sessions that joined since the last sample aren't part of the measured load yet.
+            // The session count breaks ties between loops that are all idle.
+            double score = loop.load + loop.unmeasuredSessions() * sessionLoad + loop.sessions.size() * MIN_SESSION_LOAD;
+            if (score < bestScore) {
+                best = loop;
+                bestScore = score;
+            }
+        }
+        return best.loop;
+    }
+
+    /**
+     * Starts tracking the load of a session that was placed with {@link #next()}.
+     */
+    public void register(GeyserSession session) {
+        LoopLoad loop = loopsByExecutor.get(session.getTickEventLoop());
+        if (loop != null) {
+            loop.sessions.put(session, new SessionLoad(session.getEventLoopBusyNanos()));
+        }
+    }
+
+    /**
+     * @return the smoothed share of wall time the given loop has recently spent running session tasks, or -1 if it is unknown
+     */
+    public double load(EventExecutor executor) {
+        LoopLoad loop = loopsByExecutor.get(executor);
+        return loop == null ? -1 : loop.load;
+    }
+
+    /**
+     * @return whether the current thread is one of the player event loops
+     */
+    public boolean inPlayerEventLoop() {
+        for (LoopLoad loop : loops) {
+            if (loop.loop.inEventLoop()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private double averageSessionLoad() {
+        double total = 0;
+        int sessions = 0;
+        for (LoopLoad loop : loops) {
+            total += loop.load;
+            sessions += loop.measuredSessions;
+        }
+        return sessions == 0 ? MIN_SESSION_LOAD : Math.max(MIN_SESSION_LOAD, total / sessions);
+    }
+
+    private void sample() {
+        sample(System.nanoTime());
+    }
+
+    @VisibleForTesting
+    void sample(long now) {
+        double elapsed = now - lastSample;
+        lastSample = now;
+        if (elapsed <= 0) {
+            return;
+        }
+
+        for (LoopLoad loop : loops) {
+            double loopLoad = 0;
+            int measured = 0;
+            Iterator<Map.Entry<GeyserSession, SessionLoad>> iterator = loop.sessions.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<GeyserSession, SessionLoad> entry = iterator.next();
+                GeyserSession session = entry.getKey();
+                if (session.isClosed()) {
+                    iterator.remove();
+                    continue;
+                }
+
+                SessionLoad sessionLoad = entry.getValue();
+                long busy = session.getEventLoopBusyNanos();
+                double current = (busy - sessionLoad.lastBusyNanos) / elapsed;
+                sessionLoad.lastBusyNanos = busy;
+                sessionLoad.load = sessionLoad.measured ? smooth(sessionLoad.load, current) : current;
+                sessionLoad.measured = true;
+
+                loopLoad += current;
+                measured++;
+            }
+            loop.load = smooth(loop.load, loopLoad);
+            loop.measuredSessions = measured;
+        }
+
+        if (rebalance && loops.size() > 1 && ++samplesSinceRebalance >= SAMPLES_PER_REBALANCE) {
+            samplesSinceRebalance = 0;
+            rebalance();
+        }
+    }
+
+    /**
+     * Moves one session from the busiest loop to the least busy loop, if the difference between them is large enough.
+     * The session picked is the busiest one that can be moved without making the least busy loop the busiest.
+     */
+    private void rebalance() {
+        LoopLoad busiest = loops.get(0);
+        LoopLoad idlest = loops.get(0);
+        for (LoopLoad loop : loops) {
+            if (loop.load > busiest.load) {
+                busiest = loop;
+            }
+            if (loop.load < idlest.load) {
+                idlest = loop;
+            }
+        }
+
+        double difference = busiest.load - idlest.load;
+        if (difference < REBALANCE_THRESHOLD) {
+            return;
+        }
+
+        GeyserSession candidate = null;
+        SessionLoad candidateLoad = null;
+        for (Map.Entry<GeyserSession, SessionLoad> entry : busiest.sessions.entrySet()) {
+            SessionLoad load = entry.getValue();
+            if (load.load > difference / 2 || (candidateLoad != null && load.load <= candidateLoad.load)) {
+                continue;
+            }
+            if (entry.getKey().canMigrateEventLoop()) {
+                candidate = entry.getKey();
+                candidateLoad = load;
+            }
+        }
+
+        if (candidate == null || !candidate.migrateEventLoop(idlest.loop)) {
+            return;
+        }
+
+        busiest.sessions.remove(candidate);
+        idlest.sessions.put(candidate, candidateLoad);
+        busiest.load -= candidateLoad.load;
+        idlest.load += candidateLoad.load;
+        geyser.getLogger().debug(String.format("Moved %s to a less busy player thread (%.1f%% of a thread)",
+            candidate.bedrockUsername(), candidateLoad.load * 100));
+    }
+
+    private static double smooth(double previous, double current) {
+        return previous + SMOOTHING * (current - previous);
+    }
+
+    private static final class LoopLoad {
+        private final EventLoop loop;
+        private final Map<GeyserSession, SessionLoad> sessions = new ConcurrentHashMap<>();
+        private volatile double load;
+        private volatile int measuredSessions;
+
+        LoopLoad(EventLoop loop) {
+            this.loop = loop;
+        }
+
+        int unmeasuredSessions() {
+            return Math.max(0, sessions.size() - measuredSessions);
+        }
+    }
+
+    private static final class SessionLoad {
+        private long lastBusyNanos;
+        private double load;
+        private boolean measured;
+
+        SessionLoad(long lastBusyNanos) {
+            this.lastBusyNanos = lastBusyNanos;
+        }
+    }
+}
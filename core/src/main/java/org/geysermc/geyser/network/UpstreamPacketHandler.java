@@ -62,8 +62,10 @@ import org.geysermc.geyser.api.pack.ResourcePack;
 import org.geysermc.geyser.api.pack.ResourcePackManifest;
 import org.geysermc.geyser.api.pack.option.ResourcePackOption;
 import org.geysermc.geyser.event.type.SessionLoadResourcePacksEventImpl;
+import org.geysermc.geyser.metrics.PerformanceMetrics;
 import org.geysermc.geyser.pack.GeyserResourcePack;
 import org.geysermc.geyser.pack.ResourcePackHolder;
+import org.geysermc.geyser.pack.ResourcePackTransferScheduler;
 import org.geysermc.geyser.pack.url.GeyserUrlPackCodec;
 import org.geysermc.geyser.registry.BlockRegistries;
 import org.geysermc.geyser.registry.Registries;
@@ -71,7 +73,6 @@ import org.geysermc.geyser.registry.loader.ResourcePackLoader;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.session.PendingMicrosoftAuthentication;
 import org.geysermc.geyser.text.GeyserLocale;
-import org.geysermc.geyser.util.LoginEncryptionUtils;
 import org.geysermc.geyser.util.MathUtils;
 import org.geysermc.geyser.util.VersionCheckUtils;
 
@@ -97,6 +98,7 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
     private static final int PACKET_SEND_DELAY = 4 * 50;
     private final Queue<ResourcePackChunkRequestPacket> chunkRequestQueue = new ConcurrentLinkedQueue<>();
     private boolean currentlySendingChunks = false;
+    private ResourcePackTransferScheduler.Transfer packTransfer;
     private SessionLoadResourcePacksEventImpl resourcePackLoadEvent;
 
     public UpstreamPacketHandler(GeyserImpl geyser, GeyserSession session) {
@@ -108,6 +110,10 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
     }
 
     private PacketSignal translateAndDefault(BedrockPacket packet) {
+        PerformanceMetrics metrics = geyser.getPerformanceMetrics();
+        if (metrics != null && metrics.isEnabled()) {
+            metrics.getUpstreamInbound().recordPacket();
+        }
         Registries.BEDROCK_PACKET_TRANSLATORS.translate(packet.getClass(), packet, session, false);
         return PacketSignal.HANDLED; // PacketSignal.UNHANDLED will log a WARN publicly
     }
@@ -209,16 +215,15 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
         session.setBlockMappings(BlockRegistries.BLOCKS.forVersion(loginPacket.getProtocolVersion()));
         session.setItemMappings(Registries.ITEMS.forVersion(loginPacket.getProtocolVersion()));
 
-        LoginEncryptionUtils.encryptPlayerConnection(session, loginPacket);
-
-        if (session.isClosed()) {
-            // Can happen if Xbox validation fails
-            return PacketSignal.HANDLED;
-        }
+        // Verifying the login is expensive; don't hold up other players on this thread while doing so
+        geyser.getLoginCryptoService().submit(session, loginPacket, this::onLoginVerified);
+        return PacketSignal.HANDLED;
+    }
 
+    private void onLoginVerified() {
         if (geyser.getSessionManager().isXuidAlreadyPending(session.xuid()) || geyser.getSessionManager().sessionByXuid(session.xuid()) != null) {
             session.disconnect(GeyserLocale.getLocaleStringLog("geyser.auth.already_loggedin", session.bedrockUsername()));
-            return PacketSignal.HANDLED;
+            return;
         }
 
         geyser.getSessionManager().addPendingSession(session);
@@ -234,7 +239,7 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
         this.geyser.eventBus().fireEventElseKick(this.resourcePackLoadEvent, session);
         if (session.isClosed()) {
             // Can happen if an error occurs in the resource pack event; that'll disconnect the player
-            return PacketSignal.HANDLED;
+            return;
         }
         session.integratedPackActive(resourcePackLoadEvent.isIntegratedPackActive());
 
@@ -250,7 +255,6 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
         session.sendUpstreamPacket(resourcePacksInfo);
 
         GeyserLocale.loadGeyserLocale(session.locale());
-        return PacketSignal.HANDLED;
     }
 
     @Override
@@ -363,7 +367,11 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
         // Resolve some console pack downloading issues.
         // See <https://github.com/PowerNukkitX/PowerNukkitX/pull/1997> for reference
         chunkRequestQueue.add(packet);
-        if (isConsole()) {
+        ResourcePackTransferScheduler scheduler = geyser.getPackTransferScheduler();
+        if (scheduler != null && scheduler.isEnabled()) {
+            // Paced globally and per client, including consoles
+            scheduler.submit(this);
+        } else if (isConsole()) {
             if (!currentlySendingChunks) {
                 currentlySendingChunks = true;
                 processNextChunk();
@@ -375,19 +383,36 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
     }
 
     public void processNextChunk() {
-        ResourcePackChunkRequestPacket packet = chunkRequestQueue.poll();
-        if (packet == null || session.isClosed()) {
+        if (sendNextChunk(isConsole()) < 0) {
             currentlySendingChunks = false;
             return;
         }
 
+        if (isConsole()) {
+            // Avoids bursting slower / delayed clients
+            session.scheduleInEventLoop(this::processNextChunk, PACKET_SEND_DELAY, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Sends the next requested resource pack chunk.
+     *
+     * @param immediately whether the chunk should be flushed right away
+     * @return the amount of pack bytes sent, or -1 if no chunk was sent
+     */
+    public int sendNextChunk(boolean immediately) {
+        ResourcePackChunkRequestPacket packet = chunkRequestQueue.poll();
+        if (packet == null || session.isClosed()) {
+            return -1;
+        }
+
         ResourcePackHolder holder = this.resourcePackLoadEvent.getPacks().get(packet.getPackId());
         if (holder == null) {
             GeyserImpl.getInstance().getLogger().debug("Client {0} tried to request pack id {1} not sent to it!",
                 session.bedrockUsername(), packet.getPackId());
             chunkRequestQueue.clear();
             session.disconnect("disconnectionScreen.resourcePack");
-            return;
+            return -1;
         }
 
         PackCodec codec = holder.codec();
@@ -397,13 +422,13 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
             if (!resourcePackLoadEvent.value(holder.uuid(), ResourcePackOption.Type.FALLBACK, true)) {
                 session.disconnect("Unable to provide downloaded resource pack. Contact an administrator!");
                 chunkRequestQueue.clear();
-                return;
+                return -1;
             }
         } else if (finishedResourcePackSending) {
             GeyserImpl.getInstance().getLogger().warning("Received resource pack chunk packet after stage completed! " + packet);
             session.disconnect("Duplicate resource pack packet received!");
             chunkRequestQueue.clear();
-            return;
+            return -1;
         }
 
         ResourcePackChunkDataPacket data = new ResourcePackChunkDataPacket();
@@ -422,15 +447,14 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
         } catch (IOException e) {
             session.disconnect("disconnectionScreen.resourcePack");
             e.printStackTrace();
+            return -1;
         }
 
         data.setData(Unpooled.wrappedBuffer(packData));
 
-        if (isConsole()) {
+        if (immediately) {
             // Also flushes packets
-            // Avoids bursting slower / delayed clients
             session.sendUpstreamPacketImmediately(data);
-            session.scheduleInEventLoop(this::processNextChunk, PACKET_SEND_DELAY, TimeUnit.MILLISECONDS);
         } else {
             session.sendUpstreamPacket(data);
         }
@@ -439,6 +463,18 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
         if (remainingSize <= GeyserResourcePack.CHUNK_SIZE && !packsToSend.isEmpty()) {
             sendPackDataInfo(packsToSend.pop());
         }
+        return packData.length;
+    }
+
+    public boolean hasPendingChunkRequests() {
+        return !chunkRequestQueue.isEmpty();
+    }
+
+    public ResourcePackTransferScheduler.Transfer getPackTransfer() {
+        if (packTransfer == null) {
+            packTransfer = new ResourcePackTransferScheduler.Transfer(session, this);
+        }
+        return packTransfer;
     }
 
     private void sendPackDataInfo(String id) {
@@ -487,7 +523,7 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
         session.sendUpstreamPacket(data);
     }
 
-    private boolean isConsole() {
+    public boolean isConsole() {
         BedrockPlatform platform = session.platform();
         return platform == BedrockPlatform.PS4 || platform == BedrockPlatform.XBOX || platform == BedrockPlatform.NX;
     }
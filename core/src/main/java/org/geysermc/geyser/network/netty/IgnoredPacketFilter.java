@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.network.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelPipeline;
+import org.geysermc.geyser.metrics.PerformanceMetrics;
+import org.geysermc.geyser.registry.Registries;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.mcprotocollib.protocol.data.ProtocolState;
+
+/**
+ * Drops Java packets that Geyser has no use for - such as light updates - before MCProtocolLib decodes them.
+ * <p>
+ * Rather than depending on MCProtocolLib's packet IDs, this learns them: the first packet with a given ID is decoded
+ * as usual, and a handler after the codec checks whether its type can be skipped. From then on, packets with that ID are
+ * released as soon as their ID has been read. This only happens in the game state, where packet IDs don't change.
+ */
+public final class IgnoredPacketFilter extends ChannelInboundHandlerAdapter {
+    public static final String NAME = "geyser-ignored-packet-filter";
+    public static final String LEARNER_NAME = "geyser-ignored-packet-learner";
+    /**
+     * The name of MCProtocolLib's packet codec. Anything in front of it (such as decompression) has already run.
+     */
+    private static final String CODEC_NAME = "codec";
+
+    private static final byte UNKNOWN = 0;
+    private static final byte DECODE = 1;
+    private static final byte SKIP = 2;
+
+    private final GeyserSession session;
+    /**
+     * The amount of listeners on the downstream session when this filter was installed. If more are added
+     * (for example by an extension), they might want the packets we'd skip, so nothing is skipped anymore.
+     */
+    private final int expectedListeners;
+    private final byte[] verdicts = new byte[256];
+    /**
+     * The ID of the packet currently being decoded, if it doesn't have a verdict yet.
+     */
+    private int pendingId = -1;
+
+    private IgnoredPacketFilter(GeyserSession session, int expectedListeners) {
+        this.session = session;
+        this.expectedListeners = expectedListeners;
+    }
+
+    /**
+     * Adds the handler that learns which packet IDs can be skipped. The filter itself is added once the connection
+     * has reached the game state, so that it is placed after decompression, which is only set up during login.
+     */
+    public static void install(GeyserSession session, Channel channel) {
+        ChannelPipeline pipeline = channel.pipeline();
+        if (pipeline.get(CODEC_NAME) == null || pipeline.get(LEARNER_NAME) != null) {
+            session.getGeyser().getLogger().debug("Not skipping ignored Java packets as the downstream pipeline is not as expected: " + pipeline.names());
+            return;
+        }
+
+        IgnoredPacketFilter filter = new IgnoredPacketFilter(session, session.getDownstream().getSession().getListeners().size());
+        pipeline.addAfter(CODEC_NAME, LEARNER_NAME, filter.new Learner());
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        if (!(msg instanceof ByteBuf buf) || session.getProtocol().getInboundState() != ProtocolState.GAME) {
+            ctx.fireChannelRead(msg);
+            return;
+        }
+
+        int id = peekVarInt(buf);
+        if (id < 0 || id >= verdicts.length) {
+            ctx.fireChannelRead(msg);
+            return;
+        }
+
+        byte verdict = verdicts[id];
+        if (verdict == SKIP && session.getDownstream().getSession().getListeners().size() <= expectedListeners) {
+            PerformanceMetrics metrics = PerformanceMetrics.ifEnabled();
+            if (metrics != null) {
+                metrics.getDownstreamSkipped().recordPacket();
+                metrics.getDownstreamSkipped().recordBytes(buf.readableBytes());
+            }
+            buf.release();
+            return;
+        }
+
+        if (verdict == UNKNOWN) {
+            // The codec decodes this synchronously, so the learner sees the result before this returns
+            pendingId = id;
+        }
+        try {
+            ctx.fireChannelRead(msg);
+        } finally {
+            pendingId = -1;
+        }
+    }
+
+    /**
+     * @return the VarInt at the reader index without moving it, or -1 if it is incomplete or too large
+     */
+    private static int peekVarInt(ByteBuf buf) {
+        int value = 0;
+        int index = buf.readerIndex();
+        int end = Math.min(buf.writerIndex(), index + 5);
+        for (int shift = 0; index < end; shift += 7) {
+            byte b = buf.getByte(index++);
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        return -1;
+    }
+
+    private final class Learner extends ChannelInboundHandlerAdapter {
+        private boolean filterAdded;
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            if (pendingId != -1) {
+                verdicts[pendingId] = Registries.JAVA_PACKET_TRANSLATORS.canSkipDecoding(msg.getClass()) ? SKIP : DECODE;
+                pendingId = -1;
+            } else if (!filterAdded && session.getProtocol().getInboundState() == ProtocolState.GAME) {
+                filterAdded = true;
+                ctx.pipeline().addBefore(CODEC_NAME, NAME, IgnoredPacketFilter.this);
+            }
+            ctx.fireChannelRead(msg);
+        }
+    }
+}
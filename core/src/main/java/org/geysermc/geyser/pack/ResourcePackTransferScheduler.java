@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.pack;
+
+import io.netty.channel.Channel;
+import lombok.Getter;
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.network.UpstreamPacketHandler;
+import org.geysermc.geyser.session.GeyserSession;
+import org.jetbrains.annotations.VisibleForTesting;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Paces resource pack chunk sending across all sessions, so mass pack downloads (for example, after a restart)
+ * do not saturate the uplink and starve gameplay traffic of players that are already online.
+ * <p>
+ * Bandwidth is handed out from a global token bucket in a round-robin fashion, so each downloading session
+ * gets a fair share. Additionally, each session is paced individually: its send rate grows while the connection
+ * keeps up, and is halved once the RakNet round trip time rises well above its baseline or the channel
+ * stops being writable.
+ */
+public final class ResourcePackTransferScheduler {
+    private static final long TICK_MILLIS = 50;
+    /**
+     * The rate consoles were previously limited to - one chunk every four ticks.
+     */
+    private static final double CONSOLE_MAX_RATE = GeyserResourcePack.CHUNK_SIZE * (1000D / (4 * 50));
+    private static final double INITIAL_RATE = GeyserResourcePack.CHUNK_SIZE * 4D;
+    private static final double MIN_RATE = GeyserResourcePack.CHUNK_SIZE / 2D;
+    private static final double MAX_RATE = GeyserResourcePack.CHUNK_SIZE * 128D;
+
+    private final GeyserImpl geyser;
+    /**
+     * The global budget in bytes per second.
+     */
+    private final long bytesPerSecond;
+    private final long maxTokens;
+
+    private final Queue<Transfer> pending = new ConcurrentLinkedQueue<>();
+    /**
+     * Only accessed on the scheduler thread.
+     */
+    private final Deque<Transfer> active = new ArrayDeque<>();
+    /**
+     * Tokens that were reserved for a chunk but not used up, e.g. because the final chunk of a pack was smaller.
+     */
+    private final AtomicLong refunds = new AtomicLong();
+    @Getter
+    private final AtomicLong bytesSent = new AtomicLong();
+
+    private long tokens;
+    private long lastRefill;
+    private ScheduledFuture<?> future;
+
+    public ResourcePackTransferScheduler(GeyserImpl geyser, int kilobytesPerSecond) {
+        this.geyser = geyser;
+        this.bytesPerSecond = Math.max(0, kilobytesPerSecond) * 1024L;
+        // Allow bursting a quarter of a second, but always at least one chunk so small budgets still progress
+        this.maxTokens = Math.max(GeyserResourcePack.CHUNK_SIZE, this.bytesPerSecond / 4);
+    }
+
+    /**
+     * @return if pack chunks should be routed through this scheduler. If not, chunks are sent as soon as they are requested.
+     */
+    public boolean isEnabled() {
+        return bytesPerSecond > 0;
+    }
+
+    public void start() {
+        if (!isEnabled()) {
+            return;
+        }
+        reset(System.nanoTime());
+        this.future = geyser.getScheduledThread().scheduleAtFixedRate(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        if (future != null) {
+            future.cancel(false);
+            future = null;
+        }
+        pending.clear();
+    }
+
+    @VisibleForTesting
+    void reset(long now) {
+        this.tokens = maxTokens;
+        this.lastRefill = now;
+    }
+
+    /**
+     * @return the bytes that can currently be sent, which can be negative after bursting
+     */
+    @VisibleForTesting
+    long tokens() {
+        return tokens;
+    }
+
+    /**
+     * Marks this handler as having chunk requests that are waiting to be sent.
+     */
+    public void submit(UpstreamPacketHandler handler) {
+        Transfer transfer = handler.getPackTransfer();
+        if (transfer.queued.compareAndSet(false, true)) {
+            pending.add(transfer);
+        }
+    }
+
+    private void tick() {
+        tick(System.nanoTime());
+    }
+
+    @VisibleForTesting
+    void tick(long now) {
+        try {
+            long refill = bytesPerSecond * (now - lastRefill) / TimeUnit.SECONDS.toNanos(1);
+            if (refill > 0) {
+                tokens = Math.min(maxTokens, tokens + refill);
+                lastRefill = now;
+            }
+            tokens = Math.min(maxTokens, tokens + refunds.getAndSet(0));
+
+            Transfer transfer;
+            while ((transfer = pending.poll()) != null) {
+                active.add(transfer);
+            }
+
+            boolean granted = true;
+            while (granted && tokens > 0 && !active.isEmpty()) {
+                granted = false;
+                // One round: every transfer gets at most one chunk
+                int size = active.size();
+                for (int i = 0; i < size && tokens > 0; i++) {
+                    transfer = active.poll();
+                    if (transfer.session.isClosed()) {
+                        transfer.queued.set(false);
+                        continue;
+                    }
+                    if (!transfer.handler.hasPendingChunkRequests() && !transfer.inFlight) {
+                        transfer.queued.set(false);
+                        // Re-check to not lose a request that arrived between the two checks
+                        if (!transfer.handler.hasPendingChunkRequests() || !transfer.queued.compareAndSet(false, true)) {
+                            continue;
+                        }
+                    }
+                    if (!transfer.inFlight && transfer.tryAcquire(now)) {
+                        tokens -= GeyserResourcePack.CHUNK_SIZE;
+                        granted = true;
+                        send(transfer);
+                    }
+                    active.add(transfer);
+                }
+            }
+        } catch (Throwable t) {
+            geyser.getLogger().error("Error while scheduling resource pack chunks", t);
+        }
+    }
+
+    private void send(Transfer transfer) {
+        transfer.inFlight = true;
+        transfer.session.executeInEventLoop(() -> {
+            int sent = 0;
+            try {
+                sent = Math.max(0, transfer.handler.sendNextChunk(true));
+            } finally {
+                bytesSent.addAndGet(sent);
+                refunds.addAndGet(GeyserResourcePack.CHUNK_SIZE - sent);
+                transfer.inFlight = false;
+            }
+        });
+    }
+
+    /**
+     * The pacing state of a single session's pack download.
+     */
+    public static final class Transfer {
+        private final GeyserSession session;
+        private final UpstreamPacketHandler handler;
+        private final AtomicBoolean queued = new AtomicBoolean();
+        private final double maxRate;
+        private volatile boolean inFlight;
+
+        /**
+         * The current send rate of this session, in bytes per second.
+         */
+        private double rate = INITIAL_RATE;
+        private int baselinePing = Integer.MAX_VALUE;
+        private long nextSend;
+
+        public Transfer(GeyserSession session, UpstreamPacketHandler handler) {
+            this.session = session;
+            this.handler = handler;
+            // Avoid overloading consoles when downloading larger resource packs
+            this.maxRate = handler.isConsole() ? CONSOLE_MAX_RATE : MAX_RATE;
+            this.rate = Math.min(rate, maxRate);
+        }
+
+        /**
+         * Adjusts the send rate based on the latest connection feedback, and returns if a chunk may be sent now.
+         */
+        private boolean tryAcquire(long now) {
+            if (now - nextSend < 0) {
+                return false;
+            }
+
+            int ping = session.ping();
+            if (ping > 0) {
+                baselinePing = Math.min(baselinePing, ping);
+            }
+            Channel channel = session.getUpstream().getSession().getPeer().getChannel();
+            boolean congested = !channel.isWritable() || (ping > 0 && ping > baselinePing * 2 + 50);
+            if (congested) {
+                rate = Math.max(MIN_RATE, rate / 2);
+            } else {
+                rate = Math.min(maxRate, rate + GeyserResourcePack.CHUNK_SIZE);
+            }
+
+            nextSend = now + (long) (GeyserResourcePack.CHUNK_SIZE / rate * TimeUnit.SECONDS.toNanos(1));
+            return true;
+        }
+    }
+}
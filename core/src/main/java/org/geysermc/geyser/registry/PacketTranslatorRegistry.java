@@ -28,11 +28,11 @@ package org.geysermc.geyser.registry;
 import org.cloudburstmc.protocol.bedrock.packet.ServerboundDiagnosticsPacket;
 import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.ClientboundDelimiterPacket;
 import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.ClientboundTabListPacket;
-import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.level.ClientboundChunkBatchStartPacket;
 import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.level.ClientboundLightUpdatePacket;
-import io.netty.channel.EventLoop;
 import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.erosion.ErosionCancellationException;
+import org.geysermc.geyser.metrics.EventLoopWatchdog;
+import org.geysermc.geyser.metrics.PerformanceMetrics;
 import org.geysermc.geyser.registry.loader.RegistryLoaders;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.text.GeyserLocale;
@@ -46,7 +46,6 @@ public class PacketTranslatorRegistry<T> extends AbstractMappedRegistry<Class<?
     private static final Set<Class<?>> IGNORED_PACKETS = Collections.newSetFromMap(new IdentityHashMap<>());
 
     static {
-        IGNORED_PACKETS.add(ClientboundChunkBatchStartPacket.class); // we don't track chunk batch sizes/periods
         IGNORED_PACKETS.add(ClientboundDelimiterPacket.class); // Not implemented, spams logs
         IGNORED_PACKETS.add(ClientboundLightUpdatePacket.class); // Light is handled on Bedrock for us
         IGNORED_PACKETS.add(ClientboundTabListPacket.class); // Cant be implemented in Bedrock
@@ -65,11 +64,10 @@ public class PacketTranslatorRegistry<T> extends AbstractMappedRegistry<Class<?
 
         PacketTranslator<P> translator = (PacketTranslator<P>) this.mappings.get(clazz);
         if (translator != null) {
-            EventLoop eventLoop = session.getTickEventLoop();
-            if (canRunImmediately || !translator.shouldExecuteInEventLoop() || eventLoop.inEventLoop()) {
+            if (canRunImmediately || !translator.shouldExecuteInEventLoop() || session.isInEventLoop()) {
                 translate0(session, translator, packet);
             } else {
-                eventLoop.execute(() -> translate0(session, translator, packet));
+                session.executeInEventLoop(() -> translate0(session, translator, packet));
             }
             return true;
         } else {
@@ -88,6 +86,12 @@ public class PacketTranslatorRegistry<T> extends AbstractMappedRegistry<Class<?
             return;
         }
 
+        PerformanceMetrics metrics = PerformanceMetrics.ifEnabled();
+        EventLoopWatchdog watchdog = EventLoopWatchdog.ifEnabled();
+        if (watchdog != null) {
+            watchdog.enter(EventLoopWatchdog.Kind.TRANSLATOR, packet.getClass());
+        }
+        long start = metrics == null ? 0 : System.nanoTime();
         try {
             translator.translate(session, packet);
         } catch (ErosionCancellationException ex) {
@@ -95,9 +99,23 @@ public class PacketTranslatorRegistry<T> extends AbstractMappedRegistry<Class<?
         } catch (Throwable ex) {
             GeyserImpl.getInstance().getLogger().error(GeyserLocale.getLocaleStringLog("geyser.network.translator.packet.failed", packet.getClass().getSimpleName()), ex);
             ex.printStackTrace();
+        } finally {
+            if (metrics != null) {
+                metrics.recordTranslation(packet.getClass(), System.nanoTime() - start);
+            }
+            if (watchdog != null) {
+                watchdog.exit();
+            }
         }
     }
 
+    /**
+     * @return whether packets of this type do not need to be decoded at all, as nothing translates them
+     */
+    public boolean canSkipDecoding(Class<?> clazz) {
+        return IGNORED_PACKETS.contains(clazz) && !this.mappings.containsKey(clazz);
+    }
+
     public static <T> PacketTranslatorRegistry<T> create() {
         return new PacketTranslatorRegistry<>();
     }
@@ -67,6 +67,7 @@ import org.geysermc.geyser.registry.populator.conversion.Conversion827_819;
 import org.geysermc.geyser.registry.populator.conversion.Conversion844_827;
 import org.geysermc.geyser.registry.type.BlockMappings;
 import org.geysermc.geyser.registry.type.GeyserBedrockBlock;
+import org.geysermc.geyser.translator.level.block.entity.BedrockChunkWantsBlockEntityTag;
 import org.geysermc.geyser.util.JsonUtils;
 
 import java.io.DataInputStream;
@@ -424,10 +425,32 @@ public final class BlockRegistryPopulator {
                     .blockProperties(customBlockProperties)
                     .customBlockStateDefinitions(customBlockStateDefinitions)
                     .extendedCollisionBoxes(extendedCollisionBoxes)
+                    .chunkStates(createChunkStates(javaToBedrockBlocks, extendedCollisionBoxes))
                     .build());
         }
     }
 
+    private static long[] createChunkStates(GeyserBedrockBlock[] javaToBedrockBlocks, Int2ObjectMap<GeyserBedrockBlock> extendedCollisionBoxes) {
+        BitSet waterlogged = BlockRegistries.WATERLOGGED.get();
+        long[] chunkStates = new long[javaToBedrockBlocks.length];
+        for (int javaId = 0; javaId < chunkStates.length; javaId++) {
+            long chunkState = javaToBedrockBlocks[javaId].getRuntimeId() & 0xFFFFFFFFL;
+
+            GeyserBedrockBlock extendedCollision = extendedCollisionBoxes.get(javaId);
+            if (extendedCollision != null) {
+                chunkState |= (extendedCollision.getRuntimeId() + 1L) << 32;
+            }
+            if (waterlogged.get(javaId)) {
+                chunkState |= BlockMappings.CHUNK_STATE_WATERLOGGED;
+            }
+            if (BlockState.of(javaId).block() instanceof BedrockChunkWantsBlockEntityTag) {
+                chunkState |= BlockMappings.CHUNK_STATE_BEDROCK_BLOCK_ENTITY;
+            }
+            chunkStates[javaId] = chunkState;
+        }
+        return chunkStates;
+    }
+
     private static void registerJavaBlocks() {
         List<NbtMap> blocksNbt;
         try (InputStream stream = GeyserImpl.getInstance().getBootstrap().getResourceOrThrow("mappings/blocks.nbt")) {
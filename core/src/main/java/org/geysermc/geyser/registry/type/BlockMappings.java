@@ -46,6 +46,15 @@ import java.util.Set;
 @Builder
 @Value
 public class BlockMappings implements DefinitionRegistry<BlockDefinition> {
+    /**
+     * Set in a chunk state if the Java block state is waterlogged.
+     */
+    public static final long CHUNK_STATE_WATERLOGGED = 1L << 62;
+    /**
+     * Set in a chunk state if the Java block state needs a block entity on Bedrock only.
+     */
+    public static final long CHUNK_STATE_BEDROCK_BLOCK_ENTITY = 1L << 63;
+
     GeyserBedrockBlock bedrockAir;
     BlockDefinition bedrockWater;
     BlockDefinition bedrockMovingBlock;
@@ -79,6 +88,13 @@ public class BlockMappings implements DefinitionRegistry<BlockDefinition> {
     Object2ObjectMap<CustomBlockState, GeyserBedrockBlock> customBlockStateDefinitions;
     Int2ObjectMap<GeyserBedrockBlock> extendedCollisionBoxes;
 
+    /**
+     * Java block state -> everything chunk translation needs to know about that state, packed into one long:
+     * the Bedrock runtime ID in the lower 32 bits, the extended collision runtime ID plus one in the next 30 bits,
+     * and the {@link #CHUNK_STATE_WATERLOGGED} and {@link #CHUNK_STATE_BEDROCK_BLOCK_ENTITY} flags.
+     */
+    long[] chunkStates;
+
     public int getBedrockBlockId(int javaState) {
         return getBedrockBlock(javaState).getRuntimeId();
     }
@@ -90,6 +106,32 @@ public class BlockMappings implements DefinitionRegistry<BlockDefinition> {
         return this.javaToBedrockBlocks[javaState];
     }
 
+    public long getChunkState(int javaState) {
+        if (javaState < 0 || javaState >= this.chunkStates.length) {
+            return this.chunkStates[Block.JAVA_AIR_ID];
+        }
+        return this.chunkStates[javaState];
+    }
+
+    public static int chunkStateRuntimeId(long chunkState) {
+        return (int) chunkState;
+    }
+
+    /**
+     * @return the runtime ID of the extended collision block to place above this state, or -1 if there is none
+     */
+    public static int chunkStateExtendedCollision(long chunkState) {
+        return (int) ((chunkState >>> 32) & 0x3FFFFFFF) - 1;
+    }
+
+    public static boolean isChunkStateWaterlogged(long chunkState) {
+        return (chunkState & CHUNK_STATE_WATERLOGGED) != 0;
+    }
+
+    public static boolean chunkStateWantsBlockEntity(long chunkState) {
+        return (chunkState & CHUNK_STATE_BEDROCK_BLOCK_ENTITY) != 0;
+    }
+
     public GeyserBedrockBlock getBedrockBlock(BlockState javaState) {
         return this.getBedrockBlock(javaState.javaId());
     }
@@ -91,14 +91,12 @@ public final class Objective {
 
         if (!Objects.equals(this.numberFormat, format)) {
             this.numberFormat = format;
-            // update the number format for scores that are following this objective's number format,
-            // but only if the objective itself doesn't need to be updated.
-            // When the objective itself has to update all scores are updated anyway
-            if (!changed) {
-                for (ScoreReference score : scores.values()) {
-                    if (score.numberFormat() == null) {
-                        score.markChanged();
-                    }
+            // update the number format for scores that are following this objective's number format.
+            // This is needed even if the objective itself is updated, since re-sending the objective
+            // re-sends the scores as they were last rendered
+            for (ScoreReference score : scores.values()) {
+                if (score.numberFormat() == null) {
+                    score.markChanged();
                 }
             }
         }
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.scoreboard;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import org.cloudburstmc.protocol.bedrock.data.ScoreInfo;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Keeps track of the score entries that the Bedrock client currently knows about, so that every update window only
+ * sends the entries that actually changed. Display slots tend to re-send a score as soon as anything about it may have
+ * changed (e.g. a team or the order of the sidebar), which for animated sidebars results in a lot of remove-and-re-add
+ * pairs for lines that look exactly the same as before.
+ */
+public final class ScoreDiff {
+    private final Long2ObjectMap<ScoreInfo> sent = new Long2ObjectOpenHashMap<>();
+
+    /**
+     * Removes the entries from the given lists that wouldn't change anything on the client, and remembers the
+     * remaining ones as sent.
+     */
+    public synchronized void apply(List<ScoreInfo> addScores, List<ScoreInfo> removeScores) {
+        LongSet unchanged = new LongOpenHashSet();
+        addScores.removeIf(info -> {
+            if (isSame(sent.get(info.getScoreboardId()), info)) {
+                unchanged.add(info.getScoreboardId());
+                return true;
+            }
+            return false;
+        });
+
+        LongSet removed = new LongOpenHashSet();
+        removeScores.removeIf(info -> {
+            long id = info.getScoreboardId();
+            if (unchanged.contains(id) || !removed.add(id)) {
+                return true;
+            }
+            // the client doesn't know about this score, or no longer knows about it because its objective was removed
+            return sent.remove(id) == null;
+        });
+
+        for (ScoreInfo info : addScores) {
+            sent.put(info.getScoreboardId(), info);
+        }
+    }
+
+    /**
+     * Should be called when an objective is removed from the client, as that removes all of its scores as well.
+     */
+    public synchronized void objectiveRemoved(String objectiveId) {
+        sent.values().removeIf(info -> info.getObjectiveId().equals(objectiveId));
+    }
+
+    private static boolean isSame(ScoreInfo previous, ScoreInfo current) {
+        return previous != null &&
+            previous.getScore() == current.getScore() &&
+            previous.getType() == current.getType() &&
+            previous.getEntityId() == current.getEntityId() &&
+            Objects.equals(previous.getName(), current.getName()) &&
+            previous.getObjectiveId().equals(current.getObjectiveId());
+    }
+}
@@ -26,6 +26,7 @@
 package org.geysermc.geyser.scoreboard;
 
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArraySet;
 import lombok.Getter;
 import net.kyori.adventure.text.Component;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -101,6 +102,14 @@ public final class Scoreboard {
      */
     @Getter
     private final Map<String, Team> playerToTeam = new Object2ObjectOpenHashMap<>();
+    /**
+     * All spawned entities by their team identifier. Together with {@link #playerToTeam} this allows team changes to
+     * only look at the entities of the members that changed, instead of at every entity that is currently spawned.
+     * Multiple entities can share an identifier, e.g. players with the same username.
+     */
+    private final Map<String, Set<Entity>> entitiesByTeamIdentifier = new Object2ObjectOpenHashMap<>();
+
+    private final ScoreDiff scoreDiff = new ScoreDiff();
 
     private final AtomicBoolean updateLockActive = new AtomicBoolean(false);
     private int lastAddScoreCount = 0;
@@ -233,6 +242,9 @@ public final class Scoreboard {
         handleDisplaySlot(correctSidebarSlot, addScores, removeScores);
         handleDisplaySlot(objectiveSlots.get(ScoreboardPosition.BELOW_NAME), addScores, removeScores);
 
+        // only send the entries that differ from what the client currently shows
+        scoreDiff.apply(addScores, removeScores);
+
         if (!removeScores.isEmpty()) {
             SetScorePacket packet = new SetScorePacket();
             packet.setAction(SetScorePacket.Action.REMOVE);
@@ -313,19 +325,63 @@ public final class Scoreboard {
     }
 
     public void entityRegistered(Entity entity) {
-        var team = getTeamFor(entity.teamIdentifier());
+        String identifier = entity.teamIdentifier();
+        if (identifier != null) {
+            entitiesByTeamIdentifier.computeIfAbsent(identifier, $ -> new ObjectArraySet<>(1)).add(entity);
+        }
+
+        var team = getTeamFor(identifier);
         if (team != null) {
             team.onEntitySpawn(entity);
         }
     }
 
     public void entityRemoved(Entity entity) {
-        var team = getTeamFor(entity.teamIdentifier());
+        String identifier = entity.teamIdentifier();
+        if (identifier != null) {
+            Set<Entity> entities = entitiesByTeamIdentifier.get(identifier);
+            if (entities != null && entities.remove(entity) && entities.isEmpty()) {
+                entitiesByTeamIdentifier.remove(identifier);
+            }
+        }
+
+        var team = getTeamFor(identifier);
         if (team != null) {
             team.onEntityRemove(entity);
         }
     }
 
+    /**
+     * Moves a spawned entity to its new team identifier, e.g. when a player's username is changed after it spawned.
+     * Entities that aren't tracked under the previous identifier are ignored.
+     */
+    public void teamIdentifierChanged(Entity entity, @Nullable String previousIdentifier) {
+        if (previousIdentifier == null) {
+            return;
+        }
+        Set<Entity> entities = entitiesByTeamIdentifier.get(previousIdentifier);
+        if (entities == null || !entities.remove(entity)) {
+            return;
+        }
+        if (entities.isEmpty()) {
+            entitiesByTeamIdentifier.remove(previousIdentifier);
+        }
+
+        var previousTeam = getTeamFor(previousIdentifier);
+        if (previousTeam != null) {
+            previousTeam.onEntityRemove(entity);
+        }
+        entityRegistered(entity);
+    }
+
+    /**
+     * @return the spawned entities that would be part of the team that the given identifier is a member of
+     */
+    public Set<Entity> entitiesFor(String teamIdentifier) {
+        Set<Entity> entities = entitiesByTeamIdentifier.get(teamIdentifier);
+        return entities != null ? entities : Collections.emptySet();
+    }
+
     public void setTeamFor(Team team, Set<String> entities) {
         for (DisplaySlot slot : objectiveSlots.values()) {
             // only sidebar slots use teams
@@ -335,10 +391,25 @@ public final class Scoreboard {
         }
     }
 
+    /**
+     * @return how many scores and team members this scoreboard holds, for rough memory estimates
+     */
+    public int entryCount() {
+        int entries = playerToTeam.size();
+        for (Objective objective : objectives.values()) {
+            entries += objective.getScores().size();
+        }
+        return entries;
+    }
+
     public long nextId() {
         return nextId.getAndIncrement();
     }
 
+    public ScoreDiff scoreDiff() {
+        return scoreDiff;
+    }
+
     public GeyserSession session() {
         return session;
     }
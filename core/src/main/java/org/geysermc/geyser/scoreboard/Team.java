@@ -91,7 +91,7 @@ public final class Team {
                     // Java 1.19.3 Mojmap: Scoreboard#addPlayerToTeam calls #removePlayerFromTeam
                     oldTeam.entities.remove(player);
                     // also remove the managed entity if there is one
-                    removeManagedEntity(player);
+                    oldTeam.removeManagedEntity(player);
                 }
                 return this;
             });
@@ -249,8 +249,8 @@ public final class Team {
         }
         boolean containsSelf = names.contains(playerName());
 
-        for (Entity entity : session().getEntityCache().getEntities().values()) {
-            if (names.contains(entity.teamIdentifier())) {
+        for (String name : names) {
+            for (Entity entity : scoreboard.entitiesFor(name)) {
                 managedEntities.add(entity);
                 if (!containsSelf) {
                     entity.updateNametag(this);
@@ -267,12 +267,9 @@ public final class Team {
     private void removeRemovedEntities(Set<String> names) {
         boolean containsSelf = names.contains(playerName());
 
-        var iterator = managedEntities.iterator();
-        while (iterator.hasNext()) {
-            var entity = iterator.next();
-            if (names.contains(entity.teamIdentifier())) {
-                iterator.remove();
-                if (!containsSelf) {
+        for (String name : names) {
+            for (Entity entity : scoreboard.entitiesFor(name)) {
+                if (managedEntities.remove(entity) && !containsSelf) {
                     entity.updateNametag(null);
                     entity.updateBedrockMetadata();
                 }
@@ -290,7 +287,9 @@ public final class Team {
      * which will fire the correct nametag updates etc.
      */
     private void removeManagedEntity(String name) {
-        managedEntities.removeIf(entity -> name.equals(entity.teamIdentifier()));
+        for (Entity entity : scoreboard.entitiesFor(name)) {
+            managedEntities.remove(entity);
+        }
     }
 
     private void refreshAllEntities() {
@@ -26,6 +26,7 @@
 package org.geysermc.geyser.scoreboard.display.slot;
 
 import java.util.List;
+import java.util.Objects;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.cloudburstmc.protocol.bedrock.data.ScoreInfo;
 import org.cloudburstmc.protocol.bedrock.packet.RemoveObjectivePacket;
@@ -35,6 +36,8 @@ import org.geysermc.geyser.scoreboard.Objective;
 import org.geysermc.geyser.scoreboard.ScoreReference;
 import org.geysermc.geyser.scoreboard.UpdateType;
 import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.mcprotocollib.protocol.data.game.chat.numbers.NumberFormat;
+import org.geysermc.mcprotocollib.protocol.data.game.scoreboard.ScoreType;
 import org.geysermc.mcprotocollib.protocol.data.game.scoreboard.ScoreboardPosition;
 import org.geysermc.mcprotocollib.protocol.data.game.scoreboard.TeamColor;
 
@@ -51,6 +54,13 @@ public abstract class DisplaySlot {
     protected final String positionName;
 
     protected UpdateType updateType = UpdateType.ADD;
+    /**
+     * The objective properties that were last sent to the client, used to skip re-sending an objective that looks
+     * the same. The type and number format are included because they change how all scores are rendered.
+     */
+    private String sentDisplayName;
+    private ScoreType sentType;
+    private NumberFormat sentNumberFormat;
 
     public DisplaySlot(GeyserSession session, Objective objective, ScoreboardPosition slot) {
         this.session = session;
@@ -65,9 +75,21 @@ public abstract class DisplaySlot {
         if (updateType == UpdateType.REMOVE) {
             return;
         }
+        if (updateType == UpdateType.UPDATE && isSentObjectiveCurrent()) {
+            // e.g. an animated title that went back to its previous frame before we got to render it,
+            // or a change to a property that Bedrock doesn't show
+            updateType = UpdateType.NOTHING;
+        }
         render0(addScores, removeScores);
     }
 
+    private boolean isSentObjectiveCurrent() {
+        return sentDisplayName != null &&
+            sentDisplayName.equals(objective.getDisplayName()) &&
+            sentType == objective.getType() &&
+            Objects.equals(sentNumberFormat, objective.getNumberFormat());
+    }
+
     protected abstract void render0(List<ScoreInfo> addScores, List<ScoreInfo> removeScores);
 
     public abstract void addScore(ScoreReference reference);
@@ -94,12 +116,20 @@ public abstract class DisplaySlot {
         packet.setDisplaySlot(positionName);
         packet.setSortOrder(1); // 0 = ascending, 1 = descending
         session.sendUpstreamPacket(packet);
+        sentDisplayName = objective.getDisplayName();
+        sentType = objective.getType();
+        sentNumberFormat = objective.getNumberFormat();
     }
 
     protected void sendRemoveObjective() {
         RemoveObjectivePacket packet = new RemoveObjectivePacket();
         packet.setObjectiveId(objectiveId());
         session.sendUpstreamPacket(packet);
+        sentDisplayName = null;
+        sentType = null;
+        sentNumberFormat = null;
+        // removing an objective also removes all of its scores
+        objective.getScoreboard().scoreDiff().objectiveRemoved(objectiveId());
     }
 
     public Objective objective() {
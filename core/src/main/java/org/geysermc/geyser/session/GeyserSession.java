@@ -28,6 +28,7 @@ package org.geysermc.geyser.session;
 import com.google.gson.JsonObject;
 import io.netty.channel.Channel;
 import io.netty.channel.EventLoop;
+import io.netty.util.internal.PlatformDependent;
 import it.unimi.dsi.fastutil.Pair;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
@@ -130,7 +131,6 @@ import org.geysermc.geyser.entity.GeyserEntityData;
 import org.geysermc.geyser.entity.attribute.GeyserAttributeType;
 import org.geysermc.geyser.entity.type.BoatEntity;
 import org.geysermc.geyser.entity.type.Entity;
-import org.geysermc.geyser.entity.type.ItemFrameEntity;
 import org.geysermc.geyser.entity.type.Tickable;
 import org.geysermc.geyser.entity.type.player.PlayerEntity;
 import org.geysermc.geyser.entity.type.player.SessionPlayerEntity;
@@ -142,6 +142,7 @@ import org.geysermc.geyser.event.type.SessionDisconnectEventImpl;
 import org.geysermc.geyser.impl.camera.CameraDefinitions;
 import org.geysermc.geyser.impl.camera.GeyserCameraData;
 import org.geysermc.geyser.input.InputLocksFlag;
+import org.geysermc.geyser.inventory.GeyserItemStack;
 import org.geysermc.geyser.inventory.Inventory;
 import org.geysermc.geyser.inventory.InventoryHolder;
 import org.geysermc.geyser.inventory.LecternContainer;
@@ -154,6 +155,8 @@ import org.geysermc.geyser.item.type.BlockItem;
 import org.geysermc.geyser.level.BedrockDimension;
 import org.geysermc.geyser.level.JavaDimension;
 import org.geysermc.geyser.level.physics.CollisionManager;
+import org.geysermc.geyser.metrics.EventLoopWatchdog;
+import org.geysermc.geyser.metrics.PerformanceMetrics;
 import org.geysermc.geyser.network.GameProtocol;
 import org.geysermc.geyser.network.netty.LocalSession;
 import org.geysermc.geyser.registry.Registries;
@@ -166,11 +169,15 @@ import org.geysermc.geyser.session.cache.BlockBreakHandler;
 import org.geysermc.geyser.session.cache.BookEditCache;
 import org.geysermc.geyser.session.cache.BundleCache;
 import org.geysermc.geyser.session.cache.ChunkCache;
+import org.geysermc.geyser.session.cache.ChunkSendQueue;
 import org.geysermc.geyser.session.cache.EntityCache;
 import org.geysermc.geyser.session.cache.EntityEffectCache;
 import org.geysermc.geyser.session.cache.FormCache;
 import org.geysermc.geyser.session.cache.InputCache;
+import org.geysermc.geyser.session.cache.InventorySlotCache;
+import org.geysermc.geyser.session.cache.ItemFrameCache;
 import org.geysermc.geyser.session.cache.LodestoneCache;
+import org.geysermc.geyser.session.cache.ParticleLimiter;
 import org.geysermc.geyser.session.cache.PistonCache;
 import org.geysermc.geyser.session.cache.PreferencesCache;
 import org.geysermc.geyser.session.cache.RegistryCache;
@@ -249,19 +256,58 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 @Getter
 public class GeyserSession implements GeyserConnection, GeyserCommandSource {
 
+    /**
+     * See https://learn.microsoft.com/en-us/minecraft/creator/documents/experimentalfeaturestoggle for info on each experiment
+     */
+    private static final List<ExperimentData> EXPERIMENTS = List.of(
+        // data_driven_items (Holiday Creator Features) is needed for blocks and items
+        new ExperimentData("data_driven_items", true),
+        // Needed for block properties for states
+        new ExperimentData("upcoming_creator_features", true),
+        // Needed for certain molang queries used in blocks and items
+        new ExperimentData("experimental_molang_features", true)
+    );
+    /**
+     * Enables 2025 Content Drop 3 features on 1.21.100
+     */
+    private static final List<ExperimentData> EXPERIMENTS_1_21_100 = Stream.concat(
+        EXPERIMENTS.stream(), Stream.of(new ExperimentData("y_2025_drop_3", true))
+    ).toList();
+
     private final GeyserImpl geyser;
     private final UpstreamSession upstream;
     private DownstreamSession downstream;
     /**
      * The loop where all packets and ticking is processed to prevent concurrency issues.
-     * If this is manually called, ensure that any exceptions are properly handled.
+     * This can change if the session is moved to a less busy loop; see {@link #migrateEventLoop(EventLoop)}.
+     */
+    @Getter(AccessLevel.NONE)
+    private final SessionEventLoop eventLoop;
+    /**
+     * How long this session has kept its event loop busy in total, in nanoseconds.
+     */
+    private volatile long eventLoopBusyNanos;
+    /**
+     * Java packets waiting to be handled on this session's event loop. The downstream connection fills this queue and
+     * the event loop drains it in batches, so a flood of packets (such as chunks while joining) doesn't turn into one
+     * event loop task and wakeup per packet.
      */
-    private final EventLoop tickEventLoop;
+    @Getter(AccessLevel.NONE)
+    private final Queue<Runnable> pendingPacketTasks = PlatformDependent.newMpscQueue();
+    /**
+     * Whether a task to drain {@link #pendingPacketTasks} has been submitted and has not finished yet.
+     */
+    @Getter(AccessLevel.NONE)
+    private final AtomicBoolean packetDrainScheduled = new AtomicBoolean();
+    @Getter(AccessLevel.NONE)
+    private final Runnable packetDrainTask = this::drainPacketTasks;
     @Setter
     private AuthData authData;
     private BedrockClientData clientData;
@@ -287,11 +333,14 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
     private final BookEditCache bookEditCache;
     private final BundleCache bundleCache;
     private final ChunkCache chunkCache;
+    private final ChunkSendQueue chunkSendQueue;
     private final EntityCache entityCache;
     private final EntityEffectCache effectCache;
     private final FormCache formCache;
     private final InputCache inputCache;
+    private final InventorySlotCache inventorySlotCache;
     private final LodestoneCache lodestoneCache;
+    private final ParticleLimiter particleLimiter;
     private final PistonCache pistonCache;
     private final PreferencesCache preferencesCache;
     private final RegistryCache registryCache;
@@ -389,11 +438,7 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
     @Setter
     private ItemMappings itemMappings;
 
-    /**
-     * A map of Vector3i positions to Java entities.
-     * Used for translating Bedrock block actions to Java entity actions.
-     */
-    private final Map<Vector3i, ItemFrameEntity> itemFrameCache = new Object2ObjectOpenHashMap<>();
+    private final ItemFrameCache itemFrameCache;
 
     /**
      * A map of all players (and their heads) that are wearing a player head with a custom texture.
@@ -689,9 +734,14 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
     /**
      * Whether advanced tooltips will be added to the player's items.
      */
-    @Setter
     private boolean advancedTooltips = false;
 
+    /**
+     * Incremented whenever session state that item translation depends on changes, such as attributes, tags or
+     * advanced tooltips. Used to invalidate the Bedrock item data memoized on each {@link GeyserItemStack}.
+     */
+    private int itemTranslationEpoch;
+
     /**
      * The thread that will run every game tick.
      */
@@ -773,7 +823,7 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
     public GeyserSession(GeyserImpl geyser, BedrockServerSession bedrockServerSession, EventLoop tickEventLoop) {
         this.geyser = geyser;
         this.upstream = new UpstreamSession(bedrockServerSession);
-        this.tickEventLoop = tickEventLoop;
+        this.eventLoop = new SessionEventLoop(tickEventLoop);
 
         this.erosionHandler = new GeyserboundHandshakePacketHandler(this);
 
@@ -781,11 +831,15 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
         this.bookEditCache = new BookEditCache(this);
         this.bundleCache = new BundleCache(this);
         this.chunkCache = new ChunkCache(this);
+        this.chunkSendQueue = new ChunkSendQueue(this);
         this.entityCache = new EntityCache(this);
         this.effectCache = new EntityEffectCache();
         this.formCache = new FormCache(this);
         this.inputCache = new InputCache(this);
+        this.inventorySlotCache = new InventorySlotCache(this);
         this.lodestoneCache = new LodestoneCache();
+        this.particleLimiter = new ParticleLimiter(this);
+        this.itemFrameCache = new ItemFrameCache(this);
         this.pistonCache = new PistonCache(this);
         this.preferencesCache = new PreferencesCache(this);
         this.registryCache = new RegistryCache(this);
@@ -1073,19 +1127,20 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
         this.remoteServer = this.geyser.platformType() == PlatformType.STANDALONE ? loginEvent.remoteServer() : remoteServer;
 
         // Start ticking
-        tickThread = tickEventLoop.scheduleAtFixedRate(this::tick, nanosecondsPerTick, nanosecondsPerTick, TimeUnit.NANOSECONDS);
+        tickThread = getTickEventLoop().scheduleAtFixedRate(this::runTick, nanosecondsPerTick, nanosecondsPerTick, TimeUnit.NANOSECONDS);
 
         ClientSession downstream;
         if (geyser.getBootstrap().getSocketAddress() != null) {
             // We're going to connect through the JVM and not through TCP
+            // Use our own event loop for the connection too, so packets don't need to be passed between threads
             downstream = new LocalSession(geyser.getBootstrap().getSocketAddress(),
                 upstream.getAddress().getAddress().getHostAddress(),
-                this.protocol, this.tickEventLoop);
+                this.protocol, this::executePacketHandler, getTickEventLoop());
             downstream.setFlag(MinecraftConstants.CLIENT_HOST, this.remoteServer.address());
             downstream.setFlag(MinecraftConstants.CLIENT_PORT, this.remoteServer.port());
             this.downstream = new DownstreamSession(downstream);
         } else {
-            downstream = new ClientNetworkSession(new InetSocketAddress(this.remoteServer.address(), this.remoteServer.port()), this.protocol, tickEventLoop, null, null);
+            downstream = new ClientNetworkSession(new InetSocketAddress(this.remoteServer.address(), this.remoteServer.port()), this.protocol, this::executePacketHandler, null, null);
             this.downstream = new DownstreamSession(downstream);
 
             boolean resolveSrv = false;
@@ -1185,11 +1240,28 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
         upstream.forciblyClose();
     }
 
+    /**
+     * The loop where all packets and ticking is processed to prevent concurrency issues.
+     * If this is manually called, ensure that any exceptions are properly handled.
+     * <p>
+     * This can change if the session is moved to a less busy loop; see {@link #migrateEventLoop(EventLoop)}.
+     */
+    public EventLoop getTickEventLoop() {
+        return eventLoop.loop();
+    }
+
+    /**
+     * @return whether the current thread is this session's event loop, and this session's tasks can be run on it directly
+     */
+    public boolean isInEventLoop() {
+        return eventLoop.inEventLoop();
+    }
+
     /**
      * Moves task to the session event loop if already not in it. Otherwise, the task is automatically ran.
      */
     public void ensureInEventLoop(Runnable runnable) {
-        if (tickEventLoop.inEventLoop()) {
+        if (isInEventLoop()) {
             executeRunnable(runnable);
             return;
         }
@@ -1201,7 +1273,7 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
      * Executes a task and prints a stack trace if an error occurs.
      */
     public void executeInEventLoop(Runnable runnable) {
-        tickEventLoop.execute(() -> executeRunnable(runnable));
+        dispatch(() -> runInEventLoop(runnable));
     }
 
     /**
@@ -1210,15 +1282,95 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
      * The task will not run if the session is closed.
      */
     public ScheduledFuture<?> scheduleInEventLoop(Runnable runnable, long duration, TimeUnit timeUnit) {
-        return tickEventLoop.schedule(() -> {
-            executeRunnable(() -> {
-                if (!closed) {
-                    runnable.run();
+        return getTickEventLoop().schedule(() -> {
+            if (!closed) {
+                if (isInEventLoop()) {
+                    runInEventLoop(runnable);
+                } else {
+                    // This session was moved to another event loop in the meantime
+                    executeInEventLoop(runnable);
                 }
-            });
+            }
         }, duration, timeUnit);
     }
 
+    private static final int PACKET_DRAIN_BATCH_SIZE = 128;
+
+    /**
+     * Used by the downstream connection to hand Java packets to this session's event loop.
+     */
+    private void executePacketHandler(Runnable task) {
+        if (isInEventLoop() && pendingPacketTasks.isEmpty()) {
+            // The Java connection shares our event loop (see LocalSession), so the packet can be handled right away
+            runInEventLoop(task);
+            return;
+        }
+
+        pendingPacketTasks.offer(task);
+        if (packetDrainScheduled.compareAndSet(false, true)) {
+            dispatch(packetDrainTask);
+        }
+    }
+
+    /**
+     * Handles queued Java packets in order. At most {@link #PACKET_DRAIN_BATCH_SIZE} are handled at once,
+     * so other sessions sharing the event loop get a turn while a lot of packets are coming in.
+     */
+    private void drainPacketTasks() {
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < PACKET_DRAIN_BATCH_SIZE; i++) {
+                Runnable task = pendingPacketTasks.poll();
+                if (task == null) {
+                    break;
+                }
+                executeRunnable(task);
+            }
+        } finally {
+            eventLoopBusyNanos += System.nanoTime() - start;
+            packetDrainScheduled.set(false);
+            // Either we stopped at the batch size, or packets came in after we stopped polling
+            if (!pendingPacketTasks.isEmpty() && packetDrainScheduled.compareAndSet(false, true)) {
+                dispatch(packetDrainTask);
+            }
+        }
+    }
+
+    private void dispatch(Runnable task) {
+        eventLoop.execute(task);
+    }
+
+    /**
+     * @return whether this session can be moved to another event loop. Sessions whose Java connection shares
+     * their event loop cannot be moved, as Netty channels stay on the loop they were registered with.
+     */
+    public boolean canMigrateEventLoop() {
+        if (closed || tickThread == null || downstream == null || eventLoop.isMigrating()) {
+            return false;
+        }
+        Channel channel = downstream.getSession().getChannel();
+        return channel != null && channel.eventLoop() != getTickEventLoop();
+    }
+
+    /**
+     * Moves this session to another event loop. Tasks already queued on the current loop still run there first;
+     * anything submitted in the meantime is held back and handed to the new loop afterwards, so this session's
+     * tasks never run on both loops at the same time.
+     *
+     * @return false if this session cannot be moved right now
+     */
+    public boolean migrateEventLoop(EventLoop newLoop) {
+        if (!canMigrateEventLoop()) {
+            return false;
+        }
+        return eventLoop.migrate(newLoop, loop -> {
+            if (tickThread != null && !closed) {
+                tickThread.cancel(false);
+                tickThread = loop.scheduleAtFixedRate(this::runTick, nanosecondsPerTick, nanosecondsPerTick, TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+
     public void updateTickingState(float tickRate, boolean frozen) {
         tickThread.cancel(false);
         this.tickingFrozen = frozen;
@@ -1226,16 +1378,60 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
         tickRate = MathUtils.clamp(tickRate, 1.0f, 10000.0f);
         millisecondsPerTick = 1000.0f / tickRate;
         nanosecondsPerTick = MathUtils.ceil(1000000000.0f / tickRate);
-        tickThread = tickEventLoop.scheduleAtFixedRate(this::tick, nanosecondsPerTick, nanosecondsPerTick, TimeUnit.NANOSECONDS);
+
+        // If we're moving to another event loop, ticking is started there once the move is done
+        eventLoop.ifNotMigrating(loop ->
+            tickThread = loop.scheduleAtFixedRate(this::runTick, nanosecondsPerTick, nanosecondsPerTick, TimeUnit.NANOSECONDS));
     }
 
     private void executeRunnable(Runnable runnable) {
+        EventLoopWatchdog watchdog = EventLoopWatchdog.ifEnabled();
+        if (watchdog != null) {
+            watchdog.enter(EventLoopWatchdog.Kind.TASK, runnable.getClass());
+        }
         try {
             runnable.run();
         } catch (ErosionCancellationException e) {
             geyser.getLogger().debug("Caught ErosionCancellationException");
         } catch (Throwable e) {
             geyser.getLogger().error("Error thrown in " + this.bedrockUsername() + "'s event loop!", e);
+        } finally {
+            if (watchdog != null) {
+                watchdog.exit();
+            }
+        }
+    }
+
+    /**
+     * Runs a task on this session's event loop, keeping track of how long it kept the loop busy.
+     */
+    private void runInEventLoop(Runnable runnable) {
+        long start = System.nanoTime();
+        try {
+            executeRunnable(runnable);
+        } finally {
+            eventLoopBusyNanos += System.nanoTime() - start;
+        }
+    }
+
+    private void runTick() {
+        if (closed) {
+            // Can happen if the session was closed while moving to another event loop
+            return;
+        }
+
+        long start = System.nanoTime();
+        EventLoopWatchdog watchdog = EventLoopWatchdog.ifEnabled();
+        if (watchdog != null) {
+            watchdog.enter(EventLoopWatchdog.Kind.TICK, GeyserSession.class);
+        }
+        try {
+            tick();
+        } finally {
+            if (watchdog != null) {
+                watchdog.exit();
+            }
+            eventLoopBusyNanos += System.nanoTime() - start;
         }
     }
 
@@ -1245,6 +1441,8 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
     protected void tick() {
         try {
             pistonCache.tick();
+            particleLimiter.tick();
+            itemFrameCache.tick();
 
             if (worldBorder.isResizing()) {
                 worldBorder.resize();
@@ -1500,6 +1698,18 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
     }
 
     @Override
+    public void setAdvancedTooltips(boolean advancedTooltips) {
+        this.advancedTooltips = advancedTooltips;
+        invalidateTranslatedItems();
+    }
+
+    /**
+     * Marks all Bedrock item data previously translated for this session as outdated.
+     */
+    public void invalidateTranslatedItems() {
+        this.itemTranslationEpoch++;
+    }
+
     public String locale() {
         return clientData != null ? clientData.getLanguageCode() : GeyserLocale.getDefaultLocale();
     }
@@ -1792,18 +2002,7 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
         // Needed for custom block mappings and custom skulls system
         startGamePacket.getBlockProperties().addAll(this.blockMappings.getBlockProperties());
 
-        // See https://learn.microsoft.com/en-us/minecraft/creator/documents/experimentalfeaturestoggle for info on each experiment
-        // data_driven_items (Holiday Creator Features) is needed for blocks and items
-        startGamePacket.getExperiments().add(new ExperimentData("data_driven_items", true));
-        // Needed for block properties for states
-        startGamePacket.getExperiments().add(new ExperimentData("upcoming_creator_features", true));
-        // Needed for certain molang queries used in blocks and items
-        startGamePacket.getExperiments().add(new ExperimentData("experimental_molang_features", true));
-
-        // Enable 2025 Content Drop 3 features on 1.21.100
-        if (GameProtocol.is1_21_100(this)) {
-            startGamePacket.getExperiments().add(new ExperimentData("y_2025_drop_3", true));
-        }
+        startGamePacket.getExperiments().addAll(GameProtocol.is1_21_100(this) ? EXPERIMENTS_1_21_100 : EXPERIMENTS);
 
         startGamePacket.setVanillaVersion("*");
         startGamePacket.setInventoriesServerAuthoritative(true);
@@ -1882,6 +2081,8 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
      */
     public void sendUpstreamPacket(BedrockPacket packet) {
         upstream.sendPacket(packet);
+        inventorySlotCache.onPacketSent(packet);
+        recordUpstreamPacket();
     }
 
     /**
@@ -1891,6 +2092,15 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
      */
     public void sendUpstreamPacketImmediately(BedrockPacket packet) {
         upstream.sendPacketImmediately(packet);
+        inventorySlotCache.onPacketSent(packet);
+        recordUpstreamPacket();
+    }
+
+    private void recordUpstreamPacket() {
+        PerformanceMetrics metrics = geyser.getPerformanceMetrics();
+        if (metrics != null && metrics.isEnabled()) {
+            metrics.getUpstreamOutbound().recordPacket();
+        }
     }
 
     /**
@@ -1969,6 +2179,10 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
         ProtocolState state = protocol.getOutboundState();
         if (state == ProtocolState.GAME || state == ProtocolState.CONFIGURATION || packet.getClass() == ServerboundCustomQueryAnswerPacket.class) {
             downstream.sendPacket(packet);
+            PerformanceMetrics metrics = geyser.getPerformanceMetrics();
+            if (metrics != null && metrics.isEnabled()) {
+                metrics.getDownstreamOutbound().recordPacket();
+            }
         } else {
             geyser.getLogger().debug("Tried to send downstream packet " + packet.getClass().getSimpleName() + " before connected to the server");
         }
@@ -25,12 +25,16 @@
 
 package org.geysermc.geyser.session;
 
+import io.netty.channel.Channel;
 import org.geysermc.floodgate.crypto.FloodgateCipher;
 import org.geysermc.floodgate.util.BedrockData;
 import org.geysermc.geyser.Constants;
 import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.api.network.AuthType;
 import org.geysermc.geyser.api.util.PlatformType;
+import org.geysermc.geyser.metrics.PerformanceMetrics;
+import org.geysermc.geyser.metrics.TrafficCountingHandler;
+import org.geysermc.geyser.network.netty.IgnoredPacketFilter;
 import org.geysermc.geyser.network.netty.LocalSession;
 import org.geysermc.geyser.registry.Registries;
 import org.geysermc.geyser.session.auth.BedrockClientData;
@@ -125,6 +129,15 @@ public class GeyserSessionAdapter extends SessionAdapter {
         session.loggingIn = false;
         session.loggedIn = true;
 
+        PerformanceMetrics metrics = geyser.getPerformanceMetrics();
+        Channel channel = session.getDownstream().getSession().getChannel();
+        if (metrics != null && metrics.isEnabled() && channel != null && channel.pipeline().get(TrafficCountingHandler.NAME) == null) {
+            channel.pipeline().addFirst(TrafficCountingHandler.NAME, metrics.getDownstreamTrafficHandler());
+        }
+        if (channel != null && geyser.config().advanced().java().skipIgnoredPackets()) {
+            IgnoredPacketFilter.install(session, channel);
+        }
+
         if (session.getDownstream().getSession() instanceof LocalSession) {
             // Connected directly to the server
             geyser.getLogger().info(GeyserLocale.getLocaleStringLog("geyser.network.remote.connect_internal",
@@ -224,6 +237,14 @@ public class GeyserSessionAdapter extends SessionAdapter {
 
     @Override
     public void packetReceived(Session session, Packet packet) {
+        PerformanceMetrics metrics = geyser.getPerformanceMetrics();
+        if (metrics != null && metrics.isEnabled()) {
+            metrics.getDownstreamInbound().recordPacket();
+        }
+        if (this.session.getChunkSendQueue().queue(packet)) {
+            // translated once its chunk batch is finished
+            return;
+        }
         Registries.JAVA_PACKET_TRANSLATORS.translate(packet.getClass(), packet, this.session, true);
     }
 
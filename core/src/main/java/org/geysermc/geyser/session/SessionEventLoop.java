@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session;
+
+import io.netty.channel.EventLoop;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+
+/**
+ * The event loop a session runs its tasks on, which can be switched to another loop while the session is running.
+ * <p>
+ * Tasks already queued on the current loop still run there first when switching; anything submitted in the meantime
+ * is held back and handed to the new loop afterwards. That way, tasks run in the order they were submitted and
+ * never on both loops at the same time.
+ */
+final class SessionEventLoop {
+    /**
+     * Guards changes to {@link #loop} against tasks that are being submitted to it at the same time.
+     */
+    private final StampedLock lock = new StampedLock();
+    private volatile EventLoop loop;
+    /**
+     * Tasks submitted while moving to another event loop, or null if not moving.
+     */
+    private volatile Queue<Runnable> heldTasks;
+
+    SessionEventLoop(EventLoop loop) {
+        this.loop = loop;
+    }
+
+    /**
+     * @return the loop tasks are currently submitted to
+     */
+    EventLoop loop() {
+        return loop;
+    }
+
+    /**
+     * @return whether the current thread is the event loop, and tasks can be run on it directly
+     */
+    boolean inEventLoop() {
+        return loop.inEventLoop() && heldTasks == null;
+    }
+
+    boolean isMigrating() {
+        return heldTasks != null;
+    }
+
+    void execute(Runnable task) {
+        long stamp = lock.readLock();
+        try {
+            Queue<Runnable> heldTasks = this.heldTasks;
+            if (heldTasks != null) {
+                heldTasks.add(task);
+            } else {
+                loop.execute(task);
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Runs the given action with the current loop, unless moving to another loop.
+     *
+     * @return false if the action was not run
+     */
+    boolean ifNotMigrating(Consumer<EventLoop> action) {
+        long stamp = lock.readLock();
+        try {
+            if (heldTasks != null) {
+                return false;
+            }
+            action.accept(loop);
+            return true;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Moves to another event loop.
+     *
+     * @param onMigrated called with the new loop on the old loop once everything queued before the move has run,
+     *                   before any of the held back tasks. Should not submit tasks itself.
+     * @return false if already on the given loop, or already moving
+     */
+    boolean migrate(EventLoop newLoop, Consumer<EventLoop> onMigrated) {
+        EventLoop oldLoop;
+        long stamp = lock.writeLock();
+        try {
+            if (newLoop == loop || heldTasks != null) {
+                return false;
+            }
+            oldLoop = loop;
+            heldTasks = new ConcurrentLinkedQueue<>();
+            loop = newLoop;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+
+        // Everything submitted before the switch is queued on the old loop ahead of this
+        oldLoop.execute(() -> finishMigration(onMigrated));
+        return true;
+    }
+
+    private void finishMigration(Consumer<EventLoop> onMigrated) {
+        long stamp = lock.writeLock();
+        try {
+            onMigrated.accept(loop);
+        } finally {
+            for (Runnable task : heldTasks) {
+                loop.execute(task);
+            }
+            heldTasks = null;
+            lock.unlockWrite(stamp);
+        }
+    }
+}
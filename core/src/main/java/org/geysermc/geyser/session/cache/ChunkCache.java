@@ -25,11 +25,20 @@
 
 package org.geysermc.geyser.session.cache;
 
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import lombok.Getter;
 import lombok.Setter;
+import org.cloudburstmc.math.vector.Vector3f;
 import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.configuration.GeyserConfig;
+import org.geysermc.geyser.entity.type.player.SessionPlayerEntity;
 import org.geysermc.geyser.level.block.type.Block;
+import org.geysermc.geyser.level.chunk.CompactChunkSection;
 import org.geysermc.geyser.level.chunk.GeyserChunk;
 import org.geysermc.geyser.registry.BlockRegistries;
 import org.geysermc.geyser.session.GeyserSession;
@@ -37,8 +46,35 @@ import org.geysermc.geyser.util.MathUtils;
 import org.geysermc.mcprotocollib.protocol.data.game.chunk.DataPalette;
 
 public class ChunkCache {
+    /**
+     * Identical compact sections are shared between all sessions, as long as any of them still uses the section.
+     */
+    private static final Interner<CompactChunkSection> SECTION_INTERNER = Interners.newWeakInterner();
+    /**
+     * How many chunks outside the view distance of the server a chunk must be before it can be evicted. The server
+     * never resends a chunk that it still has loaded, so chunks within its view distance must be kept.
+     */
+    private static final int EVICTION_MARGIN = 2;
+
+    private final GeyserSession session;
     private final boolean cache;
+    private final boolean compact;
+    private final boolean deduplicate;
+    private final long memoryBudget;
     private final Long2ObjectMap<GeyserChunk> chunks;
+    private final Long2ObjectMap<CompactChunkSection[]> compactChunks;
+
+    /**
+     * A rough estimate of the memory taken up by all cached chunks.
+     */
+    @Getter
+    private long estimatedBytes;
+    /**
+     * If chunks within view distance alone exceed the memory budget, eviction is only tried again once the cache has
+     * grown by another tenth of the budget, instead of scanning all chunks every time one is added.
+     */
+    private long nextEvictionBytes;
+    private boolean warnedOverBudget;
 
     @Setter
     private int minY;
@@ -46,8 +82,14 @@ public class ChunkCache {
     private int heightY;
 
     public ChunkCache(GeyserSession session) {
+        this.session = session;
         this.cache = !session.getGeyser().getWorldManager().hasOwnChunkCache(); // To prevent Spigot from initializing
-        chunks = cache ? new Long2ObjectOpenHashMap<>() : null;
+        GeyserConfig.ChunkCacheConfig config = session.getGeyser().config().advanced().chunkCache();
+        this.compact = config.compact();
+        this.deduplicate = config.deduplicateSections();
+        this.memoryBudget = config.memoryBudget() * 1024L;
+        chunks = cache && !compact ? new Long2ObjectOpenHashMap<>() : null;
+        compactChunks = cache && compact ? new Long2ObjectOpenHashMap<>() : null;
     }
 
     public void addToCache(int x, int z, DataPalette[] chunks) {
@@ -56,8 +98,30 @@ public class ChunkCache {
         }
 
         long chunkPosition = MathUtils.chunkPositionToLong(x, z);
+        if (compact) {
+            CompactChunkSection[] sections = new CompactChunkSection[chunks.length];
+            for (int i = 0; i < chunks.length; i++) {
+                if (chunks[i] != null) {
+                    sections[i] = compactSection(CompactChunkSection.from(chunks[i]));
+                }
+            }
+            estimatedBytes += estimateBytes(sections);
+            CompactChunkSection[] previous = this.compactChunks.put(chunkPosition, sections);
+            if (previous != null) {
+                estimatedBytes -= estimateBytes(previous);
+            }
+            if (memoryBudget > 0 && estimatedBytes > Math.max(memoryBudget, nextEvictionBytes)) {
+                evictUnloadedChunks();
+            }
+            return;
+        }
+
         GeyserChunk geyserChunk = GeyserChunk.from(chunks);
-        this.chunks.put(chunkPosition, geyserChunk);
+        estimatedBytes += estimateBytes(geyserChunk);
+        GeyserChunk previous = this.chunks.put(chunkPosition, geyserChunk);
+        if (previous != null) {
+            estimatedBytes -= estimateBytes(previous);
+        }
     }
 
     /**
@@ -73,6 +137,11 @@ public class ChunkCache {
             return;
         }
 
+        if (compact) {
+            updateCompactBlock(x, y, z, block);
+            return;
+        }
+
         GeyserChunk chunk = this.getChunk(x >> 4, z >> 4);
         if (chunk == null) {
             return;
@@ -98,18 +167,59 @@ public class ChunkCache {
                 }
             }
 
+            long previousBytes = previouslyEmpty ? 0 : estimateBytes(palette);
             palette.set(x & 0xF, y & 0xF, z & 0xF, block);
+            estimatedBytes += estimateBytes(palette) - previousBytes;
         } catch (Throwable e) {
             GeyserImpl.getInstance().getLogger().error("Failed to update block in chunk cache! ", e);
             GeyserImpl.getInstance().getLogger().error("Info: newChunk=%s, block=%s, pos=%s,%s,%s".formatted(previouslyEmpty, block, x, y, z));
         }
     }
 
+    private void updateCompactBlock(int x, int y, int z, int block) {
+        CompactChunkSection[] sections = compactChunks.get(MathUtils.chunkPositionToLong(x >> 4, z >> 4));
+        if (sections == null) {
+            return;
+        }
+
+        int sectionY = (y - minY) >> 4;
+        if (y < minY || sectionY > sections.length - 1) {
+            // Y likely goes above or below the height limit of this world
+            return;
+        }
+
+        CompactChunkSection section = sections[sectionY];
+        if (section == null) {
+            if (block == Block.JAVA_AIR_ID) {
+                // Nothing to update
+                return;
+            }
+            section = CompactChunkSection.singleton(Block.JAVA_AIR_ID);
+        }
+
+        CompactChunkSection updated = section.with(x & 0xF, y & 0xF, z & 0xF, block);
+        if (updated != sections[sectionY]) {
+            // Not deduplicated, as sections that are being modified are likely to be modified again
+            estimatedBytes += updated.estimatedBytes() - (sections[sectionY] == null ? 0 : sections[sectionY].estimatedBytes());
+            sections[sectionY] = updated;
+        }
+    }
+
     public int getBlockAt(int x, int y, int z) {
         if (!cache) {
             return Block.JAVA_AIR_ID;
         }
 
+        if (compact) {
+            CompactChunkSection[] sections = compactChunks.get(MathUtils.chunkPositionToLong(x >> 4, z >> 4));
+            if (sections == null || y < minY || ((y - minY) >> 4) > sections.length - 1) {
+                return Block.JAVA_AIR_ID;
+            }
+
+            CompactChunkSection section = sections[(y - minY) >> 4];
+            return section == null ? Block.JAVA_AIR_ID : section.get(x & 0xF, y & 0xF, z & 0xF);
+        }
+
         GeyserChunk column = this.getChunk(x >> 4, z >> 4);
         if (column == null) {
             return Block.JAVA_AIR_ID;
@@ -134,7 +244,18 @@ public class ChunkCache {
         }
 
         long chunkPosition = MathUtils.chunkPositionToLong(chunkX, chunkZ);
-        chunks.remove(chunkPosition);
+        if (compact) {
+            CompactChunkSection[] removed = compactChunks.remove(chunkPosition);
+            if (removed != null) {
+                estimatedBytes -= estimateBytes(removed);
+            }
+            return;
+        }
+
+        GeyserChunk removed = chunks.remove(chunkPosition);
+        if (removed != null) {
+            estimatedBytes -= estimateBytes(removed);
+        }
     }
 
     /**
@@ -147,7 +268,23 @@ public class ChunkCache {
             return;
         }
 
-        chunks.clear();
+        if (compact) {
+            compactChunks.clear();
+        } else {
+            chunks.clear();
+        }
+        estimatedBytes = 0;
+        nextEvictionBytes = 0;
+    }
+
+    /**
+     * @return how many chunks are currently cached
+     */
+    public int size() {
+        if (!cache) {
+            return 0;
+        }
+        return compact ? compactChunks.size() : chunks.size();
     }
 
     public int getChunkMinY() {
@@ -157,4 +294,80 @@ public class ChunkCache {
     public int getChunkHeightY() {
         return heightY >> 4;
     }
+
+    private CompactChunkSection compactSection(CompactChunkSection section) {
+        return deduplicate ? SECTION_INTERNER.intern(section) : section;
+    }
+
+    /**
+     * Drops all chunks that are well outside the view distance of the server, which should have unloaded them already.
+     * If the chunks within view distance alone exceed the memory budget, they are kept and a warning is logged.
+     */
+    private void evictUnloadedChunks() {
+        SessionPlayerEntity player = session.getPlayerEntity();
+        int radius = session.getServerRenderDistance();
+        if (player != null && radius >= 0) {
+            Vector3f position = player.getPosition();
+            int playerChunkX = position.getFloorX() >> 4;
+            int playerChunkZ = position.getFloorZ() >> 4;
+            int maxDistance = radius + EVICTION_MARGIN;
+
+            ObjectIterator<Long2ObjectMap.Entry<CompactChunkSection[]>> iterator = Long2ObjectMaps.fastIterator(compactChunks);
+            while (iterator.hasNext()) {
+                Long2ObjectMap.Entry<CompactChunkSection[]> entry = iterator.next();
+                if (distance(entry.getLongKey(), playerChunkX, playerChunkZ) > maxDistance) {
+                    estimatedBytes -= estimateBytes(entry.getValue());
+                    iterator.remove();
+                }
+            }
+        }
+
+        if (estimatedBytes <= memoryBudget) {
+            nextEvictionBytes = 0;
+            return;
+        }
+
+        nextEvictionBytes = estimatedBytes + memoryBudget / 10;
+        if (!warnedOverBudget) {
+            warnedOverBudget = true;
+            session.getGeyser().getLogger().warning("The chunks within view distance of " + session.bedrockUsername()
+                + " take up more memory than the chunk cache memory budget allows. Consider raising advanced.chunk-cache.memory-budget.");
+        }
+    }
+
+    private static int distance(long chunkPosition, int chunkX, int chunkZ) {
+        // See MathUtils#chunkPositionToLong
+        int x = (int) (chunkPosition >> 32);
+        int z = (int) chunkPosition;
+        return Math.max(Math.abs(x - chunkX), Math.abs(z - chunkZ));
+    }
+
+    private static long estimateBytes(CompactChunkSection[] sections) {
+        long bytes = 16 + sections.length * 4L;
+        for (CompactChunkSection section : sections) {
+            if (section != null) {
+                bytes += section.estimatedBytes();
+            }
+        }
+        return bytes;
+    }
+
+    private static long estimateBytes(GeyserChunk chunk) {
+        long bytes = 32 + chunk.sections().length * 4L;
+        for (DataPalette palette : chunk.sections()) {
+            if (palette != null) {
+                bytes += estimateBytes(palette);
+            }
+        }
+        return bytes;
+    }
+
+    private static long estimateBytes(DataPalette palette) {
+        // DataPalette, its palette and its storage
+        long bytes = 128;
+        if (palette.getStorage() != null) {
+            bytes += palette.getStorage().getData().length * 8L;
+        }
+        return bytes + palette.getPalette().size() * 8L;
+    }
 }
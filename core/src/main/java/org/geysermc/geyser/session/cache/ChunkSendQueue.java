@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import org.cloudburstmc.math.GenericMath;
+import org.cloudburstmc.math.vector.Vector3f;
+import org.geysermc.geyser.registry.Registries;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.util.MathUtils;
+import org.geysermc.mcprotocollib.network.packet.Packet;
+import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.level.ClientboundForgetLevelChunkPacket;
+import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.level.ClientboundLevelChunkWithLightPacket;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Holds back the chunks of a Java chunk batch until the batch is finished, so that they can be translated and sent
+ * nearest to the player first. Otherwise, players on a slow connection can receive far away chunks before the ground
+ * under their feet, e.g. after a teleport.
+ * <p>
+ * Any other packet that is received while chunks are queued sends the queued chunks first, since that packet may
+ * depend on them (e.g. block updates). In practice servers send a batch without anything in between.
+ * <p>
+ * This also keeps track of how long batches take to arrive and be translated, which is used to tell the server how
+ * many chunks to send per tick, similar to the ChunkBatchSizeCalculator of the Java client.
+ */
+public final class ChunkSendQueue {
+    /**
+     * The time per tick that Java clients are willing to spend on receiving chunks
+     */
+    private static final double CHUNK_NANOS_PER_TICK = 7_000_000D;
+    private static final int MAX_OLD_SAMPLES_WEIGHT = 49;
+    private static final double CLAMP_COEFFICIENT = 3D;
+
+    private final GeyserSession session;
+    private final Long2ObjectMap<ClientboundLevelChunkWithLightPacket> queued = new Long2ObjectLinkedOpenHashMap<>();
+    private boolean batching;
+    private long batchStart;
+    private int batchSize;
+
+    private double nanosPerChunk = 2_000_000D;
+    private int oldSamplesWeight = 1;
+
+    public ChunkSendQueue(GeyserSession session) {
+        this.session = session;
+    }
+
+    /**
+     * Called for every Java packet before it is translated.
+     *
+     * @return true if the packet has been queued and should not be translated now
+     */
+    public boolean queue(Packet packet) {
+        if (packet instanceof ClientboundLevelChunkWithLightPacket chunk) {
+            if (!batching) {
+                return false;
+            }
+            // a chunk that is sent twice in a batch only has to be translated once
+            queued.put(MathUtils.chunkPositionToLong(chunk.getX(), chunk.getZ()), chunk);
+            batchSize++;
+            return true;
+        }
+        if (packet instanceof ClientboundForgetLevelChunkPacket forget) {
+            // no need to translate a chunk that is unloaded right away
+            queued.remove(MathUtils.chunkPositionToLong(forget.getX(), forget.getZ()));
+            return false;
+        }
+        flush();
+        return false;
+    }
+
+    public void batchStarted() {
+        batching = true;
+        batchStart = System.nanoTime();
+        batchSize = 0;
+    }
+
+    public void batchFinished() {
+        flush();
+        if (!batching) {
+            return;
+        }
+        batching = false;
+        recordBatch(System.nanoTime() - batchStart, batchSize);
+    }
+
+    /**
+     * @return the amount of chunks per tick the server should send
+     */
+    public float desiredChunksPerTick() {
+        return (float) (CHUNK_NANOS_PER_TICK / nanosPerChunk);
+    }
+
+    private void flush() {
+        if (queued.isEmpty()) {
+            return;
+        }
+
+        List<ClientboundLevelChunkWithLightPacket> chunks = new ArrayList<>(queued.values());
+        queued.clear();
+
+        Vector3f position = session.getPlayerEntity().getPosition();
+        int chunkX = GenericMath.floor(position.getX()) >> 4;
+        int chunkZ = GenericMath.floor(position.getZ()) >> 4;
+        chunks.sort(Comparator.comparingInt(chunk -> {
+            int x = chunk.getX() - chunkX;
+            int z = chunk.getZ() - chunkZ;
+            return x * x + z * z;
+        }));
+
+        for (ClientboundLevelChunkWithLightPacket chunk : chunks) {
+            Registries.JAVA_PACKET_TRANSLATORS.translate(chunk.getClass(), chunk, session, true);
+        }
+    }
+
+    private void recordBatch(long nanos, int chunks) {
+        if (chunks <= 0) {
+            return;
+        }
+        double sample = MathUtils.constrain((double) nanos / chunks, nanosPerChunk / CLAMP_COEFFICIENT, nanosPerChunk * CLAMP_COEFFICIENT);
+        nanosPerChunk = (nanosPerChunk * oldSamplesWeight + sample) / (oldSamplesWeight + 1);
+        oldSamplesWeight = Math.min(MAX_OLD_SAMPLES_WEIGHT, oldSamplesWeight + 1);
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache;
+
+import org.cloudburstmc.protocol.bedrock.data.inventory.ItemData;
+import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket;
+import org.cloudburstmc.protocol.bedrock.packet.ContainerClosePacket;
+import org.cloudburstmc.protocol.bedrock.packet.ContainerOpenPacket;
+import org.cloudburstmc.protocol.bedrock.packet.InventoryContentPacket;
+import org.cloudburstmc.protocol.bedrock.packet.InventorySlotPacket;
+import org.geysermc.geyser.session.GeyserSession;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks the last item sent to the Bedrock client for each slot of each container, so full inventory updates
+ * can be sent as individual slot updates when only a few slots have changed.
+ * <p>
+ * Every inventory packet sent through the session is recorded here, regardless of where it was sent from.
+ * Since the Bedrock client predicts the outcome of its own inventory actions, all tracked contents are
+ * forgotten whenever the client acts on its inventory.
+ * <p>
+ * Packets can be sent from any thread, so the tracked contents of a container are never modified in place;
+ * every change replaces the array of that container.
+ */
+public final class InventorySlotCache {
+    /**
+     * Rough serialized size of everything in an {@link InventorySlotPacket} besides the item itself.
+     */
+    private static final int SLOT_PACKET_OVERHEAD = 8;
+
+    private final GeyserSession session;
+    private final Map<Integer, ItemData[]> sentContents = new ConcurrentHashMap<>();
+
+    public InventorySlotCache(GeyserSession session) {
+        this.session = session;
+    }
+
+    /**
+     * Sends the full contents of a container to the client, either as one {@link InventoryContentPacket}
+     * or as an {@link InventorySlotPacket} for each changed slot, whichever is expected to be smaller.
+     * <p>
+     * If nothing changed, the content packet is still sent: full updates are also used to resync a client
+     * that ended up with different contents than we know of.
+     */
+    public void sendContents(int containerId, List<ItemData> contents) {
+        ItemData[] sent = sentContents.get(containerId);
+        if (sent != null && sent.length == contents.size()) {
+            int contentSize = 0;
+            int changedSize = 0;
+            for (int i = 0; i < sent.length; i++) {
+                ItemData item = contents.get(i);
+                int size = estimateSize(item);
+                contentSize += size;
+                if (!Objects.equals(sent[i], item)) {
+                    changedSize += size + SLOT_PACKET_OVERHEAD;
+                }
+            }
+
+            if (changedSize > 0 && changedSize < contentSize) {
+                for (int i = 0; i < sent.length; i++) {
+                    ItemData item = contents.get(i);
+                    if (!Objects.equals(sent[i], item)) {
+                        InventorySlotPacket slotPacket = new InventorySlotPacket();
+                        slotPacket.setContainerId(containerId);
+                        slotPacket.setSlot(i);
+                        slotPacket.setItem(item);
+                        session.sendUpstreamPacket(slotPacket);
+                    }
+                }
+                return;
+            }
+        }
+
+        InventoryContentPacket contentPacket = new InventoryContentPacket();
+        contentPacket.setContainerId(containerId);
+        contentPacket.setContents(contents);
+        session.sendUpstreamPacket(contentPacket);
+    }
+
+    /**
+     * Records the effect of a packet sent to the client on its containers.
+     */
+    public void onPacketSent(BedrockPacket packet) {
+        if (packet instanceof InventorySlotPacket slotPacket) {
+            sentContents.computeIfPresent(slotPacket.getContainerId(), (containerId, sent) -> {
+                int slot = slotPacket.getSlot();
+                if (slot < 0 || slot >= sent.length) {
+                    // We don't know what's going on anymore
+                    return null;
+                }
+                ItemData[] updated = sent.clone();
+                updated[slot] = slotPacket.getItem();
+                return updated;
+            });
+        } else if (packet instanceof InventoryContentPacket contentPacket) {
+            sentContents.put(contentPacket.getContainerId(), contentPacket.getContents().toArray(new ItemData[0]));
+        } else if (packet instanceof ContainerOpenPacket openPacket) {
+            // Container IDs are reused - the newly opened container starts out with unknown contents
+            sentContents.remove(openPacket.getId());
+        } else if (packet instanceof ContainerClosePacket closePacket) {
+            sentContents.remove(closePacket.getId());
+        }
+    }
+
+    /**
+     * Forgets all tracked contents, for example after the client changed its inventory by itself.
+     */
+    public void invalidate() {
+        sentContents.clear();
+    }
+
+    /**
+     * A rough estimate of how many bytes an item takes up when serialized.
+     */
+    private static int estimateSize(ItemData item) {
+        if (item == null || item.isNull()) {
+            return 1;
+        }
+        return item.getTag() == null ? 12 : 64;
+    }
+}
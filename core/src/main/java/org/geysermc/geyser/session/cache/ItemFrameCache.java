@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.cloudburstmc.math.vector.Vector3f;
+import org.cloudburstmc.math.vector.Vector3i;
+import org.geysermc.geyser.entity.type.ItemFrameEntity;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.util.MathUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps track of item frames, which are entities in Java but block entities in Bedrock.
+ * <p>
+ * Sending a chunk to Bedrock removes the item frames in it, so they have to be sent again afterwards. This is done
+ * once per tick for all chunks that were sent, so chunks that are resent in quick succession (and map art walls with
+ * many frames) don't cause a flood of block updates.
+ */
+public final class ItemFrameCache {
+    private final GeyserSession session;
+    /**
+     * Used for translating Bedrock block actions to Java entity actions.
+     */
+    private final Map<Vector3i, ItemFrameEntity> frames = new Object2ObjectOpenHashMap<>();
+    private final Long2ObjectMap<List<ItemFrameEntity>> framesByChunk = new Long2ObjectOpenHashMap<>();
+    private final LongSet pendingChunks = new LongOpenHashSet();
+
+    public ItemFrameCache(GeyserSession session) {
+        this.session = session;
+    }
+
+    public @Nullable ItemFrameEntity get(Vector3i position) {
+        if (frames.isEmpty()) {
+            return null;
+        }
+        return frames.get(position);
+    }
+
+    public void add(Vector3i position, ItemFrameEntity frame) {
+        ItemFrameEntity previous = frames.put(position, frame);
+        if (previous != null) {
+            removeFromChunk(position, previous);
+        }
+        framesByChunk.computeIfAbsent(chunkKey(position), $ -> new ArrayList<>(4)).add(frame);
+    }
+
+    public void remove(Vector3i position, ItemFrameEntity frame) {
+        if (frames.remove(position, frame)) {
+            removeFromChunk(position, frame);
+        }
+    }
+
+    private void removeFromChunk(Vector3i position, ItemFrameEntity frame) {
+        long chunkKey = chunkKey(position);
+        List<ItemFrameEntity> chunkFrames = framesByChunk.get(chunkKey);
+        if (chunkFrames != null && chunkFrames.remove(frame) && chunkFrames.isEmpty()) {
+            framesByChunk.remove(chunkKey);
+        }
+    }
+
+    /**
+     * Sends all item frames in this chunk again at the end of the tick, as the chunk was just sent to the client.
+     */
+    public void scheduleChunkRefresh(int chunkX, int chunkZ) {
+        long chunkKey = MathUtils.chunkPositionToLong(chunkX, chunkZ);
+        if (framesByChunk.containsKey(chunkKey)) {
+            pendingChunks.add(chunkKey);
+        }
+    }
+
+    public void tick() {
+        if (pendingChunks.isEmpty()) {
+            return;
+        }
+
+        Vector3f position = session.getPlayerEntity().getPosition();
+        int playerChunkX = position.getFloorX() >> 4;
+        int playerChunkZ = position.getFloorZ() >> 4;
+        int radius = session.getServerRenderDistance();
+
+        LongIterator iterator = pendingChunks.iterator();
+        while (iterator.hasNext()) {
+            long chunkKey = iterator.nextLong();
+            // See MathUtils#chunkPositionToLong
+            int chunkX = (int) (chunkKey >> 32);
+            int chunkZ = (int) chunkKey;
+            if (radius >= 0 && (Math.abs(chunkX - playerChunkX) > radius || Math.abs(chunkZ - playerChunkZ) > radius)) {
+                // Not loaded on the client; this will be refreshed when the chunk is sent again
+                continue;
+            }
+
+            List<ItemFrameEntity> chunkFrames = framesByChunk.get(chunkKey);
+            if (chunkFrames != null) {
+                for (ItemFrameEntity frame : chunkFrames) {
+                    // Update this item frame so it doesn't get lost in the abyss
+                    frame.updateBlock(true);
+                }
+            }
+        }
+        pendingChunks.clear();
+    }
+
+    public int size() {
+        return frames.size();
+    }
+
+    public void clear() {
+        frames.clear();
+        framesByChunk.clear();
+        pendingChunks.clear();
+    }
+
+    private static long chunkKey(Vector3i position) {
+        return MathUtils.chunkPositionToLong(position.getX() >> 4, position.getZ() >> 4);
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import org.cloudburstmc.math.vector.Vector3f;
+import org.geysermc.geyser.configuration.GeyserConfig;
+import org.geysermc.geyser.metrics.PerformanceMetrics;
+import org.geysermc.geyser.session.GeyserSession;
+
+/**
+ * Limits how many particles are sent to the Bedrock client each tick. Particle-heavy plugins can otherwise send
+ * thousands of particle packets per second, which Bedrock clients handle far worse than Java clients.
+ */
+public final class ParticleLimiter {
+    /**
+     * Particles of the same type closer together than this (in blocks) are merged into one.
+     */
+    private static final float MERGE_PRECISION = 0.125f;
+
+    private final GeyserSession session;
+    private final int budget;
+    private final double maxDistanceSquared;
+    /**
+     * The particles that were sent this tick, by type and rounded position.
+     */
+    private final LongSet sentThisTick = new LongOpenHashSet();
+    private int remaining;
+
+    public ParticleLimiter(GeyserSession session) {
+        this.session = session;
+        GeyserConfig.AdvancedConfig config = session.getGeyser().config().advanced();
+        this.budget = config.particleBudget();
+        this.maxDistanceSquared = (double) config.particleDistance() * config.particleDistance();
+        this.remaining = budget;
+    }
+
+    public void tick() {
+        remaining = budget;
+        sentThisTick.clear();
+    }
+
+    /**
+     * Checks whether particles at this position are close enough to the player to be visible.
+     * Drops the given amount of particles if not.
+     *
+     * @param longDistance whether the server asked for these particles to be shown from further away
+     */
+    public boolean isInRange(double x, double y, double z, boolean longDistance, int amount) {
+        if (longDistance || maxDistanceSquared == 0) {
+            return true;
+        }
+        Vector3f position = session.getPlayerEntity().getPosition();
+        double dx = x - position.getX();
+        double dy = y - position.getY();
+        double dz = z - position.getZ();
+        if (dx * dx + dy * dy + dz * dz <= maxDistanceSquared) {
+            return true;
+        }
+        drop(amount);
+        return false;
+    }
+
+    /**
+     * Takes one particle from this tick's budget. Particles of the same type at (nearly) the same position
+     * as one that was already sent this tick are merged into that one.
+     *
+     * @param type any number identifying the particle type
+     * @return whether the particle should be sent
+     */
+    public boolean tryAcquire(int type, Vector3f position) {
+        if (budget == 0) {
+            return true;
+        }
+        if (remaining <= 0 || !sentThisTick.add(key(type, position))) {
+            drop(1);
+            return false;
+        }
+        remaining--;
+        return true;
+    }
+
+    private void drop(int amount) {
+        PerformanceMetrics metrics = PerformanceMetrics.ifEnabled();
+        if (metrics != null) {
+            metrics.recordDroppedParticles(amount);
+        }
+    }
+
+    /**
+     * Packs the particle type and the merge cell of the position into disjoint bits: 10 bits for the type,
+     * 20 bits each for the X and Z cell and 14 bits for the Y cell. Cells wrap around, so two particles
+     * can only share a key if they are more than a thousand blocks apart.
+     */
+    static long key(int type, Vector3f position) {
+        long x = (int) Math.floor(position.getX() / MERGE_PRECISION) & 0xFFFFF;
+        long y = (int) Math.floor(position.getY() / MERGE_PRECISION) & 0x3FFF;
+        long z = (int) Math.floor(position.getZ() / MERGE_PRECISION) & 0xFFFFF;
+        long key = ((type & 0x3FFL) << 54) | (x << 34) | (y << 20) | z;
+        return HashCommon.mix(key);
+    }
+}
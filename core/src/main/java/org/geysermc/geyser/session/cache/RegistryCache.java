@@ -29,7 +29,9 @@ import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
 import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import lombok.Getter;
 import net.kyori.adventure.key.Key;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.cloudburstmc.nbt.NbtMap;
 import org.cloudburstmc.nbt.NbtType;
 import org.geysermc.geyser.GeyserImpl;
@@ -68,6 +70,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Stores any information sent via Java registries. May not contain all data in a given registry - we'll strip what's
@@ -121,8 +124,22 @@ public final class RegistryCache implements JavaRegistryProvider {
         DEFAULTS = Map.copyOf(defaults);
     }
 
+    /**
+     * Registries that are never read when translating items. All other registries can change how an item is
+     * translated, for example enchantment names in lore, or trim materials.
+     */
+    private static final Set<JavaRegistryKey<?>> NON_ITEM_REGISTRIES = Set.of(JavaRegistries.CHAT_TYPE,
+        JavaRegistries.DIMENSION_TYPE, JavaRegistries.BIOME, JavaRegistries.DIALOG);
+
     private final GeyserSession session;
     private final Reference2ObjectMap<JavaRegistryKey<?>, SimpleJavaRegistry<?>> registries;
+    private final Map<Key, List<RegistryEntryContents>> itemRegistryContents = new HashMap<>();
+    /**
+     * The contents of all registries that can affect item translation, used to share translated recipes between
+     * sessions that received the same registries.
+     */
+    @Getter
+    private SharedContents itemRegistries = SharedContents.EMPTY;
 
     public RegistryCache(GeyserSession session) {
         this.session = session;
@@ -143,6 +160,14 @@ public final class RegistryCache implements JavaRegistryProvider {
             if (reader != null) {
                 try {
                     readRegistry(session, registryKey, registries.get(registryKey), reader, packet.getEntries());
+                    if (!NON_ITEM_REGISTRIES.contains(registryKey)) {
+                        List<RegistryEntryContents> contents = new ArrayList<>(packet.getEntries().size());
+                        for (RegistryEntry entry : packet.getEntries()) {
+                            contents.add(new RegistryEntryContents(entry.getId(), entry.getData()));
+                        }
+                        itemRegistryContents.put(packet.getRegistry(), contents);
+                        itemRegistries = SharedContents.of(Map.copyOf(itemRegistryContents));
+                    }
                 } catch (Exception exception) {
                     GeyserImpl.getInstance().getLogger().error("Failed parsing registry entries for " + registryKey + "!", exception);
                 }
@@ -214,6 +239,12 @@ public final class RegistryCache implements JavaRegistryProvider {
         // no-op
     }
 
+    /**
+     * @param data null if the default data for this entry is used
+     */
+    private record RegistryEntryContents(Key id, @Nullable NbtMap data) {
+    }
+
     @FunctionalInterface
     public interface RegistryReader<T> {
 
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+import java.util.Map;
+
+/**
+ * Data received from the server that is interned, so that all sessions that received the same data share a single
+ * instance. This makes it cheap to use as part of a cache key for translations that are shared between sessions,
+ * as comparing two instances is an identity check unless their hashes collide.
+ */
+public final class SharedContents {
+    private static final Interner<SharedContents> INTERNER = Interners.newWeakInterner();
+
+    public static final SharedContents EMPTY = of(Map.of());
+
+    /**
+     * Compared by value; should not be modified after being passed to {@link #of(Object)}
+     */
+    private final Object contents;
+    private final int hash;
+
+    private SharedContents(Object contents) {
+        this.contents = contents;
+        this.hash = contents.hashCode();
+    }
+
+    /**
+     * @param contents the data, which must implement equals and hashCode by value
+     * @return the instance shared by all sessions with these contents
+     */
+    public static SharedContents of(Object contents) {
+        return INTERNER.intern(new SharedContents(contents));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof SharedContents that && hash == that.hash && contents.equals(that.contents);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
@@ -25,8 +25,11 @@
 
 package org.geysermc.geyser.session.cache;
 
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntArrays;
+import it.unimi.dsi.fastutil.ints.IntList;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import lombok.Getter;
 import net.kyori.adventure.key.Key;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -64,6 +67,11 @@ import java.util.Map;
 public final class TagCache {
     private final GeyserSession session;
     private final Map<Tag<?>, int[]> tags = new Object2ObjectOpenHashMap<>();
+    /**
+     * All item tags, used to share translated recipes between sessions that received the same item tags.
+     */
+    @Getter
+    private SharedContents itemTags = SharedContents.EMPTY;
 
     public TagCache(GeyserSession session) {
         this.session = session;
@@ -74,6 +82,7 @@ public final class TagCache {
         GeyserLogger logger = session.getGeyser().getLogger();
 
         this.tags.clear();
+        Map<Key, IntList> itemTagContents = Map.of();
 
         for (Key registryKey : allTags.keySet()) {
             JavaRegistryKey<?> registry = JavaRegistries.fromKey(registryKey);
@@ -102,7 +111,15 @@ public final class TagCache {
             }
 
             loadTags(registryTags, registry, registry == JavaRegistries.ITEM);
+            if (registry == JavaRegistries.ITEM) {
+                itemTagContents = new Object2ObjectOpenHashMap<>(registryTags.size());
+                for (Map.Entry<Key, int[]> tag : registryTags.entrySet()) {
+                    // Compared by value; the arrays are sorted in loadTags
+                    itemTagContents.put(tag.getKey(), IntArrayList.wrap(tag.getValue()));
+                }
+            }
         }
+        this.itemTags = SharedContents.of(itemTagContents);
     }
 
     private void loadTags(Map<Key, int[]> packetTags, JavaRegistryKey<?> registry, boolean sort) {
@@ -295,6 +295,10 @@ public class WorldBorder {
     }
 
     private static final LevelEventType WORLD_BORDER_PARTICLE = LevelEvent.PARTICLE_DENY_BLOCK;
+    /**
+     * Identifies world border particles in the {@link ParticleLimiter}; Java particle types are never negative.
+     */
+    private static final int WORLD_BORDER_PARTICLE_TYPE = -1;
 
     /**
      * Draws a wall of particles where the world border resides
@@ -356,8 +360,13 @@ public class WorldBorder {
     }
 
     private void sendWorldBorderParticle(float x, float y, float z) {
+        Vector3f position = Vector3f.from(x, y, z);
+        if (!session.getParticleLimiter().tryAcquire(WORLD_BORDER_PARTICLE_TYPE, position)) {
+            return;
+        }
+
         LevelEventPacket effectPacket = new LevelEventPacket();
-        effectPacket.setPosition(Vector3f.from(x, y, z));
+        effectPacket.setPosition(position);
         effectPacket.setType(WORLD_BORDER_PARTICLE);
         session.getUpstream().sendPacket(effectPacket);
     }
@@ -176,6 +176,14 @@ public final class WorldCache {
     }
 
     public void updateServerCorrectBlockState(Vector3i position, int blockState) {
+        acceptServerBlockState(position, blockState);
+        ChunkUtils.updateBlock(session, blockState, position);
+    }
+
+    /**
+     * Ends any client-side prediction for this position, without sending the block to the client or caching it.
+     */
+    public void acceptServerBlockState(Vector3i position, int blockState) {
         if (!this.unverifiedPredictions.isEmpty()) {
             this.unverifiedPredictions.removeInt(position);
         }
@@ -185,8 +193,6 @@ public final class WorldCache {
         if (clientBreakPos != null && Objects.equals(clientBreakPos, position)) {
             session.getBlockBreakHandler().setUpdatedServerBlockStateId(blockState);
         }
-
-        ChunkUtils.updateBlock(session, blockState, position);
     }
 
     public void endPredictionsUpTo(int sequence) {
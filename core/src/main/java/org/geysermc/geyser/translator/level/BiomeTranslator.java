@@ -25,6 +25,9 @@
 
 package org.geysermc.geyser.translator.level;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
 import org.geysermc.geyser.session.cache.registry.JavaRegistries;
 import org.geysermc.geyser.session.cache.registry.JavaRegistry;
 import org.geysermc.geyser.session.cache.registry.RegistryEntryContext;
@@ -33,6 +36,7 @@ import org.geysermc.mcprotocollib.protocol.data.game.chunk.DataPalette;
 import org.geysermc.mcprotocollib.protocol.data.game.chunk.palette.GlobalPalette;
 import org.geysermc.mcprotocollib.protocol.data.game.chunk.palette.Palette;
 import org.geysermc.mcprotocollib.protocol.data.game.chunk.palette.SingletonPalette;
+import it.unimi.dsi.fastutil.HashCommon;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntList;
 import it.unimi.dsi.fastutil.ints.IntLists;
@@ -42,15 +46,74 @@ import org.geysermc.geyser.level.chunk.bitarray.BitArrayVersion;
 import org.geysermc.geyser.level.chunk.bitarray.SingletonBitArray;
 import org.geysermc.geyser.registry.Registries;
 import org.geysermc.geyser.session.GeyserSession;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
 
 // Array index formula by https://wiki.vg/Chunk_Format
 public class BiomeTranslator {
+    /**
+     * Encoded biome sections consisting of a single biome, indexed by Bedrock biome ID.
+     */
+    private static final byte[][] SINGLETON_BIOMES = new byte[256][];
+    private static final ThreadLocal<BiomeSectionCache> BIOME_SECTION_CACHE = ThreadLocal.withInitial(BiomeSectionCache::new);
+
+    static {
+        ByteBuf buffer = Unpooled.buffer(8);
+        try {
+            for (int i = 0; i < SINGLETON_BIOMES.length; i++) {
+                buffer.clear();
+                new BlockStorage(SingletonBitArray.INSTANCE, IntLists.singleton(i)).writeToNetwork(buffer);
+                SINGLETON_BIOMES[i] = ByteBufUtil.getBytes(buffer);
+            }
+        } finally {
+            buffer.release();
+        }
+    }
 
     public static int loadServerBiome(RegistryEntryContext entry) {
         String javaIdentifier = entry.id().asString();
         return Registries.BIOME_IDENTIFIERS.get().getOrDefault(javaIdentifier, 0);
     }
 
+    /**
+     * Writes the Bedrock biome section for the given Java biome data. Sections with only one biome are written
+     * without going through a {@link BlockStorage}, and other sections are reused from a per-thread cache of
+     * recently encoded sections where possible, as neighbouring chunks tend to have identical biome sections.
+     */
+    public static void writeBedrockBiome(GeyserSession session, DataPalette biomeData, ByteBuf buffer) {
+        JavaRegistry<Integer> biomeTranslations = session.getRegistryCache().registry(JavaRegistries.BIOME);
+        Palette palette = biomeData.getPalette();
+        if (palette instanceof SingletonPalette) {
+            int biomeId = biomeTranslations.byId(palette.idToState(0));
+            if (biomeId >= 0 && biomeId < SINGLETON_BIOMES.length) {
+                buffer.writeBytes(SINGLETON_BIOMES[biomeId]);
+                return;
+            }
+        } else if (!(palette instanceof GlobalPalette)) {
+            BiomeSectionCache cache = BIOME_SECTION_CACHE.get();
+            int size = palette.size();
+            int[] bedrockPalette = cache.paletteScratch(size);
+            for (int i = 0; i < size; i++) {
+                bedrockPalette[i] = biomeTranslations.byId(palette.idToState(i));
+            }
+
+            BitStorage storage = biomeData.getStorage();
+            int slot = cache.slot(bedrockPalette, size, storage);
+            byte[] encoded = cache.get(slot, bedrockPalette, size, storage);
+            if (encoded != null) {
+                buffer.writeBytes(encoded);
+                return;
+            }
+
+            int start = buffer.writerIndex();
+            toNewBedrockBiome(session, biomeData).writeToNetwork(buffer);
+            cache.put(slot, bedrockPalette, size, storage, ByteBufUtil.getBytes(buffer, start, buffer.writerIndex() - start));
+            return;
+        }
+        toNewBedrockBiome(session, biomeData).writeToNetwork(buffer);
+    }
+
     public static BlockStorage toNewBedrockBiome(GeyserSession session, DataPalette biomeData) {
         JavaRegistry<Integer> biomeTranslations = session.getRegistryCache().registry(JavaRegistries.BIOME);
         // As of 1.17.10: the client expects the same format as a chunk but filled with biomes
@@ -120,4 +183,50 @@ public class BiomeTranslator {
             }
         }
     }
+
+    /**
+     * A direct-mapped cache of encoded biome sections, keyed by their Bedrock palette and their data.
+     */
+    private static final class BiomeSectionCache {
+        private static final int SIZE = 256;
+
+        private final int[][] palettes = new int[SIZE][];
+        private final long[][] data = new long[SIZE][];
+        private final int[] bitsPerEntry = new int[SIZE];
+        private final byte[][] encoded = new byte[SIZE][];
+        private int[] paletteScratch = new int[16];
+
+        int[] paletteScratch(int size) {
+            if (paletteScratch.length < size) {
+                paletteScratch = new int[size];
+            }
+            return paletteScratch;
+        }
+
+        int slot(int[] palette, int paletteSize, BitStorage storage) {
+            int hash = storage.getBitsPerEntry();
+            for (int i = 0; i < paletteSize; i++) {
+                hash = 31 * hash + palette[i];
+            }
+            hash = 31 * hash + Arrays.hashCode(storage.getData());
+            return HashCommon.mix(hash) & (SIZE - 1);
+        }
+
+        byte @Nullable [] get(int slot, int[] palette, int paletteSize, BitStorage storage) {
+            int[] cachedPalette = palettes[slot];
+            if (cachedPalette == null || bitsPerEntry[slot] != storage.getBitsPerEntry()
+                    || !Arrays.equals(cachedPalette, 0, cachedPalette.length, palette, 0, paletteSize)
+                    || !Arrays.equals(data[slot], storage.getData())) {
+                return null;
+            }
+            return encoded[slot];
+        }
+
+        void put(int slot, int[] palette, int paletteSize, BitStorage storage, byte[] encoded) {
+            this.palettes[slot] = Arrays.copyOf(palette, paletteSize);
+            this.data[slot] = storage.getData().clone();
+            this.bitsPerEntry[slot] = storage.getBitsPerEntry();
+            this.encoded[slot] = encoded;
+        }
+    }
 }
@@ -102,6 +102,7 @@ public class BedrockInventoryTransactionTranslator extends PacketTranslator<Inve
 
     @Override
     public void translate(GeyserSession session, InventoryTransactionPacket packet) {
+        session.getInventorySlotCache().invalidate();
         if (packet.getTransactionType() == InventoryTransactionType.NORMAL && packet.getActions().size() == 3) {
             InventoryActionData containerAction = packet.getActions().get(0);
             if (containerAction.getSource().getType() == InventorySource.Type.CONTAINER &&
@@ -223,6 +223,7 @@ public final class BedrockPlayerAuthInputTranslator extends PacketTranslator<Pla
     }
 
     private static void processItemUseTransaction(GeyserSession session, ItemUseTransaction transaction) {
+        session.getInventorySlotCache().invalidate();
         if (transaction.getActionType() == 2) {
             session.setLastBlockPlaced(null);
             session.setLastBlockPlacePosition(null);
@@ -26,6 +26,8 @@
 package org.geysermc.geyser.translator.protocol.java;
 
 import com.google.common.base.Suppliers;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import it.unimi.dsi.fastutil.Hash;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
@@ -55,8 +57,10 @@ import org.geysermc.mcprotocollib.protocol.data.game.command.CommandParser;
 import org.geysermc.mcprotocollib.protocol.data.game.command.properties.ResourceProperties;
 import org.geysermc.mcprotocollib.protocol.data.game.entity.attribute.AttributeType;
 import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.ClientboundCommandsPacket;
+import org.jetbrains.annotations.VisibleForTesting;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 @SuppressWarnings("removal") // We know. This is our doing.
@@ -73,6 +77,15 @@ public class JavaCommandsTranslator extends PacketTranslator<ClientboundCommands
     private static final String[] VALID_COLORS;
     private static final String[] VALID_SCOREBOARD_SLOTS;
 
+    /**
+     * Servers send the same command tree to every player with the same permissions, and resend it often,
+     * so translated trees are shared between sessions.
+     */
+    private static final Cache<CommandTreeKey, TranslatedCommands> COMMAND_TREE_CACHE = CacheBuilder.newBuilder()
+            .maximumSize(64)
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .build();
+
     private static final Hash.Strategy<BedrockCommandInfo> PARAM_STRATEGY = new Hash.Strategy<>() {
         @Override
         public int hashCode(BedrockCommandInfo o) {
@@ -133,9 +146,57 @@ public class JavaCommandsTranslator extends PacketTranslator<ClientboundCommands
             return;
         }
 
+        CommandTreeKey key = new CommandTreeKey(session, packet);
+        TranslatedCommands translated = COMMAND_TREE_CACHE.getIfPresent(key);
+        if (translated == null) {
+            translated = translateCommands(session, packet);
+            COMMAND_TREE_CACHE.put(key, translated);
+        }
+
+        session.setKnownCommands(translated.knownCommands());
+        session.setRestrictedCommands(translated.restrictedCommands());
+
+        // Extensions may remove commands, so every session gets its own copy
+        Map<BedrockCommandInfo, Set<String>> commands = new LinkedHashMap<>(translated.commands());
+
+        var eventBus = session.getGeyser().eventBus();
+
+        var event = new ServerDefineCommandsEvent(session, commands.keySet());
+        eventBus.fire(event);
+        if (event.isCancelled()) {
+            return;
+        }
+
+        var oldEvent = new org.geysermc.geyser.api.event.downstream.ServerDefineCommandsEvent(session, commands.keySet());
+        eventBus.fire(oldEvent);
+        if (oldEvent.isCancelled()) {
+            return;
+        }
+
+        // Commands can only be removed, so the same size means nothing was changed
+        List<CommandData> commandData = commands.size() == translated.commands().size() ?
+            new ArrayList<>(translated.commandData()) : createCommandData(commands);
+
+        if (session.getGeyser().platformType() == PlatformType.STANDALONE) {
+            session.getGeyser().commandRegistry().export(session, commandData, new HashSet<>(translated.knownAliases()));
+        }
+
+        // Add our commands to the AvailableCommandsPacket for the bedrock client
+        AvailableCommandsPacket availableCommandsPacket = new AvailableCommandsPacket();
+        availableCommandsPacket.getCommands().addAll(commandData);
+
+        session.getGeyser().getLogger().debug("Sending command packet of " + commandData.size() + " commands");
+
+        // Finally, send the commands to the client
+        session.sendUpstreamPacket(availableCommandsPacket);
+    }
+
+    /**
+     * Translates the Java command tree, without anything that extensions or the platform may change for a single session.
+     */
+    private static TranslatedCommands translateCommands(GeyserSession session, ClientboundCommandsPacket packet) {
         CommandRegistry registry = session.getGeyser().commandRegistry();
         CommandNode[] nodes = packet.getNodes();
-        List<CommandData> commandData = new ArrayList<>();
         IntSet commandNodes = new IntOpenHashSet();
         Set<String> knownAliases = new HashSet<>();
         Map<BedrockCommandInfo, Set<String>> commands = new Object2ObjectOpenCustomHashMap<>(PARAM_STRATEGY);
@@ -176,22 +237,12 @@ public class JavaCommandsTranslator extends PacketTranslator<ClientboundCommands
             }
         }
 
-        session.setKnownCommands(knownCommands);
-        session.setRestrictedCommands(restrictedCommands);
-
-        var eventBus = session.getGeyser().eventBus();
-
-        var event = new ServerDefineCommandsEvent(session, commands.keySet());
-        eventBus.fire(event);
-        if (event.isCancelled()) {
-            return;
-        }
+        return new TranslatedCommands(Collections.unmodifiableMap(new LinkedHashMap<>(commands)), Set.copyOf(knownAliases),
+            List.copyOf(knownCommands), List.copyOf(restrictedCommands), List.copyOf(createCommandData(commands)));
+    }
 
-        var oldEvent = new org.geysermc.geyser.api.event.downstream.ServerDefineCommandsEvent(session, commands.keySet());
-        eventBus.fire(oldEvent);
-        if (oldEvent.isCancelled()) {
-            return;
-        }
+    private static List<CommandData> createCommandData(Map<BedrockCommandInfo, Set<String>> commands) {
+        List<CommandData> commandData = new ArrayList<>();
 
         // The command flags, set to NOT_CHEAT so known commands can be used while achievements are enabled.
         Set<CommandData.Flag> flags = Set.of(CommandData.Flag.NOT_CHEAT);
@@ -224,19 +275,7 @@ public class JavaCommandsTranslator extends PacketTranslator<ClientboundCommands
             // https://github.com/GeyserMC/Geyser/issues/2573 if Brigadier does not send the help command.
             commandData.add(createFakeHelpCommand());
         }
-
-        if (session.getGeyser().platformType() == PlatformType.STANDALONE) {
-            session.getGeyser().commandRegistry().export(session, commandData, knownAliases);
-        }
-
-        // Add our commands to the AvailableCommandsPacket for the bedrock client
-        AvailableCommandsPacket availableCommandsPacket = new AvailableCommandsPacket();
-        availableCommandsPacket.getCommands().addAll(commandData);
-
-        session.getGeyser().getLogger().debug("Sending command packet of " + commandData.size() + " commands");
-
-        // Finally, send the commands to the client
-        session.sendUpstreamPacket(availableCommandsPacket);
+        return commandData;
     }
 
     /**
@@ -315,7 +354,7 @@ public class JavaCommandsTranslator extends PacketTranslator<ClientboundCommands
         };
     }
 
-    private CommandData createFakeHelpCommand() {
+    private static CommandData createFakeHelpCommand() {
         CommandEnumData aliases = new CommandEnumData("helpAliases", Map.of("help", EnumSet.of(CommandEnumConstraint.ALLOW_ALIASES)), false);
         return new CommandData("help", "", Set.of(CommandData.Flag.NOT_CHEAT), CommandPermission.ANY, aliases, Collections.emptyList(), new CommandOverloadData[0]);
     }
@@ -329,6 +368,89 @@ public class JavaCommandsTranslator extends PacketTranslator<ClientboundCommands
     {
     }
 
+    /**
+     * The result of translating a command tree, shared between all sessions that receive the same tree.
+     */
+    private record TranslatedCommands(Map<BedrockCommandInfo, Set<String>> commands, Set<String> knownAliases,
+                                      List<String> knownCommands, List<String> restrictedCommands, List<CommandData> commandData) {
+    }
+
+    /**
+     * Compares command trees by their structure, as every session receives its own copy of the same tree.
+     * Also holds everything from the session that ends up in the translated commands.
+     */
+    @VisibleForTesting
+    static final class CommandTreeKey {
+        private final CommandNode[] nodes;
+        private final int firstNodeIndex;
+        private final String locale;
+        private final List<Object> sessionData;
+        private final int hash;
+
+        CommandTreeKey(GeyserSession session, ClientboundCommandsPacket packet) {
+            this.nodes = packet.getNodes();
+            this.firstNodeIndex = packet.getFirstNodeIndex();
+            this.locale = session.locale();
+
+            int hash = 31 * firstNodeIndex + locale.hashCode();
+            boolean usesTeams = false;
+            for (CommandNode node : nodes) {
+                hash = 31 * hash + hashNode(node);
+                usesTeams |= node.getParser() == CommandParser.TEAM;
+            }
+
+            List<Object> sessionData = new ArrayList<>(3);
+            sessionData.add(session.getLevels() == null ? List.of() : Arrays.asList(session.getLevels()));
+            sessionData.add(session.getRegistryCache().registry(JavaRegistries.ENCHANTMENT).keys());
+            if (usesTeams) {
+                // Only the initial values of this soft enum are part of the tree
+                sessionData.add(List.copyOf(session.getWorldCache().getScoreboard().getTeamNames().keySet()));
+            }
+            this.sessionData = sessionData;
+            this.hash = 31 * hash + sessionData.hashCode();
+        }
+
+        private static int hashNode(CommandNode node) {
+            int hash = node.getType().hashCode();
+            hash = 31 * hash + Boolean.hashCode(node.isExecutable());
+            hash = 31 * hash + Arrays.hashCode(node.getChildIndices());
+            hash = 31 * hash + node.getRedirectIndex().hashCode();
+            hash = 31 * hash + Objects.hashCode(node.getName());
+            hash = 31 * hash + Objects.hashCode(node.getParser());
+            hash = 31 * hash + Objects.hashCode(node.getProperties());
+            hash = 31 * hash + Objects.hashCode(node.getSuggestionType());
+            return 31 * hash + Boolean.hashCode(node.isAllowsRestricted());
+        }
+
+        private static boolean nodeEquals(CommandNode a, CommandNode b) {
+            return a.getType() == b.getType() && a.isExecutable() == b.isExecutable()
+                && Arrays.equals(a.getChildIndices(), b.getChildIndices())
+                && a.getRedirectIndex().equals(b.getRedirectIndex())
+                && Objects.equals(a.getName(), b.getName())
+                && a.getParser() == b.getParser()
+                && Objects.equals(a.getProperties(), b.getProperties())
+                && Objects.equals(a.getSuggestionType(), b.getSuggestionType())
+                && a.isAllowsRestricted() == b.isAllowsRestricted();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof CommandTreeKey other)) return false;
+            if (hash != other.hash || firstNodeIndex != other.firstNodeIndex || nodes.length != other.nodes.length) return false;
+            if (!locale.equals(other.locale) || !sessionData.equals(other.sessionData)) return false;
+            for (int i = 0; i < nodes.length; i++) {
+                if (!nodeEquals(nodes[i], other.nodes[i])) return false;
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
     /**
      * Stores command completions so we don't have to rebuild the same values multiple times.
      */
@@ -89,5 +89,8 @@ public class JavaFinishConfigurationTranslator extends PacketTranslator<Clientbo
         // and this packet indirectly creates the new one.
         // This makes this packet a good place to reset the scoreboard.
         session.getWorldCache().resetScoreboard();
+
+        // Registries such as enchantments and trim materials may have changed
+        session.invalidateTranslatedItems();
     }
 }
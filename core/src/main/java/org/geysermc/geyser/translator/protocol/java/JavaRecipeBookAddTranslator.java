@@ -25,6 +25,8 @@
 
 package org.geysermc.geyser.translator.protocol.java;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Lists;
 import it.unimi.dsi.fastutil.Pair;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
@@ -46,6 +48,7 @@ import org.geysermc.geyser.inventory.recipe.GeyserRecipe;
 import org.geysermc.geyser.inventory.recipe.GeyserShapedRecipe;
 import org.geysermc.geyser.inventory.recipe.GeyserShapelessRecipe;
 import org.geysermc.geyser.inventory.recipe.GeyserSmithingRecipe;
+import org.geysermc.geyser.inventory.recipe.RecipeTranslationKey;
 import org.geysermc.geyser.item.Items;
 import org.geysermc.geyser.item.type.BedrockRequiresTagItem;
 import org.geysermc.geyser.item.type.Item;
@@ -83,11 +86,21 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Translator(packet = ClientboundRecipeBookAddPacket.class)
 public class JavaRecipeBookAddTranslator extends PacketTranslator<ClientboundRecipeBookAddPacket> {
 
+    /**
+     * Translating recipes is expensive with many recipes, and most players unlock the same ones.
+     */
+    private static final Cache<RecipeTranslationKey, TranslatedDisplay> DISPLAY_CACHE = CacheBuilder.newBuilder()
+            .maximumSize(16384)
+            .expireAfterAccess(1, TimeUnit.HOURS)
+            .build();
+    private static final TranslatedDisplay UNTRANSLATABLE = new TranslatedDisplay(List.of(), ItemData.AIR);
+
     @Override
     public void translate(GeyserSession session, ClientboundRecipeBookAddPacket packet) {
         int netId = session.getLastRecipeNetId().get();
@@ -102,23 +115,28 @@ public class JavaRecipeBookAddTranslator extends PacketTranslator<ClientboundRec
             RecipeDisplayEntry contents = entry.contents();
             RecipeDisplay display = contents.display();
 
+            if (display instanceof SmithingRecipeDisplay && display.result() instanceof SmithingTrimDemoSlotDisplay) {
+                // Skip these - Bedrock already knows about them from the TrimDataPacket
+                continue;
+            }
+
+            TranslatedDisplay translated = translatedDisplay(session, display);
+            if (translated == null) {
+                continue;
+            }
+
+            List<String> bedrockRecipeIds = new ArrayList<>();
+            List<List<ItemDescriptorWithCount>> inputs = translated.inputs();
+            ItemData output = translated.output();
             switch (display.getType()) {
                 case CRAFTING_SHAPED -> {
                     ShapedCraftingRecipeDisplay shapedRecipe = (ShapedCraftingRecipeDisplay) display;
-                    var bedrockRecipes = combinations(session, display, shapedRecipe.ingredients());
-                    if (bedrockRecipes == null) {
-                        continue;
-                    }
-                    List<String> bedrockRecipeIds = new ArrayList<>();
-                    ItemData output = bedrockRecipes.right();
-                    List<List<ItemDescriptorWithCount>> left = bedrockRecipes.left();
                     GeyserRecipe geyserRecipe = new GeyserShapedRecipe(shapedRecipe);
-                    for (int i = 0; i < left.size(); i++) {
-                        List<ItemDescriptorWithCount> inputs = left.get(i);
+                    for (int i = 0; i < inputs.size(); i++) {
                         String recipeId = contents.id() + "_" + i;
                         int recipeNetworkId = netId++;
                         craftingDataPacket.getCraftingData().add(ShapedRecipeData.shaped(recipeId,
-                            shapedRecipe.width(), shapedRecipe.height(), inputs,
+                            shapedRecipe.width(), shapedRecipe.height(), inputs.get(i),
                             Collections.singletonList(output), UUID.randomUUID(), "crafting_table", 0, recipeNetworkId, false, RecipeUnlockingRequirement.INVALID));
                         recipesPacket.getUnlockedRecipes().add(recipeId);
                         bedrockRecipeIds.add(recipeId);
@@ -128,20 +146,12 @@ public class JavaRecipeBookAddTranslator extends PacketTranslator<ClientboundRec
                 }
                 case CRAFTING_SHAPELESS -> {
                     ShapelessCraftingRecipeDisplay shapelessRecipe = (ShapelessCraftingRecipeDisplay) display;
-                    var bedrockRecipes = combinations(session, display, shapelessRecipe.ingredients());
-                    if (bedrockRecipes == null) {
-                        continue;
-                    }
-                    List<String> bedrockRecipeIds = new ArrayList<>();
-                    ItemData output = bedrockRecipes.right();
-                    List<List<ItemDescriptorWithCount>> left = bedrockRecipes.left();
                     GeyserRecipe geyserRecipe = new GeyserShapelessRecipe(shapelessRecipe);
-                    for (int i = 0; i < left.size(); i++) {
-                        List<ItemDescriptorWithCount> inputs = left.get(i);
+                    for (int i = 0; i < inputs.size(); i++) {
                         String recipeId = contents.id() + "_" + i;
                         int recipeNetworkId = netId++;
                         craftingDataPacket.getCraftingData().add(ShapelessRecipeData.shapeless(recipeId,
-                            inputs, Collections.singletonList(output), UUID.randomUUID(), "crafting_table", 0, recipeNetworkId, RecipeUnlockingRequirement.INVALID));
+                            inputs.get(i), Collections.singletonList(output), UUID.randomUUID(), "crafting_table", 0, recipeNetworkId, RecipeUnlockingRequirement.INVALID));
                         recipesPacket.getUnlockedRecipes().add(recipeId);
                         bedrockRecipeIds.add(recipeId);
                         geyserRecipes.put(recipeNetworkId, geyserRecipe);
@@ -149,41 +159,19 @@ public class JavaRecipeBookAddTranslator extends PacketTranslator<ClientboundRec
                     javaToBedrockRecipeIds.put(contents.id(), List.copyOf(bedrockRecipeIds));
                 }
                 case SMITHING -> {
-                    if (display.result() instanceof SmithingTrimDemoSlotDisplay) {
-                        // Skip these - Bedrock already knows about them from the TrimDataPacket
-                        continue;
-                    }
-                    SmithingRecipeDisplay smithingRecipe = (SmithingRecipeDisplay) display;
-                    Pair<Item, ItemData> output = translateToOutput(session, smithingRecipe.result());
-                    if (output == null) {
-                        continue;
-                    }
-
-                    List<ItemDescriptorWithCount> bases = translateToInput(session, smithingRecipe.base());
-                    List<ItemDescriptorWithCount> templates = translateToInput(session, smithingRecipe.template());
-                    List<ItemDescriptorWithCount> additions = translateToInput(session, smithingRecipe.addition());
-
-                    if (bases == null || templates == null || additions == null) {
-                        continue;
-                    }
-
-                    int i = 0;
-                    List<String> bedrockRecipeIds = new ArrayList<>();
-                    for (ItemDescriptorWithCount template : templates) {
-                        for (ItemDescriptorWithCount base : bases) {
-                            for (ItemDescriptorWithCount addition : additions) {
-                                String id = contents.id() + "_" + i++;
-                                // Note: vanilla inputs use aux value of Short.MAX_VALUE
-                                craftingDataPacket.getCraftingData().add(SmithingTransformRecipeData.of(id,
-                                        template, base, addition, output.right(), "smithing_table", netId++));
-
-                                recipesPacket.getUnlockedRecipes().add(id);
-                                bedrockRecipeIds.add(id);
-                            }
-                        }
+                    for (int i = 0; i < inputs.size(); i++) {
+                        // Template, base and addition
+                        List<ItemDescriptorWithCount> smithingInputs = inputs.get(i);
+                        String id = contents.id() + "_" + i;
+                        // Note: vanilla inputs use aux value of Short.MAX_VALUE
+                        craftingDataPacket.getCraftingData().add(SmithingTransformRecipeData.of(id,
+                                smithingInputs.get(0), smithingInputs.get(1), smithingInputs.get(2), output, "smithing_table", netId++));
+
+                        recipesPacket.getUnlockedRecipes().add(id);
+                        bedrockRecipeIds.add(id);
                     }
                     javaToBedrockRecipeIds.put(contents.id(), bedrockRecipeIds);
-                    session.getSmithingRecipes().add(new GeyserSmithingRecipe(smithingRecipe));
+                    session.getSmithingRecipes().add(new GeyserSmithingRecipe((SmithingRecipeDisplay) display));
                 }
             }
         }
@@ -201,6 +189,63 @@ public class JavaRecipeBookAddTranslator extends PacketTranslator<ClientboundRec
         TAG_TO_ITEM_DESCRIPTOR_CACHE.remove();
     }
 
+    /**
+     * Returns the Bedrock inputs and output of a recipe display, shared between all sessions that translate it the same way.
+     *
+     * @return null if this recipe cannot be sent to Bedrock
+     */
+    private @Nullable TranslatedDisplay translatedDisplay(GeyserSession session, RecipeDisplay display) {
+        RecipeTranslationKey key = RecipeTranslationKey.of(session, display);
+        TranslatedDisplay translated = DISPLAY_CACHE.getIfPresent(key);
+        if (translated == null) {
+            translated = translateDisplay(session, display);
+            DISPLAY_CACHE.put(key, translated);
+        }
+        return translated == UNTRANSLATABLE ? null : translated;
+    }
+
+    private TranslatedDisplay translateDisplay(GeyserSession session, RecipeDisplay display) {
+        switch (display.getType()) {
+            case CRAFTING_SHAPED, CRAFTING_SHAPELESS -> {
+                List<SlotDisplay> ingredients = display instanceof ShapedCraftingRecipeDisplay shapedRecipe ?
+                    shapedRecipe.ingredients() : ((ShapelessCraftingRecipeDisplay) display).ingredients();
+                var bedrockRecipes = combinations(session, display, ingredients);
+                if (bedrockRecipes == null) {
+                    return UNTRANSLATABLE;
+                }
+                return new TranslatedDisplay(bedrockRecipes.left(), bedrockRecipes.right());
+            }
+            case SMITHING -> {
+                SmithingRecipeDisplay smithingRecipe = (SmithingRecipeDisplay) display;
+                Pair<Item, ItemData> output = translateToOutput(session, smithingRecipe.result());
+                if (output == null) {
+                    return UNTRANSLATABLE;
+                }
+
+                List<ItemDescriptorWithCount> bases = translateToInput(session, smithingRecipe.base());
+                List<ItemDescriptorWithCount> templates = translateToInput(session, smithingRecipe.template());
+                List<ItemDescriptorWithCount> additions = translateToInput(session, smithingRecipe.addition());
+
+                if (bases == null || templates == null || additions == null) {
+                    return UNTRANSLATABLE;
+                }
+
+                List<List<ItemDescriptorWithCount>> inputs = new ArrayList<>();
+                for (ItemDescriptorWithCount template : templates) {
+                    for (ItemDescriptorWithCount base : bases) {
+                        for (ItemDescriptorWithCount addition : additions) {
+                            inputs.add(List.of(template, base, addition));
+                        }
+                    }
+                }
+                return new TranslatedDisplay(inputs, output.right());
+            }
+            default -> {
+                return UNTRANSLATABLE;
+            }
+        }
+    }
+
     // Arrays are usually an issue in maps, but because it's referencing the tag array that is unchanged, it actually works out for us.
     private static final ThreadLocal<Map<int[], List<ItemDescriptorWithCount>>> TAG_TO_ITEM_DESCRIPTOR_CACHE = ThreadLocal.withInitial(Object2ObjectOpenHashMap::new);
 
@@ -413,6 +458,12 @@ public class JavaRecipeBookAddTranslator extends PacketTranslator<ClientboundRec
         return Pair.of(finalRecipes, output);
     }
 
+    /**
+     * @param inputs every combination of inputs that should be sent as a separate Bedrock recipe
+     */
+    private record TranslatedDisplay(List<List<ItemDescriptorWithCount>> inputs, ItemData output) {
+    }
+
     static class ItemDescriptorWithCountComparator implements Comparator<ItemDescriptorWithCount> {
 
         static ItemDescriptorWithCountComparator INSTANCE = new ItemDescriptorWithCountComparator();
@@ -25,6 +25,8 @@
 
 package org.geysermc.geyser.translator.protocol.java;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import net.kyori.adventure.key.Key;
@@ -41,6 +43,7 @@ import org.cloudburstmc.protocol.bedrock.packet.CraftingDataPacket;
 import org.cloudburstmc.protocol.bedrock.packet.TrimDataPacket;
 import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.inventory.recipe.GeyserStonecutterData;
+import org.geysermc.geyser.inventory.recipe.RecipeTranslationKey;
 import org.geysermc.geyser.inventory.recipe.TrimRecipe;
 import org.geysermc.geyser.item.Items;
 import org.geysermc.geyser.registry.type.ItemMapping;
@@ -52,7 +55,6 @@ import org.geysermc.geyser.translator.protocol.PacketTranslator;
 import org.geysermc.geyser.translator.protocol.Translator;
 import org.geysermc.geyser.util.MinecraftKey;
 import org.geysermc.mcprotocollib.protocol.data.game.item.ItemStack;
-import org.geysermc.mcprotocollib.protocol.data.game.item.component.HolderSet;
 import org.geysermc.mcprotocollib.protocol.data.game.recipe.display.slot.ItemStackSlotDisplay;
 import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.ClientboundUpdateRecipesPacket;
 import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.ClientboundUpdateRecipesPacket.SelectableRecipe;
@@ -62,6 +64,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Used to send all valid recipes from Java to Bedrock.
@@ -87,6 +90,14 @@ public class JavaUpdateRecipesTranslator extends PacketTranslator<ClientboundUpd
     private static final Key SMITHING_TEMPLATE = MinecraftKey.key("smithing_template");
     private static final Key SMITHING_ADDITION = MinecraftKey.key("smithing_addition");
 
+    /**
+     * Servers send the same stonecutter recipes to every player, so their translation is shared between sessions.
+     */
+    private static final Cache<RecipeTranslationKey, List<StonecutterRecipe>> STONECUTTER_CACHE = CacheBuilder.newBuilder()
+            .maximumSize(16)
+            .expireAfterAccess(1, TimeUnit.HOURS)
+            .build();
+
     @Override
     public void translate(GeyserSession session, ClientboundUpdateRecipesPacket packet) {
         int netId = session.getLastRecipeNetId().get();
@@ -117,9 +128,40 @@ public class JavaUpdateRecipesTranslator extends PacketTranslator<ClientboundUpd
         session.getGeyser().getLogger().debug("Using old smithing table workaround? " + oldSmithingTable);
         session.setOldSmithingTable(oldSmithingTable);
 
+        RecipeTranslationKey key = RecipeTranslationKey.of(session, packet.getStonecutterRecipes());
+        List<StonecutterRecipe> stonecutterRecipes = STONECUTTER_CACHE.getIfPresent(key);
+        if (stonecutterRecipes == null) {
+            stonecutterRecipes = translateStonecutterRecipes(session, packet.getStonecutterRecipes());
+            STONECUTTER_CACHE.put(key, stonecutterRecipes);
+        }
+
+        Int2ObjectMap<GeyserStonecutterData> stonecutterRecipeMap = new Int2ObjectOpenHashMap<>();
+        for (StonecutterRecipe recipe : stonecutterRecipes) {
+            int recipeNetId = netId++;
+            UUID uuid = UUID.randomUUID();
+            // We need to register stonecutting recipes, so they show up on Bedrock
+            // (Implementation note: recipe ID creates the order which stonecutting recipes are shown in stonecutter)
+            craftingDataPacket.getCraftingData().add(ShapelessRecipeData.shapeless("stonecutter_" + recipe.javaInput() + "_" + recipe.buttonId(),
+                Collections.singletonList(recipe.input()), Collections.singletonList(recipe.output()), uuid, "stonecutter", 0, recipeNetId, RecipeUnlockingRequirement.INVALID));
+
+            // Save the recipe list for reference when crafting
+            // Add the net ID as the key and the button required + output for the value
+            stonecutterRecipeMap.put(recipeNetId, new GeyserStonecutterData(recipe.buttonId(), recipe.javaOutput()));
+
+            // Currently, stone cutter recipes are not locked/unlocked on Bedrock; so no need to cache their identifiers.
+        }
+
+        session.sendUpstreamPacket(craftingDataPacket);
+        session.setStonecutterRecipes(stonecutterRecipeMap);
+        session.getLastRecipeNetId().set(netId);
+    }
+    
+    /**
+     * Translates stonecutter recipes without their network IDs, so the result can be shared between sessions.
+     */
+    private static List<StonecutterRecipe> translateStonecutterRecipes(GeyserSession session, List<SelectableRecipe> stonecutterRecipes) {
         Int2ObjectMap<List<SelectableRecipe>> rawStonecutterData = new Int2ObjectOpenHashMap<>();
 
-        List<SelectableRecipe> stonecutterRecipes = packet.getStonecutterRecipes();
         for (SelectableRecipe recipe : stonecutterRecipes) {
             // Hardcoding the heck out of this until we see different examples of how this works.
             if (!(recipe.recipe() instanceof ItemStackSlotDisplay)) {
@@ -134,7 +176,7 @@ public class JavaUpdateRecipesTranslator extends PacketTranslator<ClientboundUpd
             }
         }
 
-        Int2ObjectMap<GeyserStonecutterData> stonecutterRecipeMap = new Int2ObjectOpenHashMap<>();
+        List<StonecutterRecipe> translated = new ArrayList<>();
         for (Int2ObjectMap.Entry<List<SelectableRecipe>> data : rawStonecutterData.int2ObjectEntrySet()) {
             // Implementation note: data used to have to be sorted according to the item translation key.
             // This is no longer necessary as of 1.21.2, and is instead presented in the order the server sends us.
@@ -143,7 +185,6 @@ public class JavaUpdateRecipesTranslator extends PacketTranslator<ClientboundUpd
             int buttonId = 0;
             for (SelectableRecipe recipe : data.getValue()) {
                 // As of 1.16.4, all stonecutter recipes have one ingredient option
-                HolderSet ingredient = recipe.input().getValues();
                 int javaInput = data.getIntKey();
                 ItemMapping mapping = session.getItemMappings().getMapping(javaInput);
                 if (mapping.getJavaItem() == Items.AIR) {
@@ -157,26 +198,12 @@ public class JavaUpdateRecipesTranslator extends PacketTranslator<ClientboundUpd
                     // Probably modded items
                     continue;
                 }
-                int recipeNetId = netId++;
-                UUID uuid = UUID.randomUUID();
-                // We need to register stonecutting recipes, so they show up on Bedrock
-                // (Implementation note: recipe ID creates the order which stonecutting recipes are shown in stonecutter)
-                craftingDataPacket.getCraftingData().add(ShapelessRecipeData.shapeless("stonecutter_" + javaInput + "_" + buttonId,
-                    Collections.singletonList(descriptor), Collections.singletonList(output), uuid, "stonecutter", 0, recipeNetId, RecipeUnlockingRequirement.INVALID));
-
-                // Save the recipe list for reference when crafting
-                // Add the net ID as the key and the button required + output for the value
-                stonecutterRecipeMap.put(recipeNetId, new GeyserStonecutterData(buttonId++, javaOutput));
-
-                // Currently, stone cutter recipes are not locked/unlocked on Bedrock; so no need to cache their identifiers.
+                translated.add(new StonecutterRecipe(javaInput, buttonId++, descriptor, output, javaOutput));
             }
         }
-
-        session.sendUpstreamPacket(craftingDataPacket);
-        session.setStonecutterRecipes(stonecutterRecipeMap);
-        session.getLastRecipeNetId().set(netId);
+        return List.copyOf(translated);
     }
-    
+
     private void addSmithingTransformRecipes(GeyserSession session, List<RecipeData> recipes) {
         ItemMapping template = session.getItemMappings().getStoredItems().upgradeTemplate();
 
@@ -199,4 +226,7 @@ public class JavaUpdateRecipesTranslator extends PacketTranslator<ClientboundUpd
         GeyserImpl.getInstance().getLogger().debug("Unable to find item with identifier " + bedrockId);
         return ItemDescriptorWithCount.EMPTY;
     }
+
+    private record StonecutterRecipe(int javaInput, int buttonId, ItemDescriptorWithCount input, ItemData output, ItemStack javaOutput) {
+    }
 }
@@ -28,6 +28,7 @@ package org.geysermc.geyser.translator.protocol.java.level;
 import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.level.ClientboundChunkBatchFinishedPacket;
 import org.geysermc.mcprotocollib.protocol.packet.ingame.serverbound.level.ServerboundChunkBatchReceivedPacket;
 import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.cache.ChunkSendQueue;
 import org.geysermc.geyser.translator.protocol.PacketTranslator;
 import org.geysermc.geyser.translator.protocol.Translator;
 
@@ -36,9 +37,11 @@ public class JavaChunkBatchFinishedTranslator extends PacketTranslator<Clientbou
 
     @Override
     public void translate(GeyserSession session, ClientboundChunkBatchFinishedPacket packet) {
-        // server just sent a batch of LevelChunkWithLightPackets
-        // the vanilla client uses a ChunkBatchSizeCalculator to calculate the desiredChunksPerTick,
-        // but currently we just send an arbitrary value. server clamps the value between 0.01 and 64.
-        session.sendDownstreamGamePacket(new ServerboundChunkBatchReceivedPacket(20));
+        // server just sent a batch of LevelChunkWithLightPackets, which are sent to the Bedrock client now.
+        // like the vanilla client, the desiredChunksPerTick is based on how long recent batches took.
+        // server clamps the value between 0.01 and 64.
+        ChunkSendQueue queue = session.getChunkSendQueue();
+        queue.batchFinished();
+        session.sendDownstreamGamePacket(new ServerboundChunkBatchReceivedPacket(queue.desiredChunksPerTick()));
     }
 }
@@ -26,7 +26,6 @@
 package org.geysermc.geyser.translator.protocol.java.level;
 
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.ByteBufOutputStream;
 import io.netty.buffer.Unpooled;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
@@ -35,6 +34,8 @@ import it.unimi.dsi.fastutil.ints.IntList;
 import it.unimi.dsi.fastutil.ints.IntLists;
 import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import it.unimi.dsi.fastutil.ints.IntSet;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import org.cloudburstmc.math.vector.Vector3i;
 import org.cloudburstmc.nbt.NBTOutputStream;
@@ -42,16 +43,17 @@ import org.cloudburstmc.nbt.NbtMap;
 import org.cloudburstmc.nbt.NbtUtils;
 import org.cloudburstmc.protocol.bedrock.data.definitions.BlockDefinition;
 import org.cloudburstmc.protocol.bedrock.packet.LevelChunkPacket;
-import org.geysermc.geyser.entity.type.ItemFrameEntity;
 import org.geysermc.geyser.level.BedrockDimension;
 import org.geysermc.geyser.level.block.type.Block;
 import org.geysermc.geyser.level.block.type.BlockState;
 import org.geysermc.geyser.level.chunk.BlockStorage;
 import org.geysermc.geyser.level.chunk.GeyserChunkSection;
+import org.geysermc.geyser.level.chunk.UniformChunkSection;
 import org.geysermc.geyser.level.chunk.bitarray.BitArray;
 import org.geysermc.geyser.level.chunk.bitarray.BitArrayVersion;
-import org.geysermc.geyser.level.chunk.bitarray.SingletonBitArray;
+import org.geysermc.geyser.metrics.PerformanceMetrics;
 import org.geysermc.geyser.registry.BlockRegistries;
+import org.geysermc.geyser.registry.type.BlockMappings;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.session.cache.registry.JavaRegistries;
 import org.geysermc.geyser.translator.level.BiomeTranslator;
@@ -74,19 +76,36 @@ import org.geysermc.mcprotocollib.protocol.data.game.level.block.BlockEntityType
 import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.level.ClientboundLevelChunkWithLightPacket;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.List;
-import java.util.Map;
 
 import static org.geysermc.geyser.util.ChunkUtils.*;
 
 @Translator(packet = ClientboundLevelChunkWithLightPacket.class)
 public class JavaLevelChunkWithLightTranslator extends PacketTranslator<ClientboundLevelChunkWithLightPacket> {
     private static final ThreadLocal<ExtendedCollisionsStorage> EXTENDED_COLLISIONS_STORAGE = ThreadLocal.withInitial(ExtendedCollisionsStorage::new);
+    private static final ThreadLocal<ChunkScratch> CHUNK_SCRATCH = ThreadLocal.withInitial(ChunkScratch::new);
 
     @Override
     public void translate(GeyserSession session, ClientboundLevelChunkWithLightPacket packet) {
-        final boolean useExtendedCollisions = !session.getBlockMappings().getExtendedCollisionBoxes().isEmpty();
+        PerformanceMetrics metrics = PerformanceMetrics.ifEnabled();
+        if (metrics == null) {
+            translateChunk(session, packet);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            translateChunk(session, packet);
+        } finally {
+            metrics.getChunkTranslation().record(System.nanoTime() - start);
+        }
+    }
+
+    private void translateChunk(GeyserSession session, ClientboundLevelChunkWithLightPacket packet) {
+        final BlockMappings blockMappings = session.getBlockMappings();
+        final boolean useExtendedCollisions = !blockMappings.getExtendedCollisionBoxes().isEmpty();
 
         if (session.isSpawned()) {
             ChunkUtils.updateChunkPosition(session, session.getPlayerEntity().getPosition().toInt());
@@ -96,26 +115,30 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
         int yOffset = session.getChunkCache().getChunkMinY();
         int chunkSize = session.getChunkCache().getChunkHeightY();
 
+        // Cached by the chunk cache, so this cannot be reused
         DataPalette[] javaChunks = new DataPalette[chunkSize];
-        DataPalette[] javaBiomes = new DataPalette[chunkSize];
+
+        final ChunkScratch scratch = CHUNK_SCRATCH.get();
+        DataPalette[] javaBiomes = scratch.javaBiomes(chunkSize);
 
         final BlockEntityInfo[] blockEntities = packet.getBlockEntities();
-        final List<NbtMap> bedrockBlockEntities = new ObjectArrayList<>(blockEntities.length);
+        final List<NbtMap> bedrockBlockEntities = scratch.bedrockBlockEntities;
 
-        BitSet waterloggedPaletteIds = new BitSet();
-        BitSet bedrockOnlyBlockEntityIds = new BitSet();
+        BitSet waterloggedPaletteIds = scratch.waterloggedPaletteIds;
+        BitSet bedrockOnlyBlockEntityIds = scratch.bedrockOnlyBlockEntityIds;
 
         BedrockDimension bedrockDimension = session.getBedrockDimension();
         int maxBedrockSectionY = (bedrockDimension.height() >> 4) - 1;
 
         int sectionCount;
-        byte[] payload;
-        ByteBuf byteBuf = null;
+        ByteBuf byteBuf;
 
         // calculate the difference between the java dimension minY and the bedrock dimension minY as
         // the java chunk sections may need to be placed higher up in the bedrock chunk section array
         int sectionCountDiff = yOffset - (bedrockDimension.minY() >> 4);
-        GeyserChunkSection[] sections = new GeyserChunkSection[chunkSize + sectionCountDiff];
+        // The scratch array may be longer than needed
+        int sectionsLength = chunkSize + sectionCountDiff;
+        GeyserChunkSection[] sections = scratch.sections(sectionsLength);
 
         try {
             ByteBuf in = Unpooled.wrappedBuffer(packet.getChunkData());
@@ -148,7 +171,7 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
                             BitArray bedrockData = BitArrayVersion.forBitsCeil(Integer.SIZE - Integer.numberOfLeadingZeros(blocks)).createArray(BlockStorage.SIZE);
                             BlockStorage layer0 = new BlockStorage(bedrockData, new IntArrayList(blocks));
     
-                            layer0.idFor(session.getBlockMappings().getBedrockAir().getRuntimeId());
+                            layer0.idFor(blockMappings.getBedrockAir().getRuntimeId());
                             for (int yzx = 0; yzx < BlockStorage.SIZE / 16; yzx++) {
                                 if (EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY) != 0) {
                                     bedrockData.set(indexYZXtoXZY(yzx), layer0.idFor(EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY)));
@@ -170,16 +193,15 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
 
                 if (javaPalette instanceof GlobalPalette) {
                     // As this is the global palette, simply iterate through the whole chunk section once
-                    GeyserChunkSection section = new GeyserChunkSection(session.getBlockMappings().getBedrockAir().getRuntimeId(), subChunkIndex);
+                    GeyserChunkSection section = new GeyserChunkSection(blockMappings.getBedrockAir().getRuntimeId(), subChunkIndex);
                     for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
                         int javaId = javaData.get(yzx);
-                        BlockState state = BlockState.of(javaId);
-                        int bedrockId = session.getBlockMappings().getBedrockBlockId(javaId);
+                        long chunkState = blockMappings.getChunkState(javaId);
                         int xzy = indexYZXtoXZY(yzx);
-                        section.getBlockStorageArray()[0].setFullBlock(xzy, bedrockId);
+                        section.getBlockStorageArray()[0].setFullBlock(xzy, BlockMappings.chunkStateRuntimeId(chunkState));
 
-                        if (BlockRegistries.WATERLOGGED.get().get(javaId)) {
-                            section.getBlockStorageArray()[1].setFullBlock(xzy, session.getBlockMappings().getBedrockWater().getRuntimeId());
+                        if (BlockMappings.isChunkStateWaterlogged(chunkState)) {
+                            section.getBlockStorageArray()[1].setFullBlock(xzy, blockMappings.getBedrockWater().getRuntimeId());
                         }
 
                         // Extended collision blocks
@@ -191,9 +213,9 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
                                 EXTENDED_COLLISIONS_STORAGE.get().set(yzx, 0, sectionY);
                                 continue;
                             }
-                            BlockDefinition aboveBedrockExtendedCollisionDefinition = session.getBlockMappings().getExtendedCollisionBoxes().get(javaId);
-                            if (aboveBedrockExtendedCollisionDefinition != null) {
-                                EXTENDED_COLLISIONS_STORAGE.get().set((yzx + 0x100) & 0xFFF, aboveBedrockExtendedCollisionDefinition.getRuntimeId(), sectionY);
+                            int aboveExtendedCollision = BlockMappings.chunkStateExtendedCollision(chunkState);
+                            if (aboveExtendedCollision != -1) {
+                                EXTENDED_COLLISIONS_STORAGE.get().set((yzx + 0x100) & 0xFFF, aboveExtendedCollision, sectionY);
                                 if ((xzy & 0xF) == 15) {
                                     thisExtendedCollisionNextSection = true;
                                 }
@@ -201,8 +223,9 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
                         }
 
                         // Check if block is piston or flower to see if we'll need to create additional block entities, as they're only block entities in Bedrock
-                        if (state.block() instanceof BedrockChunkWantsBlockEntityTag blockEntity) {
-                            bedrockBlockEntities.add(blockEntity.createTag(session,
+                        if (BlockMappings.chunkStateWantsBlockEntity(chunkState)) {
+                            BlockState state = BlockState.of(javaId);
+                            bedrockBlockEntities.add(((BedrockChunkWantsBlockEntityTag) state.block()).createTag(session,
                                     Vector3i.from((packet.getX() << 4) + (yzx & 0xF), ((sectionY + yOffset) << 4) + ((yzx >> 8) & 0xF), (packet.getZ() << 4) + ((yzx >> 4) & 0xF)),
                                     state
                             ));
@@ -215,16 +238,9 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
 
                 if (javaPalette instanceof SingletonPalette) {
                     // There's only one block here. Very easy!
-                    int javaId = javaPalette.idToState(0);
-                    int bedrockId = session.getBlockMappings().getBedrockBlockId(javaId);
-                    BlockStorage blockStorage = new BlockStorage(SingletonBitArray.INSTANCE, IntLists.singleton(bedrockId));
-
-                    if (BlockRegistries.WATERLOGGED.get().get(javaId)) {
-                        BlockStorage waterlogged = new BlockStorage(SingletonBitArray.INSTANCE, IntLists.singleton(session.getBlockMappings().getBedrockWater().getRuntimeId()));
-                        sections[bedrockSectionY] = new GeyserChunkSection(new BlockStorage[] {blockStorage, waterlogged}, subChunkIndex);
-                    } else {
-                        sections[bedrockSectionY] = new GeyserChunkSection(new BlockStorage[] {blockStorage}, subChunkIndex);
-                    }
+                    long chunkState = blockMappings.getChunkState(javaPalette.idToState(0));
+                    int waterRuntimeId = BlockMappings.isChunkStateWaterlogged(chunkState) ? blockMappings.getBedrockWater().getRuntimeId() : -1;
+                    sections[bedrockSectionY] = scratch.uniformSection(subChunkIndex, BlockMappings.chunkStateRuntimeId(chunkState), waterRuntimeId);
                     if (useExtendedCollisions) {
                         EXTENDED_COLLISIONS_STORAGE.get().clear();
                         extendedCollisionNextSection = false;
@@ -233,7 +249,7 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
                     continue;
                 }
 
-                IntList bedrockPalette = new IntArrayList(javaPalette.size());
+                IntList bedrockPalette = scratch.palette(bedrockSectionY, javaPalette.size());
                 int airPaletteId = -1;
                 waterloggedPaletteIds.clear();
                 bedrockOnlyBlockEntityIds.clear();
@@ -242,9 +258,10 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
                 int extendedCollisionsInPalette = 0;
                 for (int i = 0; i < javaPalette.size(); i++) {
                     int javaId = javaPalette.idToState(i);
-                    bedrockPalette.add(session.getBlockMappings().getBedrockBlockId(javaId));
+                    long chunkState = blockMappings.getChunkState(javaId);
+                    bedrockPalette.add(BlockMappings.chunkStateRuntimeId(chunkState));
 
-                    if (BlockRegistries.WATERLOGGED.get().get(javaId)) {
+                    if (BlockMappings.isChunkStateWaterlogged(chunkState)) {
                         waterloggedPaletteIds.set(i);
                     }
 
@@ -252,17 +269,13 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
                         airPaletteId = i;
                     }
 
-                    if (useExtendedCollisions) {
-                        if (session.getBlockMappings().getExtendedCollisionBoxes().get(javaId) != null) {
-                            extendedCollision = true;
-                            extendedCollisionsInPalette++;
-                        }
+                    if (BlockMappings.chunkStateExtendedCollision(chunkState) != -1) {
+                        extendedCollision = true;
+                        extendedCollisionsInPalette++;
                     }
 
                     // Check if block is piston, flower or cauldron to see if we'll need to create additional block entities, as they're only block entities in Bedrock
-                    // TODO this needs a performance check when my head is clearer
-                    BlockState state = BlockState.of(javaId);
-                    if (state.block() instanceof BedrockChunkWantsBlockEntityTag) {
+                    if (BlockMappings.chunkStateWantsBlockEntity(chunkState)) {
                         bedrockOnlyBlockEntityIds.set(i);
                     }
                 }
@@ -290,7 +303,8 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
                     sectionCollisionBlocks = bottomLayerCollisions + extendedCollisionsInPalette;
                 }
                 int bedrockDataBits = Integer.SIZE - Integer.numberOfLeadingZeros(javaPalette.size() + sectionCollisionBlocks);
-                BitArray bedrockData = BitArrayVersion.forBitsCeil(bedrockDataBits).createArray(BlockStorage.SIZE);
+                // Every entry of the array is set below, so it doesn't matter what the reused words contain
+                BitArray bedrockData = scratch.layer0(bedrockSectionY, BitArrayVersion.forBitsCeil(bedrockDataBits));
                 BlockStorage layer0 = new BlockStorage(bedrockData, bedrockPalette);
                 BlockStorage[] layers;
 
@@ -308,7 +322,7 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
                 } else if (!waterloggedPaletteIds.isEmpty() && !extendedCollision) {
                     // The section contains waterlogged blocks, we need to convert coordinate order AND generate a V1 block storage for
                     // layer 1 with palette ID 1 indicating water
-                    int[] layer1Data = new int[BlockStorage.SIZE >> 5];
+                    int[] layer1Data = scratch.layer1Data(bedrockSectionY);
                     for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
                         int paletteId = javaData.get(yzx);
                         int xzy = indexYZXtoXZY(yzx);
@@ -321,8 +335,8 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
                     
                     // V1 palette
                     IntList layer1Palette = IntList.of(
-                            session.getBlockMappings().getBedrockAir().getRuntimeId(), // Air - see BlockStorage's constructor for more information
-                            session.getBlockMappings().getBedrockWater().getRuntimeId());
+                            blockMappings.getBedrockAir().getRuntimeId(), // Air - see BlockStorage's constructor for more information
+                            blockMappings.getBedrockWater().getRuntimeId());
 
                     layers = new BlockStorage[]{ layer0, new BlockStorage(BitArrayVersion.V1.createArray(BlockStorage.SIZE, layer1Data), layer1Palette) };
                 } else if (waterloggedPaletteIds.isEmpty()) {
@@ -338,10 +352,9 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
                             EXTENDED_COLLISIONS_STORAGE.get().set(yzx, 0, sectionY);
                             continue;
                         }
-                        BlockDefinition aboveBedrockExtendedCollisionDefinition = session.getBlockMappings()
-                                .getExtendedCollisionBoxes().get(javaPalette.idToState(paletteId));
-                        if (aboveBedrockExtendedCollisionDefinition != null) {
-                            EXTENDED_COLLISIONS_STORAGE.get().set((yzx + 0x100) & 0xFFF, aboveBedrockExtendedCollisionDefinition.getRuntimeId(), sectionY);
+                        int aboveExtendedCollision = BlockMappings.chunkStateExtendedCollision(blockMappings.getChunkState(javaPalette.idToState(paletteId)));
+                        if (aboveExtendedCollision != -1) {
+                            EXTENDED_COLLISIONS_STORAGE.get().set((yzx + 0x100) & 0xFFF, aboveExtendedCollision, sectionY);
                             if ((xzy & 0xF) == 15) {
                                 thisExtendedCollisionNextSection = true;
                             }
@@ -350,7 +363,7 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
 
                     layers = new BlockStorage[]{ layer0 };
                 } else {
-                    int[] layer1Data = new int[BlockStorage.SIZE >> 5];
+                    int[] layer1Data = scratch.layer1Data(bedrockSectionY);
                     for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
                         int paletteId = javaData.get(yzx);
                         int xzy = indexYZXtoXZY(yzx);
@@ -367,10 +380,9 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
                             EXTENDED_COLLISIONS_STORAGE.get().set(yzx, 0, sectionY);
                             continue;
                         }
-                        BlockDefinition aboveBedrockExtendedCollisionDefinition = session.getBlockMappings().getExtendedCollisionBoxes()
-                                .get(javaPalette.idToState(paletteId));
-                        if (aboveBedrockExtendedCollisionDefinition != null) {
-                            EXTENDED_COLLISIONS_STORAGE.get().set((yzx + 0x100) & 0xFFF, aboveBedrockExtendedCollisionDefinition.getRuntimeId(), sectionY);
+                        int aboveExtendedCollision = BlockMappings.chunkStateExtendedCollision(blockMappings.getChunkState(javaPalette.idToState(paletteId)));
+                        if (aboveExtendedCollision != -1) {
+                            EXTENDED_COLLISIONS_STORAGE.get().set((yzx + 0x100) & 0xFFF, aboveExtendedCollision, sectionY);
                             if ((xzy & 0xF) == 15) {
                                 thisExtendedCollisionNextSection = true;
                             }
@@ -379,8 +391,8 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
 
                     // V1 palette
                     IntList layer1Palette = IntList.of(
-                            session.getBlockMappings().getBedrockAir().getRuntimeId(), // Air - see BlockStorage's constructor for more information
-                            session.getBlockMappings().getBedrockWater().getRuntimeId());
+                            blockMappings.getBedrockAir().getRuntimeId(), // Air - see BlockStorage's constructor for more information
+                            blockMappings.getBedrockWater().getRuntimeId());
 
                     layers = new BlockStorage[]{ layer0, new BlockStorage(BitArrayVersion.V1.createArray(BlockStorage.SIZE, layer1Data), layer1Palette) };
                 }
@@ -443,7 +455,7 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
             }
 
             // Find highest section
-            sectionCount = sections.length - 1;
+            sectionCount = sectionsLength - 1;
             while (sectionCount >= 0 && sections[sectionCount] == null) {
                 sectionCount--;
             }
@@ -466,15 +478,16 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
             size += 1; // Border blocks
             size += bedrockBlockEntities.size() * 64; // Conservative estimate of 64 bytes per tile entity
 
-            // Allocate output buffer
-            byteBuf = ByteBufAllocator.DEFAULT.ioBuffer(size);
+            // Allocate output buffer. This is handed to the packet as-is; it is a heap buffer so nothing
+            // leaks should the packet never make it to the encoder.
+            byteBuf = Unpooled.buffer(size);
             for (int i = 0; i < sectionCount; i++) {
                 GeyserChunkSection section = sections[i];
                 if (section != null) {
                     section.writeToNetwork(byteBuf);
                 } else {
                     int subChunkIndex = (i + (bedrockDimension.minY() >> 4));
-                    new GeyserChunkSection(EMPTY_BLOCK_STORAGE, subChunkIndex).writeToNetwork(byteBuf);
+                    GeyserChunkSection.writeEmpty(byteBuf, subChunkIndex);
                 }
             }
 
@@ -493,7 +506,7 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
                     continue;
                 }
 
-                BiomeTranslator.toNewBedrockBiome(session, javaBiomes[i + (dimensionOffset - yOffset)]).writeToNetwork(byteBuf);
+                BiomeTranslator.writeBedrockBiome(session, javaBiomes[i + (dimensionOffset - yOffset)], byteBuf);
             }
 
             byteBuf.writeByte(0); // Border blocks - Edu edition only
@@ -503,15 +516,11 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
             for (NbtMap blockEntity : bedrockBlockEntities) {
                 nbtStream.writeTag(blockEntity);
             }
-            payload = new byte[byteBuf.readableBytes()];
-            byteBuf.readBytes(payload);
         } catch (IOException e) {
             session.getGeyser().getLogger().error("IO error while encoding chunk", e);
             return;
         } finally {
-            if (byteBuf != null) {
-                byteBuf.release(); // Release buffer to allow buffer pooling to be useful
-            }
+            scratch.clear();
         }
 
         LevelChunkPacket levelChunkPacket = new LevelChunkPacket();
@@ -519,17 +528,107 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
         levelChunkPacket.setCachingEnabled(false);
         levelChunkPacket.setChunkX(packet.getX());
         levelChunkPacket.setChunkZ(packet.getZ());
-        levelChunkPacket.setData(Unpooled.wrappedBuffer(payload));
+        levelChunkPacket.setData(byteBuf);
         levelChunkPacket.setDimension(session.getBedrockDimension().bedrockId());
         session.sendUpstreamPacket(levelChunkPacket);
 
-        for (Map.Entry<Vector3i, ItemFrameEntity> entry : session.getItemFrameCache().entrySet()) {
-            Vector3i position = entry.getKey();
-            if ((position.getX() >> 4) == packet.getX() && (position.getZ() >> 4) == packet.getZ()) {
-                // Update this item frame so it doesn't get lost in the abyss
-                //TODO optimize
-                entry.getValue().updateBlock(true);
+        session.getItemFrameCache().scheduleChunkRefresh(packet.getX(), packet.getZ());
+    }
+
+    /**
+     * Structures reused between chunk translations on the same thread. Nothing handed out here
+     * may be referenced once the chunk has been encoded.
+     */
+    static final class ChunkScratch {
+        private static final BitArrayVersion[] VERSIONS = BitArrayVersion.values();
+        private static final int MAX_UNIFORM_SECTIONS = 4096;
+
+        final List<NbtMap> bedrockBlockEntities = new ObjectArrayList<>();
+        /**
+         * Encoded uniform sections by sub chunk index, runtime ID and water runtime ID. These only depend on
+         * runtime IDs, and so can be shared between sessions with different block mappings.
+         */
+        private final Long2ObjectMap<UniformChunkSection> uniformSections = new Long2ObjectOpenHashMap<>();
+        final BitSet waterloggedPaletteIds = new BitSet();
+        final BitSet bedrockOnlyBlockEntityIds = new BitSet();
+        private DataPalette[] javaBiomes = new DataPalette[0];
+        private GeyserChunkSection[] sections = new GeyserChunkSection[0];
+        private IntArrayList[] palettes = new IntArrayList[0];
+        private int[][] layer1Data = new int[0][];
+        /**
+         * Section -> bit array version -> words
+         */
+        private int[][][] layer0Words = new int[0][][];
+
+        DataPalette[] javaBiomes(int length) {
+            if (javaBiomes.length < length) {
+                javaBiomes = new DataPalette[length];
+            }
+            return javaBiomes;
+        }
+
+        GeyserChunkSection[] sections(int length) {
+            if (sections.length < length) {
+                sections = new GeyserChunkSection[length];
+                palettes = Arrays.copyOf(palettes, length);
+                layer1Data = Arrays.copyOf(layer1Data, length);
+                layer0Words = Arrays.copyOf(layer0Words, length);
             }
+            return sections;
+        }
+
+        IntArrayList palette(int section, int capacity) {
+            IntArrayList palette = palettes[section];
+            if (palette == null) {
+                palette = palettes[section] = new IntArrayList(capacity);
+            } else {
+                palette.clear();
+                palette.ensureCapacity(capacity);
+            }
+            return palette;
+        }
+
+        int[] layer1Data(int section) {
+            int[] data = layer1Data[section];
+            if (data == null) {
+                data = layer1Data[section] = new int[BlockStorage.SIZE >> 5];
+            } else {
+                Arrays.fill(data, 0);
+            }
+            return data;
+        }
+
+        BitArray layer0(int section, BitArrayVersion version) {
+            if (version == BitArrayVersion.V0) {
+                return version.createArray(BlockStorage.SIZE);
+            }
+            int[][] words = layer0Words[section];
+            if (words == null) {
+                words = layer0Words[section] = new int[VERSIONS.length][];
+            }
+            int[] versionWords = words[version.ordinal()];
+            if (versionWords == null) {
+                versionWords = words[version.ordinal()] = new int[version.getWordsForSize(BlockStorage.SIZE)];
+            }
+            return version.createArray(BlockStorage.SIZE, versionWords);
+        }
+
+        GeyserChunkSection uniformSection(int subChunkIndex, int runtimeId, int waterRuntimeId) {
+            long key = (subChunkIndex & 0xFFL) | ((runtimeId & 0xFFFFFFFL) << 8) | (((waterRuntimeId + 1) & 0xFFFFFFFL) << 36);
+            UniformChunkSection section = uniformSections.get(key);
+            if (section == null) {
+                section = new UniformChunkSection(subChunkIndex, runtimeId, waterRuntimeId);
+                if (uniformSections.size() < MAX_UNIFORM_SECTIONS) {
+                    uniformSections.put(key, section);
+                }
+            }
+            return section;
+        }
+
+        void clear() {
+            Arrays.fill(javaBiomes, null);
+            Arrays.fill(sections, null);
+            bedrockBlockEntities.clear();
         }
     }
 
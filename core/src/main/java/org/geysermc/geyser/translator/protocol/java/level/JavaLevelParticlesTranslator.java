@@ -49,6 +49,7 @@ import org.geysermc.geyser.entity.type.Entity;
 import org.geysermc.geyser.registry.Registries;
 import org.geysermc.geyser.registry.type.ParticleMapping;
 import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.cache.ParticleLimiter;
 import org.geysermc.geyser.translator.item.ItemTranslator;
 import org.geysermc.geyser.translator.protocol.PacketTranslator;
 import org.geysermc.geyser.translator.protocol.Translator;
@@ -65,22 +66,32 @@ public class JavaLevelParticlesTranslator extends PacketTranslator<ClientboundLe
 
     @Override
     public void translate(GeyserSession session, ClientboundLevelParticlesPacket packet) {
+        ParticleLimiter limiter = session.getParticleLimiter();
+        int amount = Math.max(1, Math.min(MAX_PARTICLES, packet.getAmount()));
+        if (!limiter.isInRange(packet.getX(), packet.getY(), packet.getZ(), packet.isLongDistance(), amount)) {
+            return;
+        }
+
         Function<Vector3f, BedrockPacket> particleCreateFunction = createParticle(session, packet.getParticle());
         if (particleCreateFunction != null) {
+            int type = packet.getParticle().getType().ordinal();
             if (packet.getAmount() == 0) {
                 // 0 means don't apply the offset
                 Vector3f position = Vector3f.from(packet.getX(), packet.getY(), packet.getZ());
-                session.sendUpstreamPacket(particleCreateFunction.apply(position));
+                if (limiter.tryAcquire(type, position)) {
+                    session.sendUpstreamPacket(particleCreateFunction.apply(position));
+                }
             } else {
                 Random random = ThreadLocalRandom.current();
-                int amount = Math.min(MAX_PARTICLES, packet.getAmount());
                 for (int i = 0; i < amount; i++) {
                     double offsetX = random.nextGaussian() * (double) packet.getOffsetX();
                     double offsetY = random.nextGaussian() * (double) packet.getOffsetY();
                     double offsetZ = random.nextGaussian() * (double) packet.getOffsetZ();
                     Vector3f position = Vector3f.from(packet.getX() + offsetX, packet.getY() + offsetY, packet.getZ() + offsetZ);
 
-                    session.sendUpstreamPacket(particleCreateFunction.apply(position));
+                    if (limiter.tryAcquire(type, position)) {
+                        session.sendUpstreamPacket(particleCreateFunction.apply(position));
+                    }
                 }
             }
         } else {
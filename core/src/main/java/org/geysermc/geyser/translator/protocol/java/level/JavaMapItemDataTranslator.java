@@ -32,7 +32,7 @@ import org.cloudburstmc.math.vector.Vector3i;
 import org.cloudburstmc.protocol.bedrock.data.MapDecoration;
 import org.cloudburstmc.protocol.bedrock.data.MapTrackedObject;
 import org.geysermc.geyser.level.BedrockMapIcon;
-import org.geysermc.geyser.level.MapColor;
+import org.geysermc.geyser.level.MapCanvas;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.translator.protocol.PacketTranslator;
 import org.geysermc.geyser.translator.protocol.Translator;
@@ -60,15 +60,8 @@ public class JavaMapItemDataTranslator extends PacketTranslator<ClientboundMapIt
             mapItemDataPacket.setWidth(data.getColumns());
             mapItemDataPacket.setHeight(data.getRows());
 
-            // Every int entry is an ARGB color
-            int[] colors = new int[data.getData().length];
-
-            int idx = 0;
-            for (byte colorId : data.getData()) {
-                colors[idx++] = MapColor.fromId(colorId & 0xFF).getABGR();
-            }
-
-            mapItemDataPacket.setColors(colors);
+            // Every int entry is an ABGR color
+            mapItemDataPacket.setColors(MapCanvas.translate(session, packet.getMapId(), data));
         }
 
         // Bedrock needs an entity id to display an icon
@@ -25,6 +25,11 @@
 
 package org.geysermc.geyser.translator.protocol.java.level;
 
+import org.cloudburstmc.math.vector.Vector3i;
+import org.cloudburstmc.protocol.bedrock.packet.UpdateSubChunkBlocksPacket;
+import org.geysermc.geyser.entity.type.ItemFrameEntity;
+import org.geysermc.geyser.level.block.type.BlockState;
+import org.geysermc.geyser.session.cache.WorldCache;
 import org.geysermc.mcprotocollib.protocol.data.game.level.block.BlockChangeEntry;
 import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.level.ClientboundSectionBlocksUpdatePacket;
 import org.geysermc.geyser.session.GeyserSession;
@@ -33,11 +38,44 @@ import org.geysermc.geyser.translator.protocol.Translator;
 
 @Translator(packet = ClientboundSectionBlocksUpdatePacket.class)
 public class JavaSectionBlocksUpdateTranslator extends PacketTranslator<ClientboundSectionBlocksUpdatePacket> {
+    /**
+     * Below this many changes, sending every block on its own is not worth batching.
+     */
+    private static final int BULK_UPDATE_THRESHOLD = 8;
 
     @Override
     public void translate(GeyserSession session, ClientboundSectionBlocksUpdatePacket packet) {
-        for (BlockChangeEntry entry : packet.getEntries()) {
-            session.getWorldCache().updateServerCorrectBlockState(entry.getPosition(), entry.getBlock());
+        WorldCache worldCache = session.getWorldCache();
+        BlockChangeEntry[] entries = packet.getEntries();
+        // Extended collision boxes depend on the blocks above and below, which may be part of the same batch
+        if (entries.length < BULK_UPDATE_THRESHOLD || !session.getBlockMappings().getExtendedCollisionBoxes().isEmpty()) {
+            for (BlockChangeEntry entry : entries) {
+                worldCache.updateServerCorrectBlockState(entry.getPosition(), entry.getBlock());
+            }
+            return;
+        }
+
+        UpdateSubChunkBlocksPacket subChunkPacket = new UpdateSubChunkBlocksPacket();
+        subChunkPacket.setChunkX(packet.getChunkX());
+        subChunkPacket.setChunkY(packet.getChunkY());
+        subChunkPacket.setChunkZ(packet.getChunkZ());
+
+        for (BlockChangeEntry entry : entries) {
+            Vector3i position = entry.getPosition();
+            BlockState state = BlockState.of(entry.getBlock());
+            if (!state.block().hasDefaultUpdateBehavior() || ItemFrameEntity.getItemFrameEntity(session, position) != null) {
+                // Block entities, skulls, item frames and such
+                worldCache.updateServerCorrectBlockState(position, entry.getBlock());
+                continue;
+            }
+
+            worldCache.acceptServerBlockState(position, entry.getBlock());
+            state.block().addBlockUpdate(session, state, position, subChunkPacket.getStandardBlocks(), subChunkPacket.getExtraBlocks());
+            session.getChunkCache().updateBlock(position.getX(), position.getY(), position.getZ(), entry.getBlock());
+        }
+
+        if (!subChunkPacket.getStandardBlocks().isEmpty()) {
+            session.sendUpstreamPacket(subChunkPacket);
         }
     }
 }
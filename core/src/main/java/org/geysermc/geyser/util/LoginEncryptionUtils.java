@@ -26,10 +26,10 @@
 package org.geysermc.geyser.util;
 
 import net.raphimc.minecraftauth.msa.model.MsaDeviceCode;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.cloudburstmc.protocol.bedrock.data.auth.AuthPayload;
 import org.cloudburstmc.protocol.bedrock.data.auth.CertificateChainPayload;
 import org.cloudburstmc.protocol.bedrock.data.auth.TokenPayload;
-import org.cloudburstmc.protocol.bedrock.packet.LoginPacket;
 import org.cloudburstmc.protocol.bedrock.packet.ServerToClientHandshakePacket;
 import org.cloudburstmc.protocol.bedrock.util.ChainValidationResult;
 import org.cloudburstmc.protocol.bedrock.util.ChainValidationResult.IdentityData;
@@ -54,11 +54,13 @@ import java.util.function.BiConsumer;
 public class LoginEncryptionUtils {
     private static boolean HAS_SENT_ENCRYPTION_MESSAGE = false;
 
-    public static void encryptPlayerConnection(GeyserSession session, LoginPacket loginPacket) {
-        encryptConnectionWithCert(session, loginPacket.getAuthPayload(), loginPacket.getClientJwt());
-    }
-
-    private static void encryptConnectionWithCert(GeyserSession session, AuthPayload authPayload, String jwt) {
+    /**
+     * Performs the CPU-heavy part of a login: validating the JWT chain and client data, and deriving the session key.
+     * This does not touch the session or its connection, and can therefore be run off the network thread.
+     *
+     * @param serverKeyPair a pre-generated key pair to use for the handshake, or null to create one
+     */
+    public static PreparedLogin prepareLogin(GeyserSession session, AuthPayload authPayload, String jwt, @Nullable KeyPair serverKeyPair) {
         try {
             GeyserImpl geyser = session.getGeyser();
 
@@ -67,8 +69,7 @@ public class LoginEncryptionUtils {
             geyser.getLogger().debug(String.format("Is player data signed? %s", result.signed()));
 
             if (!result.signed() && session.getGeyser().config().advanced().bedrock().validateBedrockLogin()) {
-                session.disconnect(GeyserLocale.getLocaleStringLog("geyser.network.remote.invalid_xbox_account"));
-                return;
+                return PreparedLogin.failed(GeyserLocale.getLocaleStringLog("geyser.network.remote.invalid_xbox_account"), null);
             }
 
             // Should always be present, but hey, why not make it safe :D
@@ -76,14 +77,7 @@ public class LoginEncryptionUtils {
             long issuedAt = rawIssuedAt != null ? rawIssuedAt : -1;
 
             IdentityData extraData = result.identityClaims().extraData;
-            session.setAuthData(new AuthData(extraData.displayName, extraData.identity, extraData.xuid, issuedAt));
-            if (authPayload instanceof TokenPayload tokenPayload) {
-                session.setToken(tokenPayload.getToken());
-            } else if (authPayload instanceof CertificateChainPayload certificateChainPayload) {
-                session.setCertChainData(certificateChainPayload.getChain());
-            } else {
-                GeyserImpl.getInstance().getLogger().warning("Unknown auth payload! Skin uploading will not work");
-            }
+            AuthData authData = new AuthData(extraData.displayName, extraData.identity, extraData.xuid, issuedAt);
 
             PublicKey identityPublicKey = result.identityClaims().parsedIdentityPublicKey();
 
@@ -94,10 +88,19 @@ public class LoginEncryptionUtils {
 
             BedrockClientData data = JsonUtils.fromJson(clientDataPayload, BedrockClientData.class);
             data.setOriginalString(jwt);
-            session.setClientData(data);
 
+            ServerToClientHandshakePacket handshake = null;
+            SecretKey encryptionKey = null;
             try {
-                startEncryptionHandshake(session, identityPublicKey);
+                if (serverKeyPair == null) {
+                    serverKeyPair = EncryptionUtils.createKeyPair();
+                }
+                byte[] token = EncryptionUtils.generateRandomToken();
+
+                handshake = new ServerToClientHandshakePacket();
+                handshake.setJwt(EncryptionUtils.createHandshakeJwt(serverKeyPair, token));
+
+                encryptionKey = EncryptionUtils.getSecretKey(serverKeyPair.getPrivate(), identityPublicKey, token);
             } catch (Throwable e) {
                 // An error can be thrown on older Java 8 versions about an invalid key
                 if (geyser.config().debugMode()) {
@@ -105,23 +108,59 @@ public class LoginEncryptionUtils {
                 }
 
                 sendEncryptionFailedMessage(geyser);
+                handshake = null;
+                encryptionKey = null;
+            }
+
+            return new PreparedLogin(null, null, authPayload, authData, data, handshake, encryptionKey);
+        } catch (Throwable t) {
+            return PreparedLogin.failed(PreparedLogin.INTERNAL_ERROR, t);
+        }
+    }
+
+    /**
+     * Applies the result of {@link #prepareLogin(GeyserSession, AuthPayload, String, KeyPair)} to the session,
+     * and starts the encryption handshake. Must be called on the connection's thread.
+     */
+    public static void applyLogin(GeyserSession session, PreparedLogin login) {
+        if (login.disconnectReason() != null) {
+            session.disconnect(login.disconnectReason());
+            if (login.error() != null) {
+                throw new RuntimeException("Unable to complete login", login.error());
             }
-        } catch (Exception ex) {
-            session.disconnect("disconnectionScreen.internalError.cantConnect");
-            throw new RuntimeException("Unable to complete login", ex);
+            return;
+        }
+
+        session.setAuthData(login.authData());
+        if (login.authPayload() instanceof TokenPayload tokenPayload) {
+            session.setToken(tokenPayload.getToken());
+        } else if (login.authPayload() instanceof CertificateChainPayload certificateChainPayload) {
+            session.setCertChainData(certificateChainPayload.getChain());
+        } else {
+            GeyserImpl.getInstance().getLogger().warning("Unknown auth payload! Skin uploading will not work");
+        }
+        session.setClientData(login.clientData());
+
+        if (login.handshake() != null) {
+            session.sendUpstreamPacketImmediately(login.handshake());
+            session.getUpstream().getSession().enableEncryption(login.encryptionKey());
         }
     }
 
-    private static void startEncryptionHandshake(GeyserSession session, PublicKey key) throws Exception {
-        KeyPair serverKeyPair = EncryptionUtils.createKeyPair();
-        byte[] token = EncryptionUtils.generateRandomToken();
+    /**
+     * The verified login data of a client, or the reason the login was refused.
+     *
+     * @param handshake the handshake to send to the client, or null if encryption could not be set up
+     */
+    public record PreparedLogin(@Nullable String disconnectReason, @Nullable Throwable error, AuthPayload authPayload,
+                                AuthData authData, BedrockClientData clientData,
+                                @Nullable ServerToClientHandshakePacket handshake, @Nullable SecretKey encryptionKey) {
 
-        ServerToClientHandshakePacket packet = new ServerToClientHandshakePacket();
-        packet.setJwt(EncryptionUtils.createHandshakeJwt(serverKeyPair, token));
-        session.sendUpstreamPacketImmediately(packet);
+        public static final String INTERNAL_ERROR = "disconnectionScreen.internalError.cantConnect";
 
-        SecretKey encryptionKey = EncryptionUtils.getSecretKey(serverKeyPair.getPrivate(), key, token);
-        session.getUpstream().getSession().enableEncryption(encryptionKey);
+        static PreparedLogin failed(String disconnectReason, @Nullable Throwable error) {
+            return new PreparedLogin(disconnectReason, error, null, null, null, null, null);
+        }
     }
 
     private static void sendEncryptionFailedMessage(GeyserImpl geyser) {
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.floodgate.crypto;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class AesCipherTest {
+    private static final int TAG_LENGTH = 16;
+    // 0 is empty, 15 and 17 aren't aligned to the AES block size, and 2000 outgrows the initial scratch buffer
+    private static final int[] LENGTHS = {0, 1, 2, 15, 16, 17, 2000};
+
+    private SecretKey key;
+
+    @BeforeEach
+    void generateKey() throws Exception {
+        KeyGenerator generator = KeyGenerator.getInstance("AES");
+        generator.init(128);
+        key = generator.generateKey();
+    }
+
+    @Test
+    void roundTripWithoutTopping() throws Exception {
+        AesCipher cipher = cipher(null);
+        for (int length : LENGTHS) {
+            byte[] data = randomBytes(length);
+            byte[] encrypted = cipher.encrypt(data);
+
+            assertEquals(cipher.encryptedSize(length), encrypted.length);
+            assertArrayEquals(data, cipher.decrypt(encrypted), "length " + length);
+        }
+    }
+
+    @Test
+    void roundTripWithBase64Topping() throws Exception {
+        AesCipher cipher = cipher(new Base64Topping());
+        for (int length : LENGTHS) {
+            byte[] data = randomBytes(length);
+            byte[] encrypted = cipher.encrypt(data);
+
+            assertEquals(cipher.encryptedSize(length), encrypted.length);
+            assertArrayEquals(data, cipher.decrypt(encrypted), "length " + length);
+        }
+    }
+
+    @Test
+    void encryptWithoutToppingMatchesJdk() throws Exception {
+        AesCipher cipher = cipher(null);
+        for (int length : LENGTHS) {
+            byte[] data = randomBytes(length);
+            byte[] encrypted = cipher.encrypt(data);
+
+            int ivStart = FloodgateCipher.HEADER.length;
+            byte[] iv = Arrays.copyOfRange(encrypted, ivStart, ivStart + AesCipher.IV_LENGTH);
+            byte[] cipherText = Arrays.copyOfRange(encrypted, ivStart + AesCipher.IV_LENGTH + 1, encrypted.length);
+
+            assertEquals(length + TAG_LENGTH, cipherText.length);
+            assertArrayEquals(data, jdkCipher(Cipher.DECRYPT_MODE, iv).doFinal(cipherText), "length " + length);
+        }
+    }
+
+    @Test
+    void encryptWithBase64ToppingMatchesJdk() throws Exception {
+        AesCipher cipher = cipher(new Base64Topping());
+        for (int length : LENGTHS) {
+            byte[] data = randomBytes(length);
+            byte[] encrypted = cipher.encrypt(data);
+
+            int ivStart = FloodgateCipher.HEADER.length;
+            int ivEnd = ivStart + Base64.getEncoder().encode(new byte[AesCipher.IV_LENGTH]).length;
+            byte[] iv = Base64.getDecoder().decode(Arrays.copyOfRange(encrypted, ivStart, ivEnd));
+            byte[] cipherText = Base64.getDecoder().decode(Arrays.copyOfRange(encrypted, ivEnd + 1, encrypted.length));
+
+            assertArrayEquals(data, jdkCipher(Cipher.DECRYPT_MODE, iv).doFinal(cipherText), "length " + length);
+        }
+    }
+
+    @Test
+    void decryptWithBase64ToppingMatchesJdk() throws Exception {
+        AesCipher cipher = cipher(new Base64Topping());
+        for (int length : LENGTHS) {
+            byte[] data = randomBytes(length);
+            byte[] iv = randomBytes(AesCipher.IV_LENGTH);
+            byte[] cipherText = jdkCipher(Cipher.ENCRYPT_MODE, iv).doFinal(data);
+
+            ByteBuffer encrypted = ByteBuffer.allocate(cipher.encryptedSize(length));
+            encrypted.put(FloodgateCipher.HEADER)
+                    .put(Base64.getEncoder().encode(iv))
+                    .put((byte) 0x21)
+                    .put(Base64.getEncoder().encode(cipherText));
+            assertFalse(encrypted.hasRemaining());
+
+            assertArrayEquals(data, cipher.decrypt(encrypted.array()), "length " + length);
+        }
+    }
+
+    @Test
+    void byteBufferApiRespectsPosition() throws Exception {
+        AesCipher cipher = cipher(new Base64Topping());
+        byte[] data = randomBytes(33);
+
+        ByteBuffer src = ByteBuffer.allocate(data.length + 10);
+        src.position(5);
+        src.put(data);
+        src.position(5).limit(5 + data.length);
+
+        ByteBuffer encrypted = cipher.encrypt(src);
+        assertFalse(src.hasRemaining());
+
+        ByteBuffer decrypted = cipher.decrypt(encrypted);
+        assertFalse(encrypted.hasRemaining());
+
+        byte[] result = new byte[decrypted.remaining()];
+        decrypted.get(result);
+        assertArrayEquals(data, result);
+    }
+
+    @Test
+    void rejectsTamperedCipherText() throws Exception {
+        AesCipher cipher = cipher(null);
+        byte[] encrypted = cipher.encrypt(randomBytes(17));
+        encrypted[encrypted.length - 1] ^= 1;
+
+        assertThrows(Exception.class, () -> cipher.decrypt(encrypted));
+    }
+
+    private AesCipher cipher(Topping topping) {
+        AesCipher cipher = new AesCipher(topping);
+        cipher.init(key);
+        return cipher;
+    }
+
+    private Cipher jdkCipher(int mode, byte[] iv) throws Exception {
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(mode, key, new GCMParameterSpec(TAG_LENGTH * 8, iv));
+        return cipher;
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+}
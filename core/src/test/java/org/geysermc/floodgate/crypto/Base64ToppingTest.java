@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.floodgate.crypto;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Random;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class Base64ToppingTest {
+    private final Base64Topping topping = new Base64Topping();
+
+    @Test
+    void encodeMatchesJdk() {
+        // Lengths 0 to 9 cover no padding, one padding character and two padding characters multiple times
+        for (int length = 0; length < 10; length++) {
+            byte[] data = randomBytes(length);
+            byte[] expected = Base64.getEncoder().encode(data);
+
+            assertEquals(expected.length, topping.encodedLength(length));
+            assertArrayEquals(expected, encode(data), "length " + length);
+        }
+    }
+
+    @Test
+    void decodeMatchesJdk() {
+        for (int length = 0; length < 10; length++) {
+            byte[] data = randomBytes(length);
+            byte[] encoded = Base64.getEncoder().encode(data);
+
+            assertEquals(length, topping.decodedLength(ByteBuffer.wrap(encoded)));
+            assertArrayEquals(data, decode(encoded), "length " + length);
+        }
+    }
+
+    @Test
+    void decodeWithoutPadding() {
+        for (int length = 0; length < 10; length++) {
+            byte[] data = randomBytes(length);
+            byte[] encoded = Base64.getEncoder().withoutPadding().encode(data);
+
+            assertEquals(length, topping.decodedLength(ByteBuffer.wrap(encoded)));
+            assertArrayEquals(data, decode(encoded), "length " + length);
+        }
+    }
+
+    @Test
+    void roundTripAllByteValues() {
+        byte[] data = new byte[256];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        // odd length, so the last group is padded
+        data = Arrays.copyOf(data, 255);
+
+        byte[] encoded = encode(data);
+        assertArrayEquals(Base64.getEncoder().encode(data), encoded);
+        assertArrayEquals(data, decode(encoded));
+        assertArrayEquals(data, Base64.getDecoder().decode(encoded));
+    }
+
+    @Test
+    void decodeRespectsBufferPosition() {
+        byte[] data = randomBytes(7);
+        byte[] encoded = Base64.getEncoder().encode(data);
+
+        // surround the encoded data with bytes that shouldn't be read
+        ByteBuffer src = ByteBuffer.allocate(encoded.length + 4);
+        src.put((byte) '!').put((byte) '!').put(encoded);
+        src.position(2).limit(2 + encoded.length);
+
+        ByteBuffer dst = ByteBuffer.allocate(topping.decodedLength(src));
+        topping.decode(src, dst);
+
+        assertFalse(src.hasRemaining());
+        assertArrayEquals(data, dst.array());
+    }
+
+    @Test
+    void rejectsInvalidInput() {
+        // a single character can't represent a whole byte
+        ByteBuffer invalidLength = ByteBuffer.wrap("QUJDR".getBytes(US_ASCII));
+        assertThrows(IllegalArgumentException.class, () -> topping.decodedLength(invalidLength));
+        assertThrows(IllegalArgumentException.class, () -> topping.decode(invalidLength, ByteBuffer.allocate(8)));
+
+        ByteBuffer invalidCharacter = ByteBuffer.wrap("QU*D".getBytes(US_ASCII));
+        assertThrows(IllegalArgumentException.class, () -> topping.decode(invalidCharacter, ByteBuffer.allocate(8)));
+    }
+
+    private byte[] encode(byte[] data) {
+        ByteBuffer dst = ByteBuffer.allocate(topping.encodedLength(data.length));
+        topping.encode(ByteBuffer.wrap(data), dst);
+        assertFalse(dst.hasRemaining());
+        return dst.array();
+    }
+
+    private byte[] decode(byte[] encoded) {
+        ByteBuffer src = ByteBuffer.wrap(encoded);
+        ByteBuffer dst = ByteBuffer.allocate(topping.decodedLength(src));
+        topping.decode(src, dst);
+        assertFalse(dst.hasRemaining());
+        return dst.array();
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.inventory;
+
+import org.cloudburstmc.protocol.bedrock.data.definitions.SimpleItemDefinition;
+import org.cloudburstmc.protocol.bedrock.data.inventory.ItemData;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.cache.BundleCache;
+import org.geysermc.geyser.translator.item.ItemTranslator;
+import org.geysermc.mcprotocollib.auth.GameProfile;
+import org.geysermc.mcprotocollib.protocol.data.game.entity.player.ResolvableProfile;
+import org.geysermc.mcprotocollib.protocol.data.game.item.component.DataComponentTypes;
+import org.geysermc.mcprotocollib.protocol.data.game.item.component.DataComponents;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.when;
+
+public class GeyserItemStackTest {
+    private static final int JAVA_ID = 1;
+    private static final SimpleItemDefinition VANILLA_SKULL = new SimpleItemDefinition("minecraft:skull", 1, false);
+    private static final SimpleItemDefinition CUSTOM_SKULL = new SimpleItemDefinition("geyser_custom:skull", 2, true);
+
+    private GeyserSession session;
+
+    @BeforeEach
+    void setUp() {
+        session = mock(GeyserSession.class);
+        BundleCache bundleCache = mock(BundleCache.class);
+        when(session.getBundleCache()).thenReturn(bundleCache);
+        when(bundleCache.checkForBundle(any(), any())).thenAnswer(invocation -> invocation.<ItemData.Builder>getArgument(1).build());
+    }
+
+    @Test
+    void plainItemIsTranslatedOnce() {
+        GeyserItemStack stack = GeyserItemStack.of(JAVA_ID, 1);
+
+        try (var translator = mockStatic(ItemTranslator.class)) {
+            translator.when(() -> ItemTranslator.translateToBedrock(eq(session), anyInt(), anyInt(), any()))
+                .thenAnswer(invocation -> builder(VANILLA_SKULL));
+
+            ItemData first = stack.getItemData(session);
+            assertSame(first, stack.getItemData(session));
+            translator.verify(() -> ItemTranslator.translateToBedrock(eq(session), anyInt(), anyInt(), any()), times(1));
+
+            // session state that item translation depends on changed
+            when(session.getItemTranslationEpoch()).thenReturn(1);
+            stack.getItemData(session);
+            translator.verify(() -> ItemTranslator.translateToBedrock(eq(session), anyInt(), anyInt(), any()), times(2));
+        }
+    }
+
+    @Test
+    void headIsTranslatedAgainOnceProfileResolves() {
+        DataComponents components = new DataComponents(new HashMap<>());
+        components.put(DataComponentTypes.PROFILE, new ResolvableProfile(new GameProfile(UUID.randomUUID(), "Steve")));
+        GeyserItemStack stack = GeyserItemStack.of(JAVA_ID, 1, components);
+
+        try (var translator = mockStatic(ItemTranslator.class)) {
+            // the profile hasn't resolved during the first translation, so the vanilla head is used
+            translator.when(() -> ItemTranslator.translateToBedrock(eq(session), anyInt(), anyInt(), any()))
+                .thenAnswer(invocation -> builder(VANILLA_SKULL))
+                .thenAnswer(invocation -> builder(CUSTOM_SKULL));
+
+            assertEquals(VANILLA_SKULL, stack.getItemData(session).getDefinition());
+            assertEquals(CUSTOM_SKULL, stack.getItemData(session).getDefinition());
+            translator.verify(() -> ItemTranslator.translateToBedrock(eq(session), anyInt(), anyInt(), any()), times(2));
+        }
+    }
+
+    private static ItemData.Builder builder(SimpleItemDefinition definition) {
+        return ItemData.builder().definition(definition).count(1);
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.level.chunk;
+
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.DataPalette;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class CompactChunkSectionTest {
+    private static final int GLOBAL_PALETTE_SIZE = 4096;
+
+    @Test
+    void singletonReturnsItsStateEverywhere() {
+        CompactChunkSection section = CompactChunkSection.singleton(5);
+        assertEquals(5, section.get(0, 0, 0));
+        assertEquals(5, section.get(15, 15, 15));
+        assertSame(section, section.with(3, 4, 5, 5));
+    }
+
+    @Test
+    void withRoundTrips() {
+        CompactChunkSection section = CompactChunkSection.singleton(0);
+        CompactChunkSection updated = section.with(1, 2, 3, 7);
+
+        assertEquals(7, updated.get(1, 2, 3));
+        assertEquals(0, updated.get(3, 2, 1));
+        // The original section is left untouched
+        assertEquals(0, section.get(1, 2, 3));
+
+        assertEquals(section.get(1, 2, 3), updated.with(1, 2, 3, 0).get(1, 2, 3));
+    }
+
+    @Test
+    void withGrowsThePalette() {
+        // Enough distinct states to need several palette resizes
+        int[] expected = new int[4096];
+        CompactChunkSection section = CompactChunkSection.singleton(0);
+        for (int i = 0; i < 300; i++) {
+            int x = i & 0xF, y = (i >> 8) & 0xF, z = (i >> 4) & 0xF;
+            section = section.with(x, y, z, i + 1);
+            expected[(y << 8) | (z << 4) | x] = i + 1;
+        }
+        assertMatches(expected, section);
+    }
+
+    @Test
+    void fromMatchesPalette() {
+        Random random = new Random(0);
+        DataPalette palette = DataPalette.createForBlockState(0, GLOBAL_PALETTE_SIZE);
+        for (int i = 0; i < 4096; i++) {
+            // Few states stay in the indirect palette
+            palette.set(i & 0xF, (i >> 8) & 0xF, (i >> 4) & 0xF, random.nextInt(6));
+        }
+        assertMatches(palette, CompactChunkSection.from(palette));
+    }
+
+    @Test
+    void fromMatchesGlobalPalette() {
+        Random random = new Random(0);
+        DataPalette palette = DataPalette.createForBlockState(0, GLOBAL_PALETTE_SIZE);
+        for (int i = 0; i < 4096; i++) {
+            // Many states force the global palette
+            palette.set(i & 0xF, (i >> 8) & 0xF, (i >> 4) & 0xF, random.nextInt(GLOBAL_PALETTE_SIZE));
+        }
+        assertMatches(palette, CompactChunkSection.from(palette));
+    }
+
+    @Test
+    void fromUniformSectionIsSingleton() {
+        DataPalette palette = DataPalette.createForBlockState(9, GLOBAL_PALETTE_SIZE);
+        CompactChunkSection section = CompactChunkSection.from(palette);
+        assertEquals(CompactChunkSection.singleton(9), section);
+        assertEquals(9, section.get(8, 8, 8));
+    }
+
+    @Test
+    void equalSectionsHaveEqualHashes() {
+        CompactChunkSection first = CompactChunkSection.singleton(0).with(1, 1, 1, 2);
+        CompactChunkSection second = CompactChunkSection.singleton(0).with(1, 1, 1, 2);
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+        assertNotEquals(first, second.with(1, 1, 1, 3));
+    }
+
+    @Test
+    void estimatedBytesGrowWithContent() {
+        CompactChunkSection singleton = CompactChunkSection.singleton(0);
+        CompactChunkSection mixed = singleton.with(0, 0, 0, 1);
+        assertEquals(singleton.estimatedBytes() + 16 + 4 + 64 * 8, mixed.estimatedBytes());
+    }
+
+    private static void assertMatches(int[] expected, CompactChunkSection section) {
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], section.get(i & 0xF, (i >> 8) & 0xF, (i >> 4) & 0xF), "index " + i);
+        }
+    }
+
+    private static void assertMatches(DataPalette expected, CompactChunkSection section) {
+        for (int i = 0; i < 4096; i++) {
+            int x = i & 0xF, y = (i >> 8) & 0xF, z = (i >> 4) & 0xF;
+            assertEquals(expected.get(x, y, z), section.get(x, y, z), "index " + i);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.network;
+
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.EventLoop;
+import io.netty.util.concurrent.EventExecutor;
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.GeyserLogger;
+import org.geysermc.geyser.session.GeyserSession;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PlayerEventLoopBalancerTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final int SAMPLES_PER_REBALANCE = 10;
+
+    private DefaultEventLoopGroup group;
+    private EventLoop first;
+    private EventLoop second;
+    private GeyserImpl geyser;
+    private final List<Runnable> busyUpdates = new ArrayList<>();
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        group = new DefaultEventLoopGroup(2);
+        Iterator<EventExecutor> loops = group.iterator();
+        first = (EventLoop) loops.next();
+        second = (EventLoop) loops.next();
+        geyser = mock(GeyserImpl.class);
+        when(geyser.getLogger()).thenReturn(mock(GeyserLogger.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        group.shutdownGracefully(0, 0, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void idleLoopsAreFilledEvenly() {
+        PlayerEventLoopBalancer balancer = new PlayerEventLoopBalancer(geyser, group, false);
+        session(balancer, first, 0, true);
+
+        assertSame(second, balancer.next());
+        session(balancer, second, 0, true);
+        session(balancer, second, 0, true);
+
+        assertSame(first, balancer.next());
+    }
+
+    @Test
+    void newSessionsAvoidBusyLoops() {
+        PlayerEventLoopBalancer balancer = new PlayerEventLoopBalancer(geyser, group, false);
+        session(balancer, first, 0.5, true);
+        for (int i = 0; i < 3; i++) {
+            session(balancer, second, 0, true);
+        }
+
+        sample(balancer, 1);
+        assertSame(second, balancer.next());
+    }
+
+    @Test
+    void busySessionIsMovedToIdlestLoop() {
+        PlayerEventLoopBalancer balancer = new PlayerEventLoopBalancer(geyser, group, true);
+        GeyserSession tooBusy = session(balancer, first, 0.4, true);
+        GeyserSession moved = session(balancer, first, 0.3, true);
+        GeyserSession other = session(balancer, second, 0.05, true);
+
+        sample(balancer, SAMPLES_PER_REBALANCE - 1);
+        verify(moved, never()).migrateEventLoop(any());
+
+        sample(balancer, 1);
+        // moving the busiest session would make the other loop the busiest one
+        verify(tooBusy, never()).migrateEventLoop(any());
+        verify(moved).migrateEventLoop(eq(second));
+        verify(other, never()).migrateEventLoop(any());
+    }
+
+    @Test
+    void smallDifferencesAreIgnored() {
+        PlayerEventLoopBalancer balancer = new PlayerEventLoopBalancer(geyser, group, true);
+        GeyserSession busy = session(balancer, first, 0.2, true);
+        session(balancer, second, 0, true);
+
+        sample(balancer, SAMPLES_PER_REBALANCE * 3);
+        verify(busy, never()).migrateEventLoop(any());
+    }
+
+    @Test
+    void unmovableSessionsAreSkipped() {
+        PlayerEventLoopBalancer balancer = new PlayerEventLoopBalancer(geyser, group, true);
+        GeyserSession unmovable = session(balancer, first, 0.2, false);
+        GeyserSession otherUnmovable = session(balancer, first, 0.2, false);
+        GeyserSession movable = session(balancer, first, 0.1, true);
+        session(balancer, second, 0, true);
+
+        sample(balancer, SAMPLES_PER_REBALANCE);
+        verify(unmovable, never()).migrateEventLoop(any());
+        verify(otherUnmovable, never()).migrateEventLoop(any());
+        verify(movable).migrateEventLoop(eq(second));
+    }
+
+    @Test
+    void disabledRebalancingNeverMoves() {
+        PlayerEventLoopBalancer balancer = new PlayerEventLoopBalancer(geyser, group, false);
+        GeyserSession busy = session(balancer, first, 0.3, true);
+        session(balancer, first, 0.3, true);
+        session(balancer, second, 0, true);
+
+        sample(balancer, SAMPLES_PER_REBALANCE * 2);
+        verify(busy, never()).migrateEventLoop(any());
+    }
+
+    /**
+     * Registers a session that keeps its loop busy for the given share of every second.
+     */
+    private GeyserSession session(PlayerEventLoopBalancer balancer, EventLoop loop, double load, boolean movable) {
+        GeyserSession session = mock(GeyserSession.class);
+        AtomicLong busyNanos = new AtomicLong();
+        when(session.getTickEventLoop()).thenReturn(loop);
+        when(session.getEventLoopBusyNanos()).thenAnswer(invocation -> busyNanos.get());
+        when(session.canMigrateEventLoop()).thenReturn(movable);
+        when(session.migrateEventLoop(any())).thenReturn(movable);
+        when(session.bedrockUsername()).thenReturn("player");
+        busyUpdates.add(() -> busyNanos.addAndGet((long) (load * SECOND)));
+
+        balancer.register(session);
+        return session;
+    }
+
+    private void sample(PlayerEventLoopBalancer balancer, int seconds) {
+        for (int i = 0; i < seconds; i++) {
+            busyUpdates.forEach(Runnable::run);
+            now += SECOND;
+            balancer.sample(now);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.pack;
+
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.network.UpstreamPacketHandler;
+import org.geysermc.geyser.session.GeyserSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.geysermc.geyser.pack.GeyserResourcePack.CHUNK_SIZE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ResourcePackTransferSchedulerTest {
+    /**
+     * Two chunks per quarter of a second, so the bucket holds exactly two chunks
+     */
+    private static final int KILOBYTES_PER_SECOND = 8 * CHUNK_SIZE / 1024;
+    private static final long MAX_TOKENS = 2L * CHUNK_SIZE;
+    private static final long QUARTER_SECOND = TimeUnit.MILLISECONDS.toNanos(250);
+
+    private ResourcePackTransferScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new ResourcePackTransferScheduler(mock(GeyserImpl.class), KILOBYTES_PER_SECOND);
+        scheduler.reset(0);
+    }
+
+    @Test
+    void sentChunksUseTokens() {
+        UpstreamPacketHandler handler = submit(1, CHUNK_SIZE);
+
+        scheduler.tick(0);
+        verify(handler, times(1)).sendNextChunk(true);
+        assertEquals(MAX_TOKENS - CHUNK_SIZE, scheduler.tokens());
+        assertEquals(CHUNK_SIZE, scheduler.getBytesSent().get());
+    }
+
+    @Test
+    void emptyBucketWaitsForRefill() {
+        UpstreamPacketHandler first = submit(1, CHUNK_SIZE);
+        UpstreamPacketHandler second = submit(1, CHUNK_SIZE);
+        UpstreamPacketHandler third = submit(1, CHUNK_SIZE);
+
+        scheduler.tick(0);
+        verify(first).sendNextChunk(true);
+        verify(second).sendNextChunk(true);
+        verify(third, never()).sendNextChunk(true);
+        assertEquals(0, scheduler.tokens());
+
+        // no time has passed, so nothing was refilled
+        scheduler.tick(0);
+        verify(third, never()).sendNextChunk(true);
+
+        scheduler.tick(QUARTER_SECOND);
+        verify(third).sendNextChunk(true);
+    }
+
+    @Test
+    void unusedTokensAreRefunded() {
+        submit(1, 100);
+
+        scheduler.tick(0);
+        assertEquals(MAX_TOKENS - CHUNK_SIZE, scheduler.tokens());
+
+        // the chunk only used 100 bytes of its reservation
+        scheduler.tick(0);
+        assertEquals(MAX_TOKENS - 100, scheduler.tokens());
+        assertEquals(100, scheduler.getBytesSent().get());
+    }
+
+    @Test
+    void refundsDoNotExceedBucketSize() {
+        submit(1, 100);
+
+        scheduler.tick(0);
+        // the bucket is refilled completely, so the refund has to be dropped
+        scheduler.tick(QUARTER_SECOND);
+        assertEquals(MAX_TOKENS, scheduler.tokens());
+    }
+
+    @Test
+    void transfersAreServedRoundRobin() {
+        UpstreamPacketHandler first = submit(10, CHUNK_SIZE);
+        UpstreamPacketHandler second = submit(10, CHUNK_SIZE);
+        UpstreamPacketHandler third = submit(10, CHUNK_SIZE);
+
+        // every tick has room for two chunks, so the transfers that were skipped go first next time
+        scheduler.tick(0);
+        scheduler.tick(QUARTER_SECOND);
+        scheduler.tick(2 * QUARTER_SECOND);
+
+        verify(first, times(2)).sendNextChunk(true);
+        verify(second, times(2)).sendNextChunk(true);
+        verify(third, times(2)).sendNextChunk(true);
+    }
+
+    @Test
+    void closedSessionsAreDropped() {
+        UpstreamPacketHandler closed = submit(10, CHUNK_SIZE, true);
+        UpstreamPacketHandler open = submit(10, CHUNK_SIZE);
+
+        scheduler.tick(0);
+        verify(closed, never()).sendNextChunk(true);
+        verify(open).sendNextChunk(true);
+        assertEquals(MAX_TOKENS - CHUNK_SIZE, scheduler.tokens());
+    }
+
+    /**
+     * Submits a pack download with the given amount of chunk requests, where every chunk is of the given size.
+     */
+    private UpstreamPacketHandler submit(int chunks, int chunkSize) {
+        return submit(chunks, chunkSize, false);
+    }
+
+    private UpstreamPacketHandler submit(int chunks, int chunkSize, boolean closed) {
+        GeyserSession session = mock(GeyserSession.class, RETURNS_DEEP_STUBS);
+        when(session.isClosed()).thenReturn(closed);
+        when(session.getUpstream().getSession().getPeer().getChannel().isWritable()).thenReturn(true);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(session).executeInEventLoop(any());
+
+        UpstreamPacketHandler handler = mock(UpstreamPacketHandler.class);
+        AtomicInteger remaining = new AtomicInteger(chunks);
+        when(handler.hasPendingChunkRequests()).thenAnswer(invocation -> remaining.get() > 0);
+        when(handler.sendNextChunk(true)).thenAnswer(invocation -> remaining.getAndDecrement() > 0 ? chunkSize : -1);
+
+        ResourcePackTransferScheduler.Transfer transfer = new ResourcePackTransferScheduler.Transfer(session, handler);
+        when(handler.getPackTransfer()).thenReturn(transfer);
+        scheduler.submit(handler);
+        return handler;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.scoreboard;
+
+import org.cloudburstmc.protocol.bedrock.data.ScoreInfo;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ScoreDiffTest {
+    @Test
+    void newScoresAreSent() {
+        ScoreDiff diff = new ScoreDiff();
+        List<ScoreInfo> add = list(new ScoreInfo(1, "0", 10, "line"));
+        List<ScoreInfo> remove = list();
+
+        diff.apply(add, remove);
+
+        assertEquals(1, add.size());
+        assertEquals(0, remove.size());
+    }
+
+    @Test
+    void unchangedScoresAreSkipped() {
+        ScoreDiff diff = new ScoreDiff();
+        diff.apply(list(new ScoreInfo(1, "0", 10, "line")), list());
+
+        // a remove-and-re-add of a line that looks the same
+        List<ScoreInfo> add = list(new ScoreInfo(1, "0", 10, "line"));
+        List<ScoreInfo> remove = list(new ScoreInfo(1, "0", 10, "line"));
+        diff.apply(add, remove);
+
+        assertEquals(0, add.size());
+        assertEquals(0, remove.size());
+    }
+
+    @Test
+    void changedScoresAreSent() {
+        ScoreDiff diff = new ScoreDiff();
+        diff.apply(list(new ScoreInfo(1, "0", 10, "line")), list());
+
+        List<ScoreInfo> add = list(new ScoreInfo(1, "0", 11, "line"));
+        List<ScoreInfo> remove = list(new ScoreInfo(1, "0", 10, "line"));
+        diff.apply(add, remove);
+        assertEquals(1, add.size());
+        assertEquals(1, remove.size());
+
+        add = list(new ScoreInfo(1, "0", 11, "other line"));
+        diff.apply(add, list());
+        assertEquals(1, add.size());
+
+        add = list(new ScoreInfo(1, "0", 11, ScoreInfo.ScorerType.PLAYER, 5));
+        diff.apply(add, list());
+        assertEquals(1, add.size());
+    }
+
+    @Test
+    void removesOfUnknownScoresAreSkipped() {
+        ScoreDiff diff = new ScoreDiff();
+        List<ScoreInfo> remove = list(new ScoreInfo(1, "0", 10, "line"));
+
+        diff.apply(list(), remove);
+
+        assertEquals(0, remove.size());
+    }
+
+    @Test
+    void duplicateRemovesAreSentOnce() {
+        ScoreDiff diff = new ScoreDiff();
+        diff.apply(list(new ScoreInfo(1, "0", 10, "line")), list());
+
+        List<ScoreInfo> remove = list(new ScoreInfo(1, "0", 10, "line"), new ScoreInfo(1, "0", 10, "line"));
+        diff.apply(list(), remove);
+        assertEquals(1, remove.size());
+
+        // the score is no longer known to the client
+        remove = list(new ScoreInfo(1, "0", 10, "line"));
+        diff.apply(list(), remove);
+        assertEquals(0, remove.size());
+    }
+
+    @Test
+    void removedScoresAreSentAgain() {
+        ScoreDiff diff = new ScoreDiff();
+        diff.apply(list(new ScoreInfo(1, "0", 10, "line")), list());
+        diff.apply(list(), list(new ScoreInfo(1, "0", 10, "line")));
+
+        List<ScoreInfo> add = list(new ScoreInfo(1, "0", 10, "line"));
+        diff.apply(add, list());
+
+        assertEquals(1, add.size());
+    }
+
+    @Test
+    void scoresOfRemovedObjectivesAreSentAgain() {
+        ScoreDiff diff = new ScoreDiff();
+        diff.apply(list(new ScoreInfo(1, "0", 10, "line"), new ScoreInfo(2, "1", 10, "line")), list());
+
+        diff.objectiveRemoved("0");
+
+        List<ScoreInfo> add = list(new ScoreInfo(1, "0", 10, "line"), new ScoreInfo(2, "1", 10, "line"));
+        List<ScoreInfo> remove = list(new ScoreInfo(1, "0", 10, "line"));
+        diff.apply(add, remove);
+
+        assertEquals(List.of(new ScoreInfo(1, "0", 10, "line")), add);
+        assertEquals(0, remove.size());
+    }
+
+    private static List<ScoreInfo> list(ScoreInfo... infos) {
+        return new ArrayList<>(List.of(infos));
+    }
+}
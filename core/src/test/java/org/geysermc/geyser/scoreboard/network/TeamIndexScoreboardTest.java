@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.scoreboard.network;
+
+import static org.geysermc.geyser.scoreboard.network.util.AssertUtils.assertNextPacket;
+import static org.geysermc.geyser.scoreboard.network.util.AssertUtils.assertNextPacketMatch;
+import static org.geysermc.geyser.scoreboard.network.util.AssertUtils.assertNextPacketType;
+import static org.geysermc.geyser.scoreboard.network.util.AssertUtils.assertNoNextPacket;
+import static org.geysermc.geyser.scoreboard.network.util.GeyserMockContextScoreboard.mockContextScoreboard;
+import static org.geysermc.geyser.scoreboard.network.util.GeyserMockContextScoreboard.spawnPlayerSilently;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.HashSet;
+import java.util.Set;
+import net.kyori.adventure.text.Component;
+import org.cloudburstmc.protocol.bedrock.data.entity.EntityDataTypes;
+import org.cloudburstmc.protocol.bedrock.packet.SetEntityDataPacket;
+import org.geysermc.geyser.entity.type.player.PlayerEntity;
+import org.geysermc.geyser.translator.protocol.java.scoreboard.JavaSetPlayerTeamTranslator;
+import org.geysermc.mcprotocollib.protocol.data.game.scoreboard.CollisionRule;
+import org.geysermc.mcprotocollib.protocol.data.game.scoreboard.NameTagVisibility;
+import org.geysermc.mcprotocollib.protocol.data.game.scoreboard.TeamAction;
+import org.geysermc.mcprotocollib.protocol.data.game.scoreboard.TeamColor;
+import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.scoreboard.ClientboundSetPlayerTeamPacket;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Nametag plugins create a team for every player, so team changes should only touch the entities of the members that
+ * changed, instead of every entity that is spawned.
+ */
+public class TeamIndexScoreboardTest {
+    private static final int TEAM_COUNT = 1000;
+
+    @Test
+    void teamUpdatesOnlyTouchMembers() {
+        mockContextScoreboard(context -> {
+            var setPlayerTeamTranslator = new JavaSetPlayerTeamTranslator();
+
+            var players = new PlayerEntity[TEAM_COUNT];
+            for (int i = 0; i < TEAM_COUNT; i++) {
+                players[i] = spawnPlayerSilently(context, "player" + i, i + 2);
+            }
+
+            for (int i = 0; i < TEAM_COUNT; i++) {
+                context.translate(setPlayerTeamTranslator, createTeam("team" + i, "prefix", "player" + i));
+                assertNextPacketType(context, SetEntityDataPacket.class);
+            }
+            assertNoNextPacket(context);
+
+            clearInvocations((Object[]) players);
+
+            context.translate(setPlayerTeamTranslator, updateTeam("team500", "other"));
+            assertNextPacket(context, () -> {
+                var packet = new SetEntityDataPacket();
+                packet.setRuntimeEntityId(502);
+                packet.getMetadata().put(EntityDataTypes.NAME, "§4other§r§4player500§r§4suffix");
+                return packet;
+            });
+            assertNoNextPacket(context);
+
+            for (int i = 0; i < TEAM_COUNT; i++) {
+                if (i != 500) {
+                    verify(players[i], never()).updateNametag(any());
+                }
+            }
+        });
+    }
+
+    @Test
+    void movedMemberIsNoLongerManagedByOldTeam() {
+        mockContextScoreboard(context -> {
+            var setPlayerTeamTranslator = new JavaSetPlayerTeamTranslator();
+
+            for (int i = 0; i < TEAM_COUNT; i++) {
+                spawnPlayerSilently(context, "player" + i, i + 2);
+            }
+
+            for (int i = 0; i < TEAM_COUNT; i++) {
+                context.translate(setPlayerTeamTranslator, createTeam("team" + i, "prefix", "player" + i));
+                assertNextPacketType(context, SetEntityDataPacket.class);
+            }
+            assertNoNextPacket(context);
+
+            // both teams have the same format, so nothing changes for the player
+            context.translate(
+                setPlayerTeamTranslator,
+                new ClientboundSetPlayerTeamPacket("team20", TeamAction.ADD_PLAYER, new String[]{"player10"})
+            );
+            assertNoNextPacket(context);
+
+            // player10 left team10, so team10 no longer has any members to update
+            context.translate(setPlayerTeamTranslator, updateTeam("team10", "other"));
+            assertNoNextPacket(context);
+
+            // the order in which the members are updated is not defined
+            context.translate(setPlayerTeamTranslator, updateTeam("team20", "other"));
+            Set<Long> updated = new HashSet<>();
+            for (int i = 0; i < 2; i++) {
+                assertNextPacketMatch(context, SetEntityDataPacket.class, packet -> updated.add(packet.getRuntimeEntityId()));
+            }
+            assertEquals(Set.of(12L, 22L), updated);
+        });
+    }
+
+    @Test
+    void renamedPlayerIsReindexed() {
+        mockContextScoreboard(context -> {
+            var setPlayerTeamTranslator = new JavaSetPlayerTeamTranslator();
+
+            var player = spawnPlayerSilently(context, "player0", 2);
+
+            context.translate(setPlayerTeamTranslator, createTeam("team0", "prefix", "player0"));
+            assertNextPacketType(context, SetEntityDataPacket.class);
+            // nobody is called renamed yet
+            context.translate(setPlayerTeamTranslator, createTeam("team1", "prefix", "renamed"));
+            assertNoNextPacket(context);
+
+            player.setUsername("renamed");
+            assertNextPacket(context, () -> {
+                var packet = new SetEntityDataPacket();
+                packet.setRuntimeEntityId(2);
+                packet.getMetadata().put(EntityDataTypes.NAME, "§4prefix§r§4renamed§r§4suffix");
+                return packet;
+            });
+
+            // the player is no longer a member of team0
+            context.translate(setPlayerTeamTranslator, updateTeam("team0", "other"));
+            assertNoNextPacket(context);
+
+            context.translate(setPlayerTeamTranslator, updateTeam("team1", "other"));
+            assertNextPacket(context, () -> {
+                var packet = new SetEntityDataPacket();
+                packet.setRuntimeEntityId(2);
+                packet.getMetadata().put(EntityDataTypes.NAME, "§4other§r§4renamed§r§4suffix");
+                return packet;
+            });
+            assertNoNextPacket(context);
+        });
+    }
+
+    private static ClientboundSetPlayerTeamPacket createTeam(String name, String prefix, String player) {
+        return new ClientboundSetPlayerTeamPacket(
+            name,
+            Component.text(name),
+            Component.text(prefix),
+            Component.text("suffix"),
+            false,
+            false,
+            NameTagVisibility.ALWAYS,
+            CollisionRule.NEVER,
+            TeamColor.DARK_RED,
+            new String[]{player}
+        );
+    }
+
+    private static ClientboundSetPlayerTeamPacket updateTeam(String name, String prefix) {
+        return new ClientboundSetPlayerTeamPacket(
+            name,
+            Component.text(name),
+            Component.text(prefix),
+            Component.text("suffix"),
+            false,
+            false,
+            NameTagVisibility.ALWAYS,
+            CollisionRule.NEVER,
+            TeamColor.DARK_RED
+        );
+    }
+}
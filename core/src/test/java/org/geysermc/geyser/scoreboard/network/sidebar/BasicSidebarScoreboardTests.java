@@ -26,8 +26,12 @@
 package org.geysermc.geyser.scoreboard.network.sidebar;
 
 import static org.geysermc.geyser.scoreboard.network.util.AssertUtils.assertNextPacket;
+import static org.geysermc.geyser.scoreboard.network.util.AssertUtils.assertNextPacketMatch;
+import static org.geysermc.geyser.scoreboard.network.util.AssertUtils.assertNextPacketType;
 import static org.geysermc.geyser.scoreboard.network.util.AssertUtils.assertNoNextPacket;
 import static org.geysermc.geyser.scoreboard.network.util.GeyserMockContextScoreboard.mockContextScoreboard;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.List;
 import net.kyori.adventure.text.Component;
@@ -40,6 +44,7 @@ import org.cloudburstmc.protocol.bedrock.packet.SetScorePacket;
 import org.geysermc.geyser.translator.protocol.java.scoreboard.JavaSetDisplayObjectiveTranslator;
 import org.geysermc.geyser.translator.protocol.java.scoreboard.JavaSetObjectiveTranslator;
 import org.geysermc.geyser.translator.protocol.java.scoreboard.JavaSetScoreTranslator;
+import org.geysermc.mcprotocollib.protocol.data.game.chat.numbers.FixedFormat;
 import org.geysermc.mcprotocollib.protocol.data.game.scoreboard.ObjectiveAction;
 import org.geysermc.mcprotocollib.protocol.data.game.scoreboard.ScoreType;
 import org.geysermc.mcprotocollib.protocol.data.game.scoreboard.ScoreboardPosition;
@@ -214,4 +219,56 @@ public class BasicSidebarScoreboardTests {
             });
         });
     }
+
+    @Test
+    void updateTypeAndNumberFormatWithSameTitle() {
+        mockContextScoreboard(context -> {
+            var setObjectiveTranslator = new JavaSetObjectiveTranslator();
+            var setDisplayObjectiveTranslator = new JavaSetDisplayObjectiveTranslator();
+            var setScoreTranslator = new JavaSetScoreTranslator();
+
+            context.translate(
+                setObjectiveTranslator,
+                new ClientboundSetObjectivePacket(
+                    "objective",
+                    ObjectiveAction.ADD,
+                    Component.text("objective"),
+                    ScoreType.INTEGER,
+                    null
+                )
+            );
+            context.translate(setScoreTranslator, new ClientboundSetScorePacket("Tim203", "objective", 1));
+            context.translate(
+                setDisplayObjectiveTranslator,
+                new ClientboundSetDisplayObjectivePacket(ScoreboardPosition.SIDEBAR, "objective")
+            );
+            assertNextPacketType(context, SetDisplayObjectivePacket.class);
+            assertNextPacketType(context, SetScorePacket.class);
+            assertNoNextPacket(context);
+
+            // only the type and number format change, which changes how every score is shown
+            context.translate(
+                setObjectiveTranslator,
+                new ClientboundSetObjectivePacket(
+                    "objective",
+                    ObjectiveAction.UPDATE,
+                    Component.text("objective"),
+                    ScoreType.HEARTS,
+                    new FixedFormat(Component.text("fixed"))
+                )
+            );
+            assertNextPacket(context, () -> {
+                var packet = new RemoveObjectivePacket();
+                packet.setObjectiveId("0");
+                return packet;
+            });
+            assertNextPacketType(context, SetDisplayObjectivePacket.class);
+            assertNextPacketMatch(context, SetScorePacket.class, packet -> {
+                assertEquals(SetScorePacket.Action.SET, packet.getAction());
+                assertEquals(1, packet.getInfos().size());
+                assertTrue(packet.getInfos().get(0).getName().endsWith("fixed"));
+            });
+            assertNoNextPacket(context);
+        });
+    }
 }
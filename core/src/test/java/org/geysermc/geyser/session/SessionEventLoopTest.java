@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session;
+
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.EventLoop;
+import io.netty.util.concurrent.EventExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SessionEventLoopTest {
+    private DefaultEventLoopGroup group;
+    private EventLoop oldLoop;
+    private EventLoop newLoop;
+
+    @BeforeEach
+    void setUp() {
+        group = new DefaultEventLoopGroup(2);
+        Iterator<EventExecutor> loops = group.iterator();
+        oldLoop = (EventLoop) loops.next();
+        newLoop = (EventLoop) loops.next();
+    }
+
+    @AfterEach
+    void tearDown() {
+        group.shutdownGracefully(0, 0, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void tasksRunOnCurrentLoop() throws InterruptedException {
+        SessionEventLoop eventLoop = new SessionEventLoop(oldLoop);
+        CountDownLatch done = new CountDownLatch(1);
+        List<Boolean> inEventLoop = new CopyOnWriteArrayList<>();
+
+        eventLoop.execute(() -> {
+            inEventLoop.add(oldLoop.inEventLoop());
+            inEventLoop.add(eventLoop.inEventLoop());
+            done.countDown();
+        });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(true, true), inEventLoop);
+        assertFalse(eventLoop.inEventLoop());
+    }
+
+    @Test
+    void tasksKeepTheirOrderWhileMigrating() throws InterruptedException {
+        SessionEventLoop eventLoop = new SessionEventLoop(oldLoop);
+        List<String> order = new CopyOnWriteArrayList<>();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+
+        // keep the old loop busy, so the move can't finish yet
+        eventLoop.execute(() -> {
+            awaitUninterruptibly(release);
+            order.add("before " + loopName());
+        });
+
+        assertTrue(eventLoop.migrate(newLoop, loop -> order.add("migrated " + loopName())));
+        assertTrue(eventLoop.isMigrating());
+        assertSame(newLoop, eventLoop.loop());
+
+        eventLoop.execute(() -> order.add("after " + loopName()));
+        eventLoop.execute(() -> {
+            order.add("last " + loopName());
+            done.countDown();
+        });
+
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("before old", "migrated old", "after new", "last new"), order);
+        assertFalse(eventLoop.isMigrating());
+    }
+
+    @Test
+    void notInEventLoopWhileMigrating() throws InterruptedException {
+        SessionEventLoop eventLoop = new SessionEventLoop(oldLoop);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        List<Boolean> inEventLoop = new CopyOnWriteArrayList<>();
+
+        // keep the old loop busy, so the move can't finish yet
+        eventLoop.execute(() -> awaitUninterruptibly(release));
+        assertTrue(eventLoop.migrate(newLoop, loop -> {}));
+
+        // held back tasks haven't run yet, so running tasks on the new loop directly would overtake them
+        newLoop.execute(() -> {
+            inEventLoop.add(eventLoop.inEventLoop());
+            done.countDown();
+        });
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        release.countDown();
+
+        assertEquals(List.of(false), inEventLoop);
+    }
+
+    @Test
+    void migrationIsRejectedWhenAlreadyMigrating() throws InterruptedException {
+        SessionEventLoop eventLoop = new SessionEventLoop(oldLoop);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+
+        assertFalse(eventLoop.migrate(oldLoop, loop -> {}));
+
+        eventLoop.execute(() -> awaitUninterruptibly(release));
+        assertTrue(eventLoop.migrate(newLoop, loop -> {}));
+        assertFalse(eventLoop.migrate(oldLoop, loop -> {}));
+        // ticking is only started once the move is done
+        assertFalse(eventLoop.ifNotMigrating(loop -> {}));
+
+        eventLoop.execute(done::countDown);
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+
+        List<EventLoop> loops = new CopyOnWriteArrayList<>();
+        assertTrue(eventLoop.ifNotMigrating(loops::add));
+        assertEquals(List.of(newLoop), loops);
+    }
+
+    @Test
+    void heldTasksRunEvenIfCallbackFails() throws InterruptedException {
+        SessionEventLoop eventLoop = new SessionEventLoop(oldLoop);
+        CountDownLatch done = new CountDownLatch(1);
+
+        assertTrue(eventLoop.migrate(newLoop, loop -> {
+            throw new IllegalStateException();
+        }));
+        eventLoop.execute(done::countDown);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertFalse(eventLoop.isMigrating());
+    }
+
+    private String loopName() {
+        if (oldLoop.inEventLoop()) {
+            return "old";
+        }
+        return newLoop.inEventLoop() ? "new" : "other";
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
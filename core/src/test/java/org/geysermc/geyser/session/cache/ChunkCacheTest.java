@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache;
+
+import org.cloudburstmc.math.vector.Vector3f;
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.GeyserLogger;
+import org.geysermc.geyser.configuration.GeyserConfig;
+import org.geysermc.geyser.entity.type.player.SessionPlayerEntity;
+import org.geysermc.geyser.level.WorldManager;
+import org.geysermc.geyser.level.chunk.CompactChunkSection;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.DataPalette;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ChunkCacheTest {
+    private static final int GLOBAL_PALETTE_SIZE = 4096;
+    /**
+     * The size of a chunk created by {@link #chunk()}: the section array and a section with two states
+     */
+    private static final long CHUNK_BYTES = 16 + 4 + CompactChunkSection.singleton(0).with(0, 0, 0, 1).estimatedBytes();
+
+    private GeyserSession session;
+    private GeyserLogger logger;
+    private GeyserConfig.ChunkCacheConfig config;
+
+    @BeforeEach
+    void setUp() {
+        session = mock(GeyserSession.class);
+        logger = mock(GeyserLogger.class);
+        config = mock(GeyserConfig.ChunkCacheConfig.class);
+        GeyserImpl geyser = mock(GeyserImpl.class);
+        WorldManager worldManager = mock(WorldManager.class);
+        GeyserConfig geyserConfig = mock(GeyserConfig.class);
+        GeyserConfig.AdvancedConfig advancedConfig = mock(GeyserConfig.AdvancedConfig.class);
+        SessionPlayerEntity player = mock(SessionPlayerEntity.class);
+
+        when(session.getGeyser()).thenReturn(geyser);
+        when(session.bedrockUsername()).thenReturn("Tester");
+        when(session.getPlayerEntity()).thenReturn(player);
+        when(player.getPosition()).thenReturn(Vector3f.ZERO);
+        when(geyser.getWorldManager()).thenReturn(worldManager);
+        when(geyser.getLogger()).thenReturn(logger);
+        when(geyser.config()).thenReturn(geyserConfig);
+        when(geyserConfig.advanced()).thenReturn(advancedConfig);
+        when(advancedConfig.chunkCache()).thenReturn(config);
+        when(worldManager.hasOwnChunkCache()).thenReturn(false);
+        when(config.compact()).thenReturn(true);
+        when(config.deduplicateSections()).thenReturn(false);
+    }
+
+    @Test
+    void accountsAddedReplacedAndRemovedChunks() {
+        ChunkCache cache = new ChunkCache(session);
+
+        cache.addToCache(0, 0, chunk());
+        cache.addToCache(1, 0, chunk());
+        assertEquals(2 * CHUNK_BYTES, cache.getEstimatedBytes());
+
+        // Replacing a chunk must not count it twice
+        cache.addToCache(0, 0, chunk());
+        assertEquals(2 * CHUNK_BYTES, cache.getEstimatedBytes());
+
+        cache.removeChunk(1, 0);
+        assertEquals(CHUNK_BYTES, cache.getEstimatedBytes());
+        cache.removeChunk(1, 0);
+        assertEquals(CHUNK_BYTES, cache.getEstimatedBytes());
+
+        cache.clear();
+        assertEquals(0, cache.getEstimatedBytes());
+    }
+
+    @Test
+    void accountsBlockUpdates() {
+        ChunkCache cache = new ChunkCache(session);
+        cache.addToCache(0, 0, new DataPalette[] {DataPalette.createForBlockState(0, GLOBAL_PALETTE_SIZE)});
+        assertEquals(16 + 4 + CompactChunkSection.singleton(0).estimatedBytes(), cache.getEstimatedBytes());
+
+        cache.updateBlock(0, 0, 0, 1);
+        assertEquals(1, cache.getBlockAt(0, 0, 0));
+        assertEquals(CHUNK_BYTES, cache.getEstimatedBytes());
+
+        // Setting the same block again changes nothing
+        cache.updateBlock(0, 0, 0, 1);
+        assertEquals(CHUNK_BYTES, cache.getEstimatedBytes());
+
+        cache.removeChunk(0, 0);
+        assertEquals(0, cache.getEstimatedBytes());
+    }
+
+    @Test
+    void evictsOnlyChunksOutsideViewDistance() {
+        when(config.memoryBudget()).thenReturn(1);
+        when(session.getServerRenderDistance()).thenReturn(2);
+        ChunkCache cache = new ChunkCache(session);
+
+        cache.addToCache(10, 0, chunk());
+        cache.addToCache(0, 0, chunk());
+
+        assertEquals(1, cache.size());
+        assertEquals(CHUNK_BYTES, cache.getEstimatedBytes());
+        assertEquals(1, cache.getBlockAt(0, 0, 0));
+        assertEquals(0, cache.getBlockAt(160, 0, 0));
+        verify(logger, never()).warning(anyString());
+    }
+
+    @Test
+    void keepsChunksInViewDistanceOverBudget() {
+        when(config.memoryBudget()).thenReturn(1);
+        when(session.getServerRenderDistance()).thenReturn(2);
+        ChunkCache cache = new ChunkCache(session);
+
+        cache.addToCache(0, 0, chunk());
+        cache.addToCache(1, 0, chunk());
+        cache.addToCache(0, 1, chunk());
+        cache.addToCache(1, 1, chunk());
+
+        assertEquals(4, cache.size());
+        assertEquals(4 * CHUNK_BYTES, cache.getEstimatedBytes());
+        assertEquals(1, cache.getBlockAt(16, 0, 16));
+        verify(logger, times(1)).warning(anyString());
+    }
+
+    @Test
+    void keepsChunksIfViewDistanceIsUnknown() {
+        when(config.memoryBudget()).thenReturn(1);
+        when(session.getServerRenderDistance()).thenReturn(-1);
+        ChunkCache cache = new ChunkCache(session);
+
+        cache.addToCache(10, 0, chunk());
+        cache.addToCache(0, 0, chunk());
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getBlockAt(160, 0, 0));
+    }
+
+    /**
+     * @return a chunk with a single section that contains two different block states
+     */
+    private static DataPalette[] chunk() {
+        DataPalette palette = DataPalette.createForBlockState(0, GLOBAL_PALETTE_SIZE);
+        palette.set(0, 0, 0, 1);
+        return new DataPalette[] {palette};
+    }
+}
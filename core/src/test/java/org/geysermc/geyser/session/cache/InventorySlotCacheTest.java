@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache;
+
+import org.cloudburstmc.protocol.bedrock.data.definitions.SimpleItemDefinition;
+import org.cloudburstmc.protocol.bedrock.data.inventory.ItemData;
+import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket;
+import org.cloudburstmc.protocol.bedrock.packet.ContainerClosePacket;
+import org.cloudburstmc.protocol.bedrock.packet.ContainerOpenPacket;
+import org.cloudburstmc.protocol.bedrock.packet.InventoryContentPacket;
+import org.cloudburstmc.protocol.bedrock.packet.InventorySlotPacket;
+import org.geysermc.geyser.session.GeyserSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+public class InventorySlotCacheTest {
+    private static final int CONTAINER_ID = 0;
+    private static final int SIZE = 10;
+    private static final ItemData STONE = item("minecraft:stone", 1);
+    private static final ItemData DIRT = item("minecraft:dirt", 2);
+
+    private GeyserSession session;
+    private InventorySlotCache cache;
+    private List<BedrockPacket> sentPackets;
+
+    @BeforeEach
+    void setUp() {
+        session = mock(GeyserSession.class);
+        cache = new InventorySlotCache(session);
+        sentPackets = new ArrayList<>();
+        // like GeyserSession, record every packet that is sent
+        doAnswer(invocation -> {
+            BedrockPacket packet = invocation.getArgument(0);
+            sentPackets.add(packet);
+            cache.onPacketSent(packet);
+            return null;
+        }).when(session).sendUpstreamPacket(any());
+    }
+
+    @Test
+    void unknownContainerSendsContents() {
+        cache.sendContents(CONTAINER_ID, contents(STONE));
+        assertContentPacket();
+    }
+
+    @Test
+    void unchangedContentsAreStillSent() {
+        cache.sendContents(CONTAINER_ID, contents(STONE));
+        sentPackets.clear();
+
+        // a full update can be a resync of a client that has different contents than we know of
+        cache.sendContents(CONTAINER_ID, contents(STONE));
+        assertContentPacket();
+    }
+
+    @Test
+    void fewChangesSendSlots() {
+        cache.sendContents(CONTAINER_ID, contents(STONE));
+        sentPackets.clear();
+
+        List<ItemData> contents = contents(STONE);
+        contents.set(3, DIRT);
+        cache.sendContents(CONTAINER_ID, contents);
+
+        assertEquals(1, sentPackets.size());
+        InventorySlotPacket packet = assertInstanceOf(InventorySlotPacket.class, sentPackets.get(0));
+        assertEquals(CONTAINER_ID, packet.getContainerId());
+        assertEquals(3, packet.getSlot());
+        assertSame(DIRT, packet.getItem());
+    }
+
+    @Test
+    void manyChangesSendContents() {
+        cache.sendContents(CONTAINER_ID, contents(STONE));
+        sentPackets.clear();
+
+        cache.sendContents(CONTAINER_ID, contents(DIRT));
+        assertContentPacket();
+    }
+
+    @Test
+    void sizeChangeSendsContents() {
+        cache.sendContents(CONTAINER_ID, contents(STONE));
+        sentPackets.clear();
+
+        List<ItemData> contents = contents(STONE);
+        contents.add(DIRT);
+        cache.sendContents(CONTAINER_ID, contents);
+        assertContentPacket();
+    }
+
+    @Test
+    void slotPacketsAreTracked() {
+        cache.sendContents(CONTAINER_ID, contents(STONE));
+
+        // sent by something other than the cache
+        InventorySlotPacket slotPacket = new InventorySlotPacket();
+        slotPacket.setContainerId(CONTAINER_ID);
+        slotPacket.setSlot(3);
+        slotPacket.setItem(DIRT);
+        session.sendUpstreamPacket(slotPacket);
+        sentPackets.clear();
+
+        List<ItemData> contents = contents(STONE);
+        contents.set(3, DIRT);
+        contents.set(5, DIRT);
+        cache.sendContents(CONTAINER_ID, contents);
+
+        assertEquals(1, sentPackets.size());
+        assertEquals(5, assertInstanceOf(InventorySlotPacket.class, sentPackets.get(0)).getSlot());
+    }
+
+    @Test
+    void outOfRangeSlotForgetsContainer() {
+        cache.sendContents(CONTAINER_ID, contents(STONE));
+
+        InventorySlotPacket slotPacket = new InventorySlotPacket();
+        slotPacket.setContainerId(CONTAINER_ID);
+        slotPacket.setSlot(SIZE);
+        slotPacket.setItem(DIRT);
+        session.sendUpstreamPacket(slotPacket);
+        sentPackets.clear();
+
+        sendOneChange();
+        assertContentPacket();
+    }
+
+    @Test
+    void openingContainerForgetsContents() {
+        cache.sendContents(CONTAINER_ID, contents(STONE));
+
+        ContainerOpenPacket openPacket = new ContainerOpenPacket();
+        openPacket.setId((byte) CONTAINER_ID);
+        session.sendUpstreamPacket(openPacket);
+        sentPackets.clear();
+
+        sendOneChange();
+        assertContentPacket();
+    }
+
+    @Test
+    void closingContainerForgetsContents() {
+        cache.sendContents(CONTAINER_ID, contents(STONE));
+
+        ContainerClosePacket closePacket = new ContainerClosePacket();
+        closePacket.setId((byte) CONTAINER_ID);
+        session.sendUpstreamPacket(closePacket);
+        sentPackets.clear();
+
+        sendOneChange();
+        assertContentPacket();
+    }
+
+    @Test
+    void otherContainersAreUnaffected() {
+        cache.sendContents(CONTAINER_ID, contents(STONE));
+
+        ContainerClosePacket closePacket = new ContainerClosePacket();
+        closePacket.setId((byte) (CONTAINER_ID + 1));
+        session.sendUpstreamPacket(closePacket);
+        sentPackets.clear();
+
+        sendOneChange();
+        assertInstanceOf(InventorySlotPacket.class, sentPackets.get(0));
+    }
+
+    @Test
+    void invalidateForgetsContents() {
+        cache.sendContents(CONTAINER_ID, contents(STONE));
+        sentPackets.clear();
+
+        cache.invalidate();
+        sendOneChange();
+        assertContentPacket();
+    }
+
+    private void sendOneChange() {
+        List<ItemData> contents = contents(STONE);
+        contents.set(3, DIRT);
+        cache.sendContents(CONTAINER_ID, contents);
+    }
+
+    private void assertContentPacket() {
+        assertEquals(1, sentPackets.size());
+        InventoryContentPacket packet = assertInstanceOf(InventoryContentPacket.class, sentPackets.get(0));
+        assertEquals(CONTAINER_ID, packet.getContainerId());
+    }
+
+    private static List<ItemData> contents(ItemData item) {
+        return new ArrayList<>(Collections.nCopies(SIZE, item));
+    }
+
+    private static ItemData item(String identifier, int runtimeId) {
+        return ItemData.builder()
+            .definition(new SimpleItemDefinition(identifier, runtimeId, false))
+            .count(1)
+            .build();
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache;
+
+import org.cloudburstmc.math.vector.Vector3f;
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.configuration.GeyserConfig;
+import org.geysermc.geyser.entity.type.player.SessionPlayerEntity;
+import org.geysermc.geyser.session.GeyserSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ParticleLimiterTest {
+    private GeyserSession session;
+    private GeyserConfig.AdvancedConfig config;
+
+    @BeforeEach
+    void setUp() {
+        session = mock(GeyserSession.class);
+        config = mock(GeyserConfig.AdvancedConfig.class);
+        GeyserImpl geyser = mock(GeyserImpl.class);
+        GeyserConfig geyserConfig = mock(GeyserConfig.class);
+        SessionPlayerEntity player = mock(SessionPlayerEntity.class);
+
+        when(session.getGeyser()).thenReturn(geyser);
+        when(geyser.config()).thenReturn(geyserConfig);
+        when(geyserConfig.advanced()).thenReturn(config);
+        when(session.getPlayerEntity()).thenReturn(player);
+        when(player.getPosition()).thenReturn(Vector3f.ZERO);
+        when(config.particleBudget()).thenReturn(200);
+        when(config.particleDistance()).thenReturn(32);
+    }
+
+    @Test
+    void mergesParticlesInTheSameCell() {
+        ParticleLimiter limiter = new ParticleLimiter(session);
+
+        assertTrue(limiter.tryAcquire(1, Vector3f.from(0.01f, 64, 0.01f)));
+        assertFalse(limiter.tryAcquire(1, Vector3f.from(0.1f, 64.1f, 0.1f)));
+        // Another type or cell is not merged
+        assertTrue(limiter.tryAcquire(2, Vector3f.from(0.01f, 64, 0.01f)));
+        assertTrue(limiter.tryAcquire(1, Vector3f.from(0.2f, 64, 0.01f)));
+
+        // Merging only applies within a tick
+        limiter.tick();
+        assertTrue(limiter.tryAcquire(1, Vector3f.from(0.01f, 64, 0.01f)));
+    }
+
+    @Test
+    void keysOfNeighbouringCellsDiffer() {
+        Vector3f position = Vector3f.from(100, 64, -100);
+        long key = ParticleLimiter.key(1, position);
+        assertNotEquals(key, ParticleLimiter.key(2, position));
+        assertNotEquals(key, ParticleLimiter.key(-1, position));
+        assertNotEquals(key, ParticleLimiter.key(1, position.add(0.125f, 0, 0)));
+        assertNotEquals(key, ParticleLimiter.key(1, position.add(0, 0.125f, 0)));
+        assertNotEquals(key, ParticleLimiter.key(1, position.add(0, 0, 0.125f)));
+        // These collided when the key was built as a polynomial hash
+        assertNotEquals(ParticleLimiter.key(0, Vector3f.from(0, 0, 31 / 8f)), ParticleLimiter.key(0, Vector3f.from(0, 1 / 8f, 0)));
+    }
+
+    @Test
+    void dropsParticlesOutOfRange() {
+        ParticleLimiter limiter = new ParticleLimiter(session);
+
+        assertTrue(limiter.isInRange(32, 0, 0, false, 1));
+        assertFalse(limiter.isInRange(32.5, 0, 0, false, 1));
+        assertFalse(limiter.isInRange(20, 20, 20, false, 1));
+        // Long distance particles are always in range
+        assertTrue(limiter.isInRange(1000, 0, 0, true, 1));
+    }
+
+    @Test
+    void distanceCheckCanBeDisabled() {
+        when(config.particleDistance()).thenReturn(0);
+        ParticleLimiter limiter = new ParticleLimiter(session);
+        assertTrue(limiter.isInRange(1000, 0, 0, false, 1));
+    }
+
+    @Test
+    void limitsParticlesPerTick() {
+        when(config.particleBudget()).thenReturn(3);
+        ParticleLimiter limiter = new ParticleLimiter(session);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire(1, Vector3f.from(i, 0, 0)));
+        }
+        assertFalse(limiter.tryAcquire(1, Vector3f.from(10, 0, 0)));
+
+        limiter.tick();
+        assertTrue(limiter.tryAcquire(1, Vector3f.from(10, 0, 0)));
+    }
+
+    @Test
+    void budgetCanBeDisabled() {
+        when(config.particleBudget()).thenReturn(0);
+        ParticleLimiter limiter = new ParticleLimiter(session);
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(limiter.tryAcquire(1, Vector3f.ZERO));
+        }
+    }
+}
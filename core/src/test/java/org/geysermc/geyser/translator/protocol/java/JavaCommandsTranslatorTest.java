@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.translator.protocol.java;
+
+import net.kyori.adventure.key.Key;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.cache.RegistryCache;
+import org.geysermc.geyser.session.cache.registry.JavaRegistry;
+import org.geysermc.geyser.translator.protocol.java.JavaCommandsTranslator.CommandTreeKey;
+import org.geysermc.mcprotocollib.protocol.data.game.command.CommandNode;
+import org.geysermc.mcprotocollib.protocol.data.game.command.CommandParser;
+import org.geysermc.mcprotocollib.protocol.data.game.command.CommandType;
+import org.geysermc.mcprotocollib.protocol.data.game.command.properties.CommandProperties;
+import org.geysermc.mcprotocollib.protocol.data.game.command.properties.ResourceProperties;
+import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.ClientboundCommandsPacket;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Translated command trees are cached by {@link CommandTreeKey}, so every session that receives the same tree
+ * shares the translation.
+ */
+public class JavaCommandsTranslatorTest {
+    private static final Key ENCHANTMENT = Key.key("minecraft:enchantment");
+    private static final Key MOB_EFFECT = Key.key("minecraft:mob_effect");
+
+    private GeyserSession session;
+
+    @BeforeEach
+    void setUp() {
+        session = mockSession("en_us");
+    }
+
+    @Test
+    void identicalTreesShareKey() {
+        // every session gets its own copy of the tree
+        CommandTreeKey first = new CommandTreeKey(session, tree(new ResourceProperties(ENCHANTMENT)));
+        CommandTreeKey second = new CommandTreeKey(mockSession("en_us"), tree(new ResourceProperties(ENCHANTMENT)));
+
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+    }
+
+    @Test
+    void treesWithDifferentParserPropertiesDoNotShareKey() {
+        CommandTreeKey enchantments = new CommandTreeKey(session, tree(new ResourceProperties(ENCHANTMENT)));
+        CommandTreeKey effects = new CommandTreeKey(session, tree(new ResourceProperties(MOB_EFFECT)));
+
+        assertNotEquals(enchantments, effects);
+    }
+
+    @Test
+    void treesForDifferentLocalesDoNotShareKey() {
+        CommandTreeKey english = new CommandTreeKey(session, tree(new ResourceProperties(ENCHANTMENT)));
+        CommandTreeKey german = new CommandTreeKey(mockSession("de_de"), tree(new ResourceProperties(ENCHANTMENT)));
+
+        assertNotEquals(english, german);
+    }
+
+    /**
+     * A tree of {@code /enchant <enchantment>}, where the argument uses the given properties
+     */
+    private static ClientboundCommandsPacket tree(CommandProperties properties) {
+        CommandNode[] nodes = {
+            node(CommandType.ROOT, null, null, null, 1),
+            node(CommandType.LITERAL, "enchant", null, null, 2),
+            node(CommandType.ARGUMENT, "enchantment", CommandParser.RESOURCE, properties)
+        };
+
+        ClientboundCommandsPacket packet = mock(ClientboundCommandsPacket.class);
+        when(packet.getNodes()).thenReturn(nodes);
+        when(packet.getFirstNodeIndex()).thenReturn(0);
+        return packet;
+    }
+
+    private static CommandNode node(CommandType type, String name, CommandParser parser, CommandProperties properties, int... children) {
+        CommandNode node = mock(CommandNode.class);
+        when(node.getType()).thenReturn(type);
+        when(node.isExecutable()).thenReturn(children.length == 0);
+        when(node.getChildIndices()).thenReturn(children);
+        when(node.getName()).thenReturn(name);
+        when(node.getParser()).thenReturn(parser);
+        when(node.getProperties()).thenReturn(properties);
+        return node;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static GeyserSession mockSession(String locale) {
+        GeyserSession session = mock(GeyserSession.class);
+        when(session.locale()).thenReturn(locale);
+
+        JavaRegistry<Object> enchantments = mock(JavaRegistry.class);
+        when(enchantments.keys()).thenReturn(List.of(Key.key("minecraft:sharpness")));
+        RegistryCache registryCache = mock(RegistryCache.class);
+        when(registryCache.registry(any())).thenReturn(enchantments);
+        when(session.getRegistryCache()).thenReturn(registryCache);
+        return session;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.translator.protocol.java.level;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import org.cloudburstmc.math.vector.Vector3i;
+import org.cloudburstmc.nbt.NbtMap;
+import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket;
+import org.cloudburstmc.protocol.bedrock.packet.UpdateSubChunkBlocksPacket;
+import org.geysermc.geyser.level.block.Blocks;
+import org.geysermc.geyser.registry.type.BlockMappings;
+import org.geysermc.geyser.registry.type.GeyserBedrockBlock;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.cache.ChunkCache;
+import org.geysermc.geyser.session.cache.ItemFrameCache;
+import org.geysermc.geyser.session.cache.SkullCache;
+import org.geysermc.geyser.session.cache.WorldCache;
+import org.geysermc.mcprotocollib.protocol.data.game.level.block.BlockChangeEntry;
+import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.level.ClientboundSectionBlocksUpdatePacket;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class JavaSectionBlocksUpdateTranslatorTest {
+
+    @Test
+    void blocksWithOwnUpdateLogicAreNotBatched() {
+        assertTrue(Blocks.STONE.hasDefaultUpdateBehavior());
+        assertFalse(Blocks.CHEST.hasDefaultUpdateBehavior());
+
+        GeyserSession session = mock(GeyserSession.class);
+        WorldCache worldCache = mock(WorldCache.class);
+        when(session.getWorldCache()).thenReturn(worldCache);
+        when(session.getChunkCache()).thenReturn(mock(ChunkCache.class));
+        when(session.getSkullCache()).thenReturn(mock(SkullCache.class));
+        when(session.getItemFrameCache()).thenReturn(mock(ItemFrameCache.class));
+        when(session.getBlockMappings()).thenReturn(BlockMappings.builder()
+            .bedrockAir(new GeyserBedrockBlock(0, NbtMap.EMPTY))
+            .bedrockWater(new GeyserBedrockBlock(1, NbtMap.EMPTY))
+            .javaToBedrockBlocks(new GeyserBedrockBlock[0])
+            .extendedCollisionBoxes(new Int2ObjectOpenHashMap<>())
+            .build());
+
+        int stone = Blocks.STONE.defaultBlockState().javaId();
+        int chest = Blocks.CHEST.defaultBlockState().javaId();
+        Vector3i chestPosition = Vector3i.from(4, 0, 0);
+
+        // Enough changes to be sent as a batch
+        List<BlockChangeEntry> entries = new ArrayList<>();
+        for (int x = 0; x < 16; x++) {
+            Vector3i position = Vector3i.from(x, 0, 0);
+            entries.add(new BlockChangeEntry(position, position.equals(chestPosition) ? chest : stone));
+        }
+        new JavaSectionBlocksUpdateTranslator().translate(session, new ClientboundSectionBlocksUpdatePacket(0, 0, 0,
+            entries.toArray(new BlockChangeEntry[0])));
+
+        // The chest goes through its own update logic
+        verify(worldCache).updateServerCorrectBlockState(chestPosition, chest);
+        verify(worldCache, never()).acceptServerBlockState(chestPosition, chest);
+
+        ArgumentCaptor<BedrockPacket> packets = ArgumentCaptor.forClass(BedrockPacket.class);
+        verify(session).sendUpstreamPacket(packets.capture());
+        UpdateSubChunkBlocksPacket batch = (UpdateSubChunkBlocksPacket) packets.getValue();
+        assertEquals(15, batch.getStandardBlocks().size());
+        assertTrue(batch.getStandardBlocks().stream().noneMatch(entry -> entry.getPosition().equals(chestPosition)),
+            "Chest was sent as part of the batch");
+        verify(worldCache, never()).updateServerCorrectBlockState(any(), eq(stone));
+    }
+}